@@ -45,6 +45,24 @@ public class Button extends UIComponent {
     @JsonProperty("onClick")
     private String onClick;
     
+    /**
+     * 回调防抖时间 (毫秒)，0表示不防抖
+     */
+    @JsonProperty("debounce")
+    private int debounce = 0;
+    
+    /**
+     * 回调节流间隔 (毫秒)，0表示不节流
+     */
+    @JsonProperty("throttle")
+    private int throttle = 0;
+    
+    /**
+     * 是否只保留最新请求：同一组件最多一个更新请求在途，在途期间只保留最新一次数据
+     */
+    @JsonProperty("latestOnly")
+    private boolean latestOnly = false;
+    
     /**
      * 构造函数
      * 
@@ -115,6 +133,7 @@ public class Button extends UIComponent {
     public Button setButtonType(String buttonType) {
         this.buttonType = buttonType;
         updateButtonTypeClasses();
+        markModified();
         return this;
     }
     
@@ -127,6 +146,7 @@ public class Button extends UIComponent {
     public Button setSize(String size) {
         this.size = size;
         updateSizeClasses();
+        markModified();
         return this;
     }
     
@@ -138,6 +158,67 @@ public class Button extends UIComponent {
      */
     public Button setOnClick(String callbackName) {
         this.onClick = callbackName;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置按钮文本
+     * 
+     * @param text 按钮文本
+     * @return 当前按钮
+     */
+    public Button setText(String text) {
+        this.text = text;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置是否禁用
+     * 
+     * @param disabled 是否禁用
+     * @return 当前按钮
+     */
+    public Button setDisabled(boolean disabled) {
+        this.disabled = disabled;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置回调防抖时间
+     * 
+     * @param debounce 回调防抖时间
+     * @return 当前按钮
+     */
+    public Button setDebounce(int debounce) {
+        this.debounce = debounce;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置回调节流间隔
+     * 
+     * @param throttle 回调节流间隔
+     * @return 当前按钮
+     */
+    public Button setThrottle(int throttle) {
+        this.throttle = throttle;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置是否只保留最新请求：同一组件最多一个更新请求在途
+     * 
+     * @param latestOnly 是否只保留最新请求：同一组件最多一个更新请求在途
+     * @return 当前按钮
+     */
+    public Button setLatestOnly(boolean latestOnly) {
+        this.latestOnly = latestOnly;
+        markModified();
         return this;
     }
 }
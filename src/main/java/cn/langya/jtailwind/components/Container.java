@@ -0,0 +1,213 @@
+package cn.langya.jtailwind.components;
+
+import cn.langya.jtailwind.core.ComponentList;
+import cn.langya.jtailwind.core.UIComponent;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author LangYa466
+ * @date 2025/2/20
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Accessors(chain = true)
+public class Container extends UIComponent {
+    
+    /**
+     * 布局方式 (row, grid, card, section)
+     */
+    @JsonProperty("layout")
+    private String layout;
+    
+    /**
+     * 标题 (card、section 布局显示)
+     */
+    @JsonProperty("title")
+    private String title;
+    
+    /**
+     * 网格列数 (grid 布局)
+     */
+    @JsonProperty("columns")
+    private int columns = 2;
+    
+    /**
+     * 子组件，渲染缓存按子树单独计算版本，不参与自身的 equals/hashCode
+     */
+    @JsonProperty("children")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<UIComponent> children = new ComponentList(this);
+    
+    /**
+     * 构造函数
+     * 
+     * @param layout 布局方式
+     */
+    public Container(String layout) {
+        super("container");
+        this.layout = layout;
+        setDefaultClasses();
+    }
+    
+    /**
+     * 创建水平排列的容器
+     * 
+     * @return 容器
+     */
+    public static Container row() {
+        return new Container("row");
+    }
+    
+    /**
+     * 创建网格容器
+     * 
+     * @param columns 列数
+     * @return 容器
+     */
+    public static Container grid(int columns) {
+        return new Container("grid").setColumns(columns);
+    }
+    
+    /**
+     * 创建卡片容器
+     * 
+     * @param title 标题
+     * @return 容器
+     */
+    public static Container card(String title) {
+        return new Container("card").setTitle(title);
+    }
+    
+    /**
+     * 创建分区容器
+     * 
+     * @param title 标题
+     * @return 容器
+     */
+    public static Container section(String title) {
+        return new Container("section").setTitle(title);
+    }
+    
+    /**
+     * 设置默认CSS类
+     */
+    private void setDefaultClasses() {
+        switch (layout) {
+            case "row":
+                addClass("flex flex-row flex-wrap items-start gap-4");
+                break;
+            case "grid":
+                addClass("grid gap-4");
+                break;
+            case "card":
+                addClass("bg-white dark:bg-gray-800 shadow rounded-lg p-4 border border-gray-200 dark:border-gray-700 space-y-4");
+                break;
+            default:
+                addClass("space-y-4");
+        }
+    }
+    
+    /**
+     * 设置网格列数
+     * 
+     * @param columns 列数
+     * @return 当前容器
+     */
+    public Container setColumns(int columns) {
+        this.columns = columns;
+        if ("grid".equals(layout)) {
+            // 先去掉之前设置的列数类名，避免多个列数同时生效
+            removeColumnClasses();
+            addClass("grid-cols-1 md:grid-cols-" + columns);
+        }
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 移除 setColumns 添加的列数类名
+     */
+    private void removeColumnClasses() {
+        String className = getClassName();
+        if (className == null) {
+            return;
+        }
+        StringBuilder kept = new StringBuilder(className.length());
+        for (String cssClass : className.split("\\s+")) {
+            if (cssClass.isEmpty() || "grid-cols-1".equals(cssClass) || cssClass.startsWith("md:grid-cols-")) {
+                continue;
+            }
+            if (kept.length() > 0) {
+                kept.append(' ');
+            }
+            kept.append(cssClass);
+        }
+        setClassName(kept.length() > 0 ? kept.toString() : null);
+    }
+    
+    /**
+     * 设置子组件
+     * 
+     * @param children 子组件
+     * @return 当前容器
+     */
+    public Container setChildren(List<UIComponent> children) {
+        this.children = new ComponentList(this, children);
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 添加子组件
+     * 
+     * @param child 子组件
+     * @return 当前容器
+     */
+    public Container addChild(UIComponent child) {
+        this.children.add(child);
+        return this;
+    }
+    
+    /**
+     * 添加多个子组件
+     * 
+     * @param children 子组件
+     * @return 当前容器
+     */
+    public Container addChildren(UIComponent... children) {
+        this.children.addAll(Arrays.asList(children));
+        return this;
+    }
+    
+    /**
+     * 设置布局方式
+     * 
+     * @param layout 布局方式
+     * @return 当前容器
+     */
+    public Container setLayout(String layout) {
+        this.layout = layout;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置标题
+     * 
+     * @param title 标题
+     * @return 当前容器
+     */
+    public Container setTitle(String title) {
+        this.title = title;
+        markModified();
+        return this;
+    }
+}
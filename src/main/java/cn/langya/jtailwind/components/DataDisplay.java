@@ -1,11 +1,24 @@
 package cn.langya.jtailwind.components;
 
 import cn.langya.jtailwind.core.UIComponent;
+import cn.langya.jtailwind.format.ValueFormatter;
+import cn.langya.jtailwind.format.ValueFormatters;
+import cn.langya.jtailwind.live.LiveBinding;
+import cn.langya.jtailwind.live.LiveScheduler;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 
+import java.util.concurrent.CompletionStage;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
 /**
  * @author LangYa466
  * @date 2025/1/27
@@ -19,7 +32,7 @@ public class DataDisplay extends UIComponent {
      * 显示的数据值
      */
     @JsonProperty("value")
-    private Object value;
+    private volatile Object value;
     
     /**
      * 数据类型 (string, int, long, double, boolean)
@@ -33,6 +46,16 @@ public class DataDisplay extends UIComponent {
     @JsonProperty("format")
     private String format;
     
+    /**
+     * 预编译的格式化器
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ValueFormatter formatter;
+    
     /**
      * 标签文本
      */
@@ -51,6 +74,49 @@ public class DataDisplay extends UIComponent {
     @JsonProperty("displayStyle")
     private String displayStyle = "text";
     
+    /**
+     * 实时绑定的变化量阈值，变化达到该值时发布 (0表示不按变化量判断)
+     */
+    @JsonIgnore
+    private double changeDelta = 0;
+    
+    /**
+     * 实时绑定比较的有效数字位数，舍入后不同时发布 (0表示不按有效数字判断)；两个阈值都未设置时任何变化都发布，都设置时越过任意一个即发布
+     */
+    @JsonIgnore
+    private int significantDigits = 0;
+    
+    /**
+     * 异步数据源，每次异步渲染时调用一次
+     */
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Supplier<? extends CompletionStage<?>> valueSource;
+    
+    /**
+     * 异步数据未就绪时显示的占位文本
+     */
+    @JsonProperty("placeholder")
+    private String placeholder = "加载中...";
+    
+    /**
+     * 是否正在等待异步数据
+     */
+    @JsonProperty("loading")
+    private volatile boolean loading;
+    
+    /**
+     * 实时数据绑定
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private LiveBinding binding;
+    
     /**
      * 构造函数
      * 
@@ -145,17 +211,21 @@ public class DataDisplay extends UIComponent {
     public DataDisplay setDisplayStyle(String displayStyle) {
         this.displayStyle = displayStyle;
         setDefaultClasses();
+        markModified();
         return this;
     }
     
     /**
-     * 设置数据格式
+     * 设置数据格式，格式在此时编译并校验
      * 
-     * @param format 格式字符串
+     * @param format 格式字符串，支持 printf 风格 (如 %.2f、%,d)、percent[:N] 和 bytes[:N]
      * @return 当前组件
+     * @throws IllegalArgumentException 格式无效时抛出
      */
     public DataDisplay setFormat(String format) {
+        this.formatter = format != null && !format.isEmpty() ? ValueFormatters.compile(format) : null;
         this.format = format;
+        markModified();
         return this;
     }
     
@@ -169,16 +239,166 @@ public class DataDisplay extends UIComponent {
             return "";
         }
         
-        if (format != null && !format.isEmpty()) {
-            try {
-                if (value instanceof Number) {
-                    return String.format(format, value);
-                }
-            } catch (Exception e) {
-                // 格式错误时返回原值
-            }
+        if (formatter != null && value instanceof Number) {
+            return formatter.format((Number) value);
         }
         
         return value.toString();
     }
+    
+    /**
+     * 设置异步获取的值，由 {@code PageRenderer.renderAsync} 等待
+     * 
+     * @param future 值
+     * @return 当前组件
+     */
+    public DataDisplay setValueAsync(CompletionStage<?> future) {
+        return setValueSource(() -> future);
+    }
+    
+    /**
+     * 设置异步数据源，每次 {@code PageRenderer.renderAsync} 时调用一次，多个数据源并发获取
+     * 
+     * @param source 数据源，应立即返回，不应在调用线程上阻塞
+     * @return 当前组件
+     */
+    public DataDisplay setValueSource(Supplier<? extends CompletionStage<?>> source) {
+        this.valueSource = source;
+        return this;
+    }
+    
+    /**
+     * 绑定对象数据源，由共享调度器按间隔采样
+     * 
+     * @param supplier 数据源
+     * @param intervalMillis 采样间隔 (毫秒)
+     * @return 当前组件
+     */
+    public DataDisplay bind(Supplier<?> supplier, long intervalMillis) {
+        unbind();
+        this.binding = LiveScheduler.shared().bind(this, supplier, intervalMillis);
+        return this;
+    }
+    
+    /**
+     * 绑定数值数据源，由共享调度器按间隔采样
+     * 
+     * @param supplier 数据源
+     * @param intervalMillis 采样间隔 (毫秒)
+     * @return 当前组件
+     */
+    public DataDisplay bind(DoubleSupplier supplier, long intervalMillis) {
+        unbind();
+        this.binding = LiveScheduler.shared().bind(this, supplier, intervalMillis);
+        return this;
+    }
+    
+    /**
+     * 取消实时数据绑定
+     * 
+     * @return 当前组件
+     */
+    public DataDisplay unbind() {
+        if (binding != null) {
+            binding.cancel();
+            binding = null;
+        }
+        return this;
+    }
+    
+    /**
+     * 设置显示的数据值
+     * 
+     * @param value 显示的数据值
+     * @return 当前组件
+     */
+    public DataDisplay setValue(Object value) {
+        this.value = value;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置数据类型
+     * 
+     * @param dataType 数据类型
+     * @return 当前组件
+     */
+    public DataDisplay setDataType(String dataType) {
+        this.dataType = dataType;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置标签文本
+     * 
+     * @param label 标签文本
+     * @return 当前组件
+     */
+    public DataDisplay setLabel(String label) {
+        this.label = label;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置是否显示标签
+     * 
+     * @param showLabel 是否显示标签
+     * @return 当前组件
+     */
+    public DataDisplay setShowLabel(boolean showLabel) {
+        this.showLabel = showLabel;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置异步数据未就绪时显示的占位文本
+     * 
+     * @param placeholder 异步数据未就绪时显示的占位文本
+     * @return 当前组件
+     */
+    public DataDisplay setPlaceholder(String placeholder) {
+        this.placeholder = placeholder;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置是否正在等待异步数据
+     * 
+     * @param loading 是否正在等待异步数据
+     * @return 当前组件
+     */
+    public DataDisplay setLoading(boolean loading) {
+        this.loading = loading;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置实时绑定的最小变化量
+     * 
+     * @param changeDelta 实时绑定的最小变化量
+     * @return 当前组件
+     */
+    public DataDisplay setChangeDelta(double changeDelta) {
+        this.changeDelta = changeDelta;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置实时绑定比较的有效数字位数
+     * 
+     * @param significantDigits 实时绑定比较的有效数字位数
+     * @return 当前组件
+     */
+    public DataDisplay setSignificantDigits(int significantDigits) {
+        this.significantDigits = significantDigits;
+        markModified();
+        return this;
+    }
 }
@@ -0,0 +1,248 @@
+package cn.langya.jtailwind.components;
+
+import cn.langya.jtailwind.core.UIComponent;
+import cn.langya.jtailwind.data.Column;
+import cn.langya.jtailwind.data.ColumnarData;
+import cn.langya.jtailwind.data.TablePage;
+import cn.langya.jtailwind.data.TableQuery;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author LangYa466
+ * @date 2025/2/12
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Accessors(chain = true)
+public class DataTable extends UIComponent {
+    
+    /**
+     * 列式数据源
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ColumnarData data;
+    
+    /**
+     * 排序列
+     */
+    @JsonProperty("sortColumn")
+    private String sortColumn;
+    
+    /**
+     * 是否降序
+     */
+    @JsonProperty("descending")
+    private boolean descending = false;
+    
+    /**
+     * 列过滤条件
+     */
+    @JsonProperty("filters")
+    private Map<String, String> filters = new LinkedHashMap<>();
+    
+    /**
+     * 当前页码 (从0开始)
+     */
+    @JsonProperty("page")
+    private int page = 0;
+    
+    /**
+     * 每页行数
+     */
+    @JsonProperty("pageSize")
+    private int pageSize = 20;
+    
+    /**
+     * 是否显示过滤输入框
+     */
+    @JsonProperty("filterable")
+    private boolean filterable = true;
+    
+    /**
+     * 构造函数
+     * 
+     * @param data 列式数据源
+     */
+    public DataTable(ColumnarData data) {
+        super("dataTable");
+        this.data = data;
+        setDefaultClasses();
+    }
+    
+    /**
+     * 设置默认CSS类
+     */
+    private void setDefaultClasses() {
+        addClass("overflow-x-auto bg-white dark:bg-gray-800 shadow rounded-lg border border-gray-200 dark:border-gray-700");
+    }
+    
+    /**
+     * 按列排序，重复点击同一列时切换升降序
+     * 
+     * @param column 列名
+     * @return 当前表格
+     */
+    public DataTable sortBy(String column) {
+        if (column != null && column.equals(sortColumn)) {
+            this.descending = !descending;
+        } else {
+            this.sortColumn = column;
+            this.descending = false;
+        }
+        this.page = 0;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置列过滤条件，空字符串表示清除
+     * 
+     * @param column 列名
+     * @param expression 过滤表达式
+     * @return 当前表格
+     * @throws IllegalArgumentException 过滤表达式无法解析时抛出，此时过滤条件保持不变
+     */
+    public DataTable setFilter(String column, String expression) {
+        if (expression == null || expression.trim().isEmpty()) {
+            this.filters.remove(column);
+        } else {
+            // 先编译再保存，避免无法解析的条件使之后的每次渲染都失败
+            Column target = data != null ? data.getColumn(column) : null;
+            if (target != null) {
+                target.compileFilter(expression.trim());
+            }
+            this.filters.put(column, expression);
+        }
+        this.page = 0;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 以表格当前的排序、过滤和分页状态创建查询条件，可在此基础上按请求修改而不影响表格本身
+     * 
+     * @return 新的查询条件
+     */
+    public TableQuery toQuery() {
+        return new TableQuery()
+            .setSortColumn(sortColumn)
+            .setDescending(descending)
+            .setFilters(new LinkedHashMap<>(filters))
+            .setPage(page)
+            .setPageSize(pageSize);
+    }
+    
+    /**
+     * 查询当前页
+     * 
+     * @return 当前页
+     */
+    public TablePage currentPage() {
+        return query(toQuery());
+    }
+    
+    /**
+     * 按指定条件查询一页
+     * 
+     * @param query 查询条件
+     * @return 查询到的页，页码超出范围时取最近的有效页
+     * @throws IllegalArgumentException 过滤表达式无法解析时抛出
+     */
+    public TablePage query(TableQuery query) {
+        return data.query(query);
+    }
+    
+    /**
+     * 设置列式数据源
+     * 
+     * @param data 列式数据源
+     * @return 当前表格
+     */
+    public DataTable setData(ColumnarData data) {
+        this.data = data;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置排序列
+     * 
+     * @param sortColumn 排序列
+     * @return 当前表格
+     */
+    public DataTable setSortColumn(String sortColumn) {
+        this.sortColumn = sortColumn;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置是否降序
+     * 
+     * @param descending 是否降序
+     * @return 当前表格
+     */
+    public DataTable setDescending(boolean descending) {
+        this.descending = descending;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置列过滤条件
+     * 
+     * @param filters 列过滤条件
+     * @return 当前表格
+     */
+    public DataTable setFilters(Map<String, String> filters) {
+        this.filters = filters;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置当前页码
+     * 
+     * @param page 当前页码
+     * @return 当前表格
+     */
+    public DataTable setPage(int page) {
+        this.page = page;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置每页行数
+     * 
+     * @param pageSize 每页行数
+     * @return 当前表格
+     */
+    public DataTable setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置是否显示过滤输入框
+     * 
+     * @param filterable 是否显示过滤输入框
+     * @return 当前表格
+     */
+    public DataTable setFilterable(boolean filterable) {
+        this.filterable = filterable;
+        markModified();
+        return this;
+    }
+}
@@ -1,11 +1,18 @@
 package cn.langya.jtailwind.components;
 
 import cn.langya.jtailwind.core.UIComponent;
+import cn.langya.jtailwind.index.PrefixIndex;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * @author LangYa466
  * @date 2025/1/27
@@ -75,6 +82,44 @@ public class Input extends UIComponent {
     @JsonProperty("onBlur")
     private String onBlur;
     
+    /**
+     * 回调防抖时间 (毫秒)，0表示不防抖
+     */
+    @JsonProperty("debounce")
+    private int debounce = 0;
+    
+    /**
+     * 回调节流间隔 (毫秒)，0表示不节流
+     */
+    @JsonProperty("throttle")
+    private int throttle = 0;
+    
+    /**
+     * 是否只保留最新请求：同一组件最多一个更新请求在途，在途期间只保留最新一次数据
+     */
+    @JsonProperty("latestOnly")
+    private boolean latestOnly = false;
+    
+    /**
+     * 输入建议索引
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private PrefixIndex suggestionIndex;
+    
+    /**
+     * 输入建议最大条数
+     */
+    @JsonProperty("suggestLimit")
+    private int suggestLimit = 8;
+    
+    /**
+     * 输入建议防抖时间 (毫秒)
+     */
+    @JsonProperty("suggestDebounce")
+    private int suggestDebounce = 150;
+    
     /**
      * 构造函数
      * 
@@ -118,6 +163,7 @@ public class Input extends UIComponent {
      */
     public Input setInputType(String inputType) {
         this.inputType = inputType;
+        markModified();
         return this;
     }
     
@@ -130,6 +176,7 @@ public class Input extends UIComponent {
     public Input setSize(String size) {
         this.size = size;
         updateSizeClasses();
+        markModified();
         return this;
     }
     
@@ -141,6 +188,7 @@ public class Input extends UIComponent {
      */
     public Input setOnInput(String callbackName) {
         this.onInput = callbackName;
+        markModified();
         return this;
     }
     
@@ -152,6 +200,7 @@ public class Input extends UIComponent {
      */
     public Input setOnFocus(String callbackName) {
         this.onFocus = callbackName;
+        markModified();
         return this;
     }
     
@@ -163,6 +212,177 @@ public class Input extends UIComponent {
      */
     public Input setOnBlur(String callbackName) {
         this.onBlur = callbackName;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置输入建议数据，立即构建前缀索引
+     * 
+     * @param suggestions 建议词条
+     * @return 当前输入框
+     */
+    @JsonIgnore
+    public Input setSuggestions(Collection<String> suggestions) {
+        this.suggestionIndex = PrefixIndex.of(suggestions);
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置带权重的输入建议数据，权重越大越靠前
+     * 
+     * @param suggestions 建议词条及权重，权重为null时按0处理
+     * @return 当前输入框
+     */
+    @JsonIgnore
+    public Input setSuggestions(Map<String, Integer> suggestions) {
+        PrefixIndex.Builder builder = PrefixIndex.builder();
+        suggestions.forEach((term, weight) -> builder.add(term, weight != null ? weight : 0));
+        this.suggestionIndex = builder.build();
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 是否启用输入建议
+     * 
+     * @return 是否启用
+     */
+    @JsonProperty("suggest")
+    public boolean isSuggestEnabled() {
+        return suggestionIndex != null;
+    }
+    
+    /**
+     * 查询输入建议
+     * 
+     * @param query 当前输入
+     * @param limit 最大条数，不超过组件配置的上限
+     * @return 匹配的建议
+     */
+    public List<String> suggest(String query, int limit) {
+        PrefixIndex index = suggestionIndex != null ? suggestionIndex : PrefixIndex.empty();
+        return index.search(query, Math.min(limit, suggestLimit));
+    }
+    
+    /**
+     * 设置占位符文本
+     * 
+     * @param placeholder 占位符文本
+     * @return 当前输入框
+     */
+    public Input setPlaceholder(String placeholder) {
+        this.placeholder = placeholder;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置输入框值
+     * 
+     * @param value 输入框值
+     * @return 当前输入框
+     */
+    public Input setValue(String value) {
+        this.value = value;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置是否只读
+     * 
+     * @param readonly 是否只读
+     * @return 当前输入框
+     */
+    public Input setReadonly(boolean readonly) {
+        this.readonly = readonly;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置是否禁用
+     * 
+     * @param disabled 是否禁用
+     * @return 当前输入框
+     */
+    public Input setDisabled(boolean disabled) {
+        this.disabled = disabled;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置是否必填
+     * 
+     * @param required 是否必填
+     * @return 当前输入框
+     */
+    public Input setRequired(boolean required) {
+        this.required = required;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置回调防抖时间
+     * 
+     * @param debounce 回调防抖时间
+     * @return 当前输入框
+     */
+    public Input setDebounce(int debounce) {
+        this.debounce = debounce;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置回调节流间隔
+     * 
+     * @param throttle 回调节流间隔
+     * @return 当前输入框
+     */
+    public Input setThrottle(int throttle) {
+        this.throttle = throttle;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置是否只保留最新请求：同一组件最多一个更新请求在途
+     * 
+     * @param latestOnly 是否只保留最新请求：同一组件最多一个更新请求在途
+     * @return 当前输入框
+     */
+    public Input setLatestOnly(boolean latestOnly) {
+        this.latestOnly = latestOnly;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置输入建议最大条数
+     * 
+     * @param suggestLimit 输入建议最大条数
+     * @return 当前输入框
+     */
+    public Input setSuggestLimit(int suggestLimit) {
+        this.suggestLimit = suggestLimit;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置输入建议防抖时间
+     * 
+     * @param suggestDebounce 输入建议防抖时间
+     * @return 当前输入框
+     */
+    public Input setSuggestDebounce(int suggestDebounce) {
+        this.suggestDebounce = suggestDebounce;
+        markModified();
         return this;
     }
 }
@@ -60,6 +60,24 @@ public class Select extends UIComponent {
     @JsonProperty("onChange")
     private String onChange;
     
+    /**
+     * 回调防抖时间 (毫秒)，0表示不防抖
+     */
+    @JsonProperty("debounce")
+    private int debounce = 0;
+    
+    /**
+     * 回调节流间隔 (毫秒)，0表示不节流
+     */
+    @JsonProperty("throttle")
+    private int throttle = 0;
+    
+    /**
+     * 是否只保留最新请求：同一组件最多一个更新请求在途，在途期间只保留最新一次数据
+     */
+    @JsonProperty("latestOnly")
+    private boolean latestOnly = false;
+    
     /**
      * 构造函数
      * 
@@ -104,6 +122,7 @@ public class Select extends UIComponent {
      */
     public Select addOption(String value, String label) {
         this.options.add(new SelectOption(value, label));
+        markModified();
         return this;
     }
     
@@ -115,6 +134,7 @@ public class Select extends UIComponent {
      */
     public Select addOptions(List<SelectOption> options) {
         this.options.addAll(options);
+        markModified();
         return this;
     }
     
@@ -127,6 +147,7 @@ public class Select extends UIComponent {
     public Select setSize(String size) {
         this.size = size;
         updateSizeClasses();
+        markModified();
         return this;
     }
     
@@ -138,9 +159,106 @@ public class Select extends UIComponent {
      */
     public Select setOnChange(String callbackName) {
         this.onChange = callbackName;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置选项列表
+     * 
+     * @param options 选项列表
+     * @return 当前选择框
+     */
+    public Select setOptions(List<SelectOption> options) {
+        this.options = options;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置当前选中值
+     * 
+     * @param value 当前选中值
+     * @return 当前选择框
+     */
+    public Select setValue(String value) {
+        this.value = value;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置占位符文本
+     * 
+     * @param placeholder 占位符文本
+     * @return 当前选择框
+     */
+    public Select setPlaceholder(String placeholder) {
+        this.placeholder = placeholder;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置是否禁用
+     * 
+     * @param disabled 是否禁用
+     * @return 当前选择框
+     */
+    public Select setDisabled(boolean disabled) {
+        this.disabled = disabled;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置是否必填
+     * 
+     * @param required 是否必填
+     * @return 当前选择框
+     */
+    public Select setRequired(boolean required) {
+        this.required = required;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置回调防抖时间
+     * 
+     * @param debounce 回调防抖时间
+     * @return 当前选择框
+     */
+    public Select setDebounce(int debounce) {
+        this.debounce = debounce;
+        markModified();
         return this;
     }
     
+    /**
+     * 设置回调节流间隔
+     * 
+     * @param throttle 回调节流间隔
+     * @return 当前选择框
+     */
+    public Select setThrottle(int throttle) {
+        this.throttle = throttle;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置是否只保留最新请求：同一组件最多一个更新请求在途
+     * 
+     * @param latestOnly 是否只保留最新请求：同一组件最多一个更新请求在途
+     * @return 当前选择框
+     */
+    public Select setLatestOnly(boolean latestOnly) {
+        this.latestOnly = latestOnly;
+        markModified();
+        return this;
+    }
+
     /**
      * 选择框选项内部类
      */
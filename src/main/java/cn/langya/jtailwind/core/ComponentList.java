@@ -0,0 +1,253 @@
+package cn.langya.jtailwind.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * 组件列表
+ * <p>
+ * 每次结构变化 (增删、替换组件) 都会为列表分配新的修订号，标记所属容器已修改，
+ * 并推进登记了该列表的组件树的结构版本 (见 {@link TreeVersion})，渲染器据此判断ID索引是否需要重建。
+ * 页面组件列表和容器子组件都使用该列表。
+ *
+ * @author LangYa466
+ * @date 2025/2/25
+ */
+public class ComponentList extends ArrayList<UIComponent> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 所属组件，页面组件列表为空
+     */
+    private final transient UIComponent owner;
+
+    /**
+     * 列表修订号
+     */
+    private transient volatile long revision = UIComponent.nextRevision();
+
+    /**
+     * 登记了本列表的组件树
+     */
+    private transient volatile TreeVersion.Watchers watchers;
+
+    public ComponentList() {
+        this((UIComponent) null);
+    }
+
+    public ComponentList(Collection<? extends UIComponent> components) {
+        this(null, components);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param owner 所属组件，列表变化时标记其已修改
+     */
+    public ComponentList(UIComponent owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param owner 所属组件，列表变化时标记其已修改
+     * @param components 初始组件
+     */
+    public ComponentList(UIComponent owner, Collection<? extends UIComponent> components) {
+        super(components);
+        this.owner = owner;
+    }
+
+    /**
+     * 列表修订号，与组件修订号来自同一序列
+     *
+     * @return 最近一次结构变化后分配的修订号
+     */
+    public long revision() {
+        return revision;
+    }
+
+    /**
+     * 获取登记了本列表的组件树，不存在时创建
+     *
+     * @return 组件树登记表
+     */
+    synchronized TreeVersion.Watchers watchers() {
+        if (watchers == null) {
+            watchers = new TreeVersion.Watchers();
+        }
+        return watchers;
+    }
+
+    /**
+     * 记录一次结构变化，须在修改完成之后调用，使读取到新版本的线程也能看到修改后的列表
+     */
+    private void changed() {
+        long next = UIComponent.nextRevision();
+        revision = next;
+        if (owner != null) {
+            owner.markModified();
+        }
+        TreeVersion.Watchers trees = watchers;
+        if (trees != null) {
+            trees.structureChanged(next);
+        }
+    }
+
+    @Override
+    public boolean add(UIComponent component) {
+        boolean result = super.add(component);
+        changed();
+        return result;
+    }
+
+    @Override
+    public void add(int index, UIComponent component) {
+        super.add(index, component);
+        changed();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends UIComponent> components) {
+        boolean result = super.addAll(components);
+        changed();
+        return result;
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends UIComponent> components) {
+        boolean result = super.addAll(index, components);
+        changed();
+        return result;
+    }
+
+    @Override
+    public UIComponent set(int index, UIComponent component) {
+        UIComponent result = super.set(index, component);
+        changed();
+        return result;
+    }
+
+    @Override
+    public UIComponent remove(int index) {
+        UIComponent result = super.remove(index);
+        changed();
+        return result;
+    }
+
+    @Override
+    public boolean remove(Object component) {
+        boolean result = super.remove(component);
+        changed();
+        return result;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> components) {
+        boolean result = super.removeAll(components);
+        changed();
+        return result;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> components) {
+        boolean result = super.retainAll(components);
+        changed();
+        return result;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super UIComponent> filter) {
+        boolean result = super.removeIf(filter);
+        changed();
+        return result;
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<UIComponent> operator) {
+        super.replaceAll(operator);
+        changed();
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        changed();
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        super.removeRange(fromIndex, toIndex);
+        changed();
+    }
+
+    @Override
+    public Iterator<UIComponent> iterator() {
+        return listIterator();
+    }
+
+    @Override
+    public ListIterator<UIComponent> listIterator() {
+        return listIterator(0);
+    }
+
+    @Override
+    public ListIterator<UIComponent> listIterator(int index) {
+        ListIterator<UIComponent> delegate = super.listIterator(index);
+        return new ListIterator<UIComponent>() {
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public UIComponent next() {
+                return delegate.next();
+            }
+
+            @Override
+            public boolean hasPrevious() {
+                return delegate.hasPrevious();
+            }
+
+            @Override
+            public UIComponent previous() {
+                return delegate.previous();
+            }
+
+            @Override
+            public int nextIndex() {
+                return delegate.nextIndex();
+            }
+
+            @Override
+            public int previousIndex() {
+                return delegate.previousIndex();
+            }
+
+            @Override
+            public void remove() {
+                delegate.remove();
+                changed();
+            }
+
+            @Override
+            public void set(UIComponent component) {
+                delegate.set(component);
+                changed();
+            }
+
+            @Override
+            public void add(UIComponent component) {
+                delegate.add(component);
+                changed();
+            }
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package cn.langya.jtailwind.core;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 组件变更
+ * <p>
+ * 描述一个组件上一组属性的新值，属性名与组件序列化后的JSON字段一致，
+ * 浏览器端按组件ID找到元素后应用这些属性。
+ *
+ * @author LangYa466
+ * @date 2025/2/17
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class ComponentMutation {
+    
+    /**
+     * 组件ID
+     */
+    @JsonProperty("componentId")
+    private String componentId;
+    
+    /**
+     * 变更的属性
+     */
+    @JsonProperty("changes")
+    private Map<String, Object> changes = new LinkedHashMap<>();
+    
+    /**
+     * 构造函数
+     * 
+     * @param componentId 组件ID
+     */
+    public ComponentMutation(String componentId) {
+        this.componentId = componentId;
+    }
+    
+    /**
+     * 设置属性新值
+     * 
+     * @param property 属性名
+     * @param value 新值
+     * @return 当前变更
+     */
+    public ComponentMutation put(String property, Object value) {
+        this.changes.put(property, value);
+        return this;
+    }
+}
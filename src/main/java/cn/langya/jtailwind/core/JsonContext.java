@@ -0,0 +1,214 @@
+package cn.langya.jtailwind.core;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 共享的JSON序列化上下文
+ * <p>
+ * 构建后配置不再变化，所有渲染器和服务器共用同一份序列化器缓存；
+ * 按类型预先构建的 {@link ObjectReader}/{@link ObjectWriter} 线程安全，可直接复用。
+ *
+ * @author LangYa466
+ * @date 2025/2/26
+ */
+public final class JsonContext {
+
+    /**
+     * 共享实例
+     */
+    private static final JsonContext SHARED = new JsonContext(new ObjectMapper());
+
+    /**
+     * 对象映射器，只通过 {@link #mapper()} 交给需要它的旧接口
+     */
+    private final ObjectMapper mapper;
+
+    /**
+     * 通用写入器
+     */
+    private final ObjectWriter writer;
+
+    /**
+     * 按类型缓存的读取器
+     */
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    /**
+     * 按类型缓存的写入器
+     */
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    private JsonContext(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.writer = mapper.writer();
+    }
+
+    /**
+     * 获取共享实例
+     *
+     * @return 共享的JSON上下文
+     */
+    public static JsonContext shared() {
+        return SHARED;
+    }
+
+    /**
+     * 获取底层的对象映射器
+     * <p>
+     * 仅供需要 {@link ObjectMapper} 的旧代码使用，应视为只读；修改配置会影响所有使用者，
+     * 且不会作用于已缓存的读取器和写入器。
+     *
+     * @return 对象映射器
+     */
+    public ObjectMapper mapper() {
+        return mapper;
+    }
+
+    /**
+     * 获取通用写入器
+     *
+     * @return 写入器
+     */
+    public ObjectWriter writer() {
+        return writer;
+    }
+
+    /**
+     * 获取指定类型的写入器，根序列化器已预先解析
+     *
+     * @param type 类型
+     * @return 写入器
+     */
+    public ObjectWriter writerFor(Class<?> type) {
+        return writers.computeIfAbsent(type, mapper::writerFor);
+    }
+
+    /**
+     * 获取指定类型的读取器，根反序列化器已预先解析
+     *
+     * @param type 类型
+     * @return 读取器
+     */
+    public ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(type, mapper::readerFor);
+    }
+
+    /**
+     * 获取用于更新已有对象的读取器
+     *
+     * @param target 要更新的对象
+     * @return 读取器
+     */
+    public ObjectReader readerForUpdating(Object target) {
+        return readerFor(target.getClass()).withValueToUpdate(target);
+    }
+
+    /**
+     * 创建流式解析器，可在解析过程中读取任意类型的值
+     *
+     * @param in 输入流
+     * @return 解析器
+     * @throws IOException 创建失败时抛出
+     */
+    public JsonParser createParser(InputStream in) throws IOException {
+        return mapper.createParser(in);
+    }
+
+    /**
+     * 按属性名把变更写入已有对象，未知或只读的属性被忽略；目标为组件时标记其已修改
+     *
+     * @param target 要更新的对象
+     * @param changes 属性名到新值的映射，属性名与序列化后的JSON字段一致
+     * @throws IOException 属性值类型不匹配或设置失败时抛出
+     */
+    public void applyChanges(Object target, Map<String, ?> changes) throws IOException {
+        JsonNode tree = mapper.valueToTree(changes);
+        readerForUpdating(target)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .readValue(tree);
+        if (target instanceof UIComponent) {
+            // 没有经过设置方法的属性 (如直接按字段写入) 也要使渲染缓存失效
+            ((UIComponent) target).markModified();
+        }
+    }
+
+    /**
+     * 转换为JSON树
+     *
+     * @param value 对象
+     * @param <T> 节点类型
+     * @return JSON节点
+     */
+    public <T extends JsonNode> T valueToTree(Object value) {
+        return mapper.valueToTree(value);
+    }
+
+    /**
+     * 序列化为JSON字符串
+     *
+     * @param value 对象
+     * @return JSON字符串
+     * @throws JsonProcessingException 序列化失败时抛出
+     */
+    public String writeValueAsString(Object value) throws JsonProcessingException {
+        return writer.writeValueAsString(value);
+    }
+
+    /**
+     * 序列化为UTF-8字节
+     *
+     * @param value 对象
+     * @return JSON字节
+     * @throws JsonProcessingException 序列化失败时抛出
+     */
+    public byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    /**
+     * 反序列化JSON字符串
+     *
+     * @param json JSON字符串
+     * @param type 目标类型
+     * @param <T> 目标类型
+     * @return 对象
+     * @throws IOException 解析失败时抛出
+     */
+    public <T> T readValue(String json, Class<T> type) throws IOException {
+        return readerFor(type).readValue(json);
+    }
+
+    /**
+     * 预先解析指定类型的序列化器和反序列化器，避免首个请求承担反射和内省的开销
+     *
+     * @param types 类型
+     * @return 当前上下文
+     * @throws IllegalStateException 某个类型无法序列化时抛出
+     */
+    public JsonContext warmUp(Class<?>... types) {
+        SerializerProvider provider = mapper.getSerializerProviderInstance();
+        try {
+            for (Class<?> type : types) {
+                provider.findTypedValueSerializer(type, true, null);
+                writerFor(type);
+            }
+        } catch (JsonMappingException e) {
+            throw new IllegalStateException("无法解析序列化器: " + e.getMessage(), e);
+        }
+        readerFor(Map.class);
+        return this;
+    }
+}
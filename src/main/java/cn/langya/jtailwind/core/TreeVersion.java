@@ -0,0 +1,149 @@
+package cn.langya.jtailwind.core;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 组件树版本
+ * <p>
+ * 由持有组件树的一方 (如渲染器的组件索引) 创建，并通过 {@link #watch} 登记到树中的组件和组件列表上。
+ * 组件列表增删、组件ID或类型变化时结构版本递增；组件任何修改都会把修订号汇总到 {@link #revision()}。
+ * 只有登记过的组件和列表会通知，不同的组件树互不影响；组件移出树后仍可能通知原来的树，
+ * 只会多触发一次重建，不影响正确性。
+ *
+ * @author LangYa466
+ * @date 2025/2/25
+ */
+public final class TreeVersion {
+
+    /**
+     * 结构版本
+     */
+    private final AtomicLong structure = new AtomicLong();
+
+    /**
+     * 树内最大的修订号
+     */
+    private final AtomicLong revision = new AtomicLong();
+
+    /**
+     * 获取结构版本
+     *
+     * @return 结构版本，登记的组件列表增删或组件ID、类型变化后递增
+     */
+    public long structureVersion() {
+        return structure.get();
+    }
+
+    /**
+     * 获取树内最大的修订号
+     *
+     * @return 修订号，登记的组件或组件列表任何变化后增大
+     */
+    public long revision() {
+        return revision.get();
+    }
+
+    /**
+     * 手动推进结构版本，用于整体替换组件树等无法由组件列表通知的变化
+     */
+    public void advance() {
+        structure.incrementAndGet();
+    }
+
+    /**
+     * 登记组件，之后它的修改会通知本树
+     *
+     * @param component 组件
+     */
+    public void watch(UIComponent component) {
+        component.watchers().add(this);
+        observe(component.revision());
+    }
+
+    /**
+     * 登记组件列表，之后它的增删会通知本树
+     *
+     * @param components 组件列表
+     */
+    public void watch(ComponentList components) {
+        components.watchers().add(this);
+        observe(components.revision());
+    }
+
+    /**
+     * 汇总修订号
+     */
+    private void observe(long value) {
+        revision.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * 一个组件或组件列表上登记的组件树，弱引用持有，不阻止已丢弃的树被回收
+     */
+    static final class Watchers {
+
+        private static final TreeRef[] NONE = new TreeRef[0];
+
+        private volatile TreeRef[] trees = NONE;
+
+        synchronized void add(TreeVersion tree) {
+            TreeRef[] current = trees;
+            int live = 0;
+            for (TreeRef ref : current) {
+                TreeVersion existing = ref.get();
+                if (existing == tree) {
+                    return;
+                }
+                if (existing != null) {
+                    live++;
+                }
+            }
+            TreeRef[] next = new TreeRef[live + 1];
+            int i = 0;
+            for (TreeRef ref : current) {
+                if (ref.get() != null) {
+                    next[i++] = ref;
+                }
+            }
+            next[i] = new TreeRef(tree);
+            trees = next;
+        }
+
+        /**
+         * 通知内容变化
+         *
+         * @param revision 新的修订号
+         */
+        void modified(long revision) {
+            for (TreeRef ref : trees) {
+                TreeVersion tree = ref.get();
+                if (tree != null) {
+                    tree.observe(revision);
+                }
+            }
+        }
+
+        /**
+         * 通知结构变化，须在修改完成之后调用，使读取到新版本的线程也能看到修改后的结构
+         *
+         * @param revision 新的修订号
+         */
+        void structureChanged(long revision) {
+            for (TreeRef ref : trees) {
+                TreeVersion tree = ref.get();
+                if (tree != null) {
+                    tree.observe(revision);
+                    tree.structure.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static final class TreeRef extends WeakReference<TreeVersion> {
+
+        TreeRef(TreeVersion tree) {
+            super(tree);
+        }
+    }
+}
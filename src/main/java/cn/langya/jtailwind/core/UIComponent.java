@@ -1,16 +1,39 @@
 package cn.langya.jtailwind.core;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
+ * UI组件基类
+ * <p>
+ * 每个组件带有修订号: 渲染相关的属性每次通过设置方法修改时，从全局递增的序列取一个新值，
+ * 渲染缓存据此判断组件是否变化。直接修改设置方法之外的可变对象 (如选项列表) 后须调用 {@link #markModified()}。
+ *
  * @author LangYa466
  * @date 2025/1/27
  */
 @Data
 @Accessors(chain = true)
-public abstract class UIComponent {
+public abstract class UIComponent implements Cloneable {
+    
+    /**
+     * ID序号，保证同一毫秒内创建的组件ID不重复
+     */
+    private static final AtomicLong ID_SEQUENCE = new AtomicLong();
+    
+    /**
+     * 修订号序列，所有组件共享，保证任何一次修改得到的修订号都大于之前的全部修订号
+     */
+    private static final AtomicLong REVISIONS = new AtomicLong();
     
     /**
      * 组件ID
@@ -48,6 +71,26 @@ public abstract class UIComponent {
     @JsonProperty("onUpdate")
     private String onUpdate;
     
+    /**
+     * 修订号
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile long revision = REVISIONS.incrementAndGet();
+    
+    /**
+     * 登记了本组件的组件树
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private TreeVersion.Watchers watchers;
+    
     /**
      * 构造函数
      * 
@@ -64,7 +107,49 @@ public abstract class UIComponent {
      * @return 唯一ID
      */
     private String generateId() {
-        return type.toLowerCase() + "_" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
+        return type.toLowerCase() + "_" + System.currentTimeMillis() + "_" + ID_SEQUENCE.incrementAndGet();
+    }
+    
+    /**
+     * 设置组件ID
+     * 
+     * @param id 组件ID
+     * @return 当前组件
+     */
+    public UIComponent setId(String id) {
+        this.id = id;
+        structureChanged();
+        return this;
+    }
+    
+    /**
+     * 设置组件类型
+     * 
+     * @param type 组件类型
+     * @return 当前组件
+     */
+    public UIComponent setType(String type) {
+        this.type = type;
+        structureChanged();
+        return this;
+    }
+    
+    /**
+     * 浅拷贝组件
+     * <p>
+     * 拷贝与原组件ID相同，子组件列表、表格数据等引用类型的字段与原组件共享，
+     * 只应通过设置方法整体替换属性，不应修改共享的对象。拷贝不属于原组件所在的组件树。
+     * 
+     * @return 组件拷贝
+     */
+    public UIComponent copy() {
+        try {
+            UIComponent copy = (UIComponent) super.clone();
+            copy.watchers = null;
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
     }
     
     /**
@@ -75,6 +160,7 @@ public abstract class UIComponent {
      */
     public UIComponent setOnUpdate(String callbackName) {
         this.onUpdate = callbackName;
+        markModified();
         return this;
     }
     
@@ -90,6 +176,104 @@ public abstract class UIComponent {
         } else {
             this.className += " " + cssClass;
         }
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置CSS类名
+     * 
+     * @param className CSS类名
+     * @return 当前组件
+     */
+    public UIComponent setClassName(String className) {
+        this.className = className;
+        markModified();
         return this;
     }
+    
+    /**
+     * 设置组件样式
+     * 
+     * @param style 组件样式
+     * @return 当前组件
+     */
+    public UIComponent setStyle(String style) {
+        this.style = style;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 设置是否可见
+     * 
+     * @param visible 是否可见
+     * @return 当前组件
+     */
+    public UIComponent setVisible(boolean visible) {
+        this.visible = visible;
+        markModified();
+        return this;
+    }
+    
+    /**
+     * 标记组件已修改，分配新的修订号
+     * <p>
+     * 设置方法会自动调用；直接修改 getter 返回的可变对象后须手动调用，否则渲染缓存可能返回旧的HTML。
+     * 
+     * @return 当前组件
+     */
+    public UIComponent markModified() {
+        long next = REVISIONS.incrementAndGet();
+        this.revision = next;
+        TreeVersion.Watchers trees = watchers;
+        if (trees != null) {
+            trees.modified(next);
+        }
+        return this;
+    }
+    
+    /**
+     * 标记组件ID或类型已变化，所在组件树的索引需要重建
+     */
+    private void structureChanged() {
+        long next = REVISIONS.incrementAndGet();
+        this.revision = next;
+        TreeVersion.Watchers trees = watchers;
+        if (trees != null) {
+            trees.structureChanged(next);
+        }
+    }
+    
+    /**
+     * 获取登记了本组件的组件树，不存在时创建
+     * 
+     * @return 组件树登记表
+     */
+    synchronized TreeVersion.Watchers watchers() {
+        if (watchers == null) {
+            watchers = new TreeVersion.Watchers();
+        }
+        return watchers;
+    }
+    
+    /**
+     * 组件修订号
+     * <p>
+     * 来自全局递增的序列，组件每次修改后都大于此前任何组件的修订号，不会重复。
+     * 
+     * @return 修订号
+     */
+    public long revision() {
+        return revision;
+    }
+    
+    /**
+     * 分配一个新的修订号
+     * 
+     * @return 修订号
+     */
+    static long nextRevision() {
+        return REVISIONS.incrementAndGet();
+    }
 }
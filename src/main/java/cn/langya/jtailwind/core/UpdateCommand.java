@@ -0,0 +1,46 @@
+package cn.langya.jtailwind.core;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 浏览器发送的组件更新
+ * <p>
+ * 对应 {@code sendUpdate(componentId, data)} 的请求体，
+ * 常用的 {@code action} 和 {@code value} 字段单独解析，其余字段保留在 {@link #data} 中。
+ *
+ * @author LangYa466
+ * @date 2025/3/1
+ */
+@Data
+@Accessors(chain = true)
+public class UpdateCommand {
+    
+    /**
+     * 组件ID
+     */
+    @JsonProperty("componentId")
+    private String componentId;
+    
+    /**
+     * 动作，如 click
+     */
+    @JsonProperty("action")
+    private String action;
+    
+    /**
+     * 新值 (字符串、数字、布尔值或null)
+     */
+    @JsonProperty("value")
+    private Object value;
+    
+    /**
+     * 完整的更新数据 (含 action 和 value)
+     */
+    @JsonProperty("data")
+    private Map<String, Object> data = new LinkedHashMap<>();
+}
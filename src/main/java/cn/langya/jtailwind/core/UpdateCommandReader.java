@@ -0,0 +1,175 @@
+package cn.langya.jtailwind.core;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 组件更新请求体解析器
+ * <p>
+ * 直接从输入流流式解析为 {@link UpdateCommand}，不先拼接成字符串，
+ * 多字节UTF-8字符由解析器整体解码，不会在缓冲区边界处被截断；
+ * 解析缓冲区由Jackson按线程回收复用。请求体超过上限时立即停止读取。
+ *
+ * @author LangYa466
+ * @date 2025/3/1
+ */
+public class UpdateCommandReader {
+
+    /**
+     * 默认的请求体大小上限 (字节)
+     */
+    public static final int DEFAULT_MAX_BODY_BYTES = 64 * 1024;
+
+    /**
+     * 请求体大小上限 (字节)
+     */
+    private final int maxBodyBytes;
+
+    public UpdateCommandReader() {
+        this(DEFAULT_MAX_BODY_BYTES);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param maxBodyBytes 请求体大小上限 (字节)
+     */
+    public UpdateCommandReader(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /**
+     * 解析请求体
+     *
+     * @param body 请求体输入流，调用方负责关闭
+     * @return 更新命令
+     * @throws BodyTooLargeException 请求体超过上限时抛出
+     * @throws IOException JSON格式错误或缺少组件ID时抛出
+     */
+    public UpdateCommand read(InputStream body) throws IOException {
+        UpdateCommand command = new UpdateCommand();
+        try (JsonParser parser = JsonContext.shared().createParser(new LimitedInputStream(body, maxBodyBytes))) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("componentId".equals(field)) {
+                    command.setComponentId(token == JsonToken.VALUE_NULL ? null : parser.getValueAsString());
+                } else if ("data".equals(field) && token == JsonToken.START_OBJECT) {
+                    readData(parser, command);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            expect(parser, parser.currentToken(), JsonToken.END_OBJECT);
+            if (parser.nextToken() != null) {
+                throw new IOException("请求体包含多余内容");
+            }
+        }
+        if (command.getComponentId() == null) {
+            throw new IOException("缺少组件ID");
+        }
+        return command;
+    }
+
+    /**
+     * 解析 data 对象，标量直接读取，嵌套结构交给数据绑定
+     */
+    private static void readData(JsonParser parser, UpdateCommand command) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            Object value;
+            switch (token) {
+                case VALUE_STRING:
+                    value = parser.getText();
+                    break;
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    value = parser.getNumberValue();
+                    break;
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    value = parser.getBooleanValue();
+                    break;
+                case VALUE_NULL:
+                    value = null;
+                    break;
+                default:
+                    value = parser.readValueAs(Object.class);
+            }
+            command.getData().put(field, value);
+            if ("action".equals(field)) {
+                command.setAction(value != null ? value.toString() : null);
+            } else if ("value".equals(field)) {
+                command.setValue(value);
+            }
+        }
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("请求体格式错误: 期望 " + expected + "，实际为 " + actual
+                + " (位置 " + parser.currentLocation().getCharOffset() + ")");
+        }
+    }
+
+    /**
+     * 请求体超过大小上限
+     */
+    public static class BodyTooLargeException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        public BodyTooLargeException(int limit) {
+            super("请求体超过 " + limit + " 字节");
+        }
+    }
+
+    /**
+     * 限制可读取字节数的输入流
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final int limit;
+
+        private int remaining;
+
+        LimitedInputStream(InputStream in, int limit) {
+            super(in);
+            this.limit = limit;
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0 && --remaining < 0) {
+                throw new BodyTooLargeException(limit);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            // 多读一个字节以区分“恰好到达上限”和“超过上限”
+            int n = super.read(buffer, offset, Math.min(length, remaining + 1));
+            if (n > 0) {
+                remaining -= n;
+                if (remaining < 0) {
+                    throw new BodyTooLargeException(limit);
+                }
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            throw new IOException("不支持跳过");
+        }
+    }
+}
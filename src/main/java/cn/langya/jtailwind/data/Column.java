@@ -0,0 +1,73 @@
+package cn.langya.jtailwind.data;
+
+import lombok.Getter;
+
+/**
+ * 列式数据中的一列
+ * <p>
+ * 子类直接持有基本类型数组，排序比较、过滤和单元格输出都按行号访问，不装箱。
+ *
+ * @author LangYa466
+ * @date 2025/2/12
+ */
+@Getter
+public abstract class Column {
+
+    /**
+     * 列名
+     */
+    private final String name;
+
+    /**
+     * 列标题
+     */
+    private final String label;
+
+    protected Column(String name, String label) {
+        this.name = name;
+        this.label = label != null ? label : name;
+    }
+
+    /**
+     * 行数
+     *
+     * @return 行数
+     */
+    public abstract int size();
+
+    /**
+     * 比较两行在本列上的大小
+     *
+     * @param rowA 行号A
+     * @param rowB 行号B
+     * @return 比较结果
+     */
+    public abstract int compare(int rowA, int rowB);
+
+    /**
+     * 计算本列的升序排列
+     *
+     * @return 行号排列
+     */
+    protected int[] sortedRows() {
+        int[] rows = RowSorter.identity(size());
+        RowSorter.sort(rows, this::compare);
+        return rows;
+    }
+
+    /**
+     * 将过滤表达式编译为行过滤器
+     *
+     * @param expression 过滤表达式
+     * @return 行过滤器
+     */
+    public abstract RowFilter compileFilter(String expression);
+
+    /**
+     * 输出单元格文本 (未转义)
+     *
+     * @param out 输出缓冲
+     * @param row 行号
+     */
+    public abstract void appendCell(StringBuilder out, int row);
+}
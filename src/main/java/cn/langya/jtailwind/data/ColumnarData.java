@@ -0,0 +1,269 @@
+package cn.langya.jtailwind.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 列式数据源
+ * <p>
+ * 每列以基本类型数组 (或字典编码) 保存，查询时只计算当前页的行号。
+ * 每列的排序排列首次使用时计算并缓存，过滤结果按 (排序列, 过滤条件) 缓存最近的若干份。
+ * 列数组加入后视为只读，修改数组内容需要重新创建数据源。
+ *
+ * @author LangYa466
+ * @date 2025/2/12
+ */
+public class ColumnarData {
+
+    /**
+     * 过滤结果缓存条数
+     */
+    private static final int VIEW_CACHE_SIZE = 8;
+
+    /**
+     * 行数
+     */
+    private final int rowCount;
+
+    /**
+     * 列映射
+     */
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+
+    /**
+     * 每列的升序排列
+     */
+    private final Map<String, int[]> sortCache = new ConcurrentHashMap<>();
+
+    /**
+     * 过滤结果缓存
+     */
+    private final Map<String, int[]> viewCache = new LinkedHashMap<String, int[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+            return size() > VIEW_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * 构造函数
+     *
+     * @param rowCount 行数
+     */
+    public ColumnarData(int rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * 行数
+     *
+     * @return 行数
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 添加列
+     *
+     * @param column 列
+     * @return 当前数据源
+     */
+    public ColumnarData addColumn(Column column) {
+        if (column.size() != rowCount) {
+            throw new IllegalArgumentException("列 " + column.getName() + " 的行数为 " + column.size() + "，应为 " + rowCount);
+        }
+        columns.put(column.getName(), column);
+        return this;
+    }
+
+    /**
+     * 添加 int 列
+     *
+     * @param name 列名
+     * @param label 列标题
+     * @param values 列数据
+     * @return 当前数据源
+     */
+    public ColumnarData addIntColumn(String name, String label, int[] values) {
+        return addColumn(new IntColumn(name, label, values));
+    }
+
+    /**
+     * 添加 long 列
+     *
+     * @param name 列名
+     * @param label 列标题
+     * @param values 列数据
+     * @return 当前数据源
+     */
+    public ColumnarData addLongColumn(String name, String label, long[] values) {
+        return addColumn(new LongColumn(name, label, values));
+    }
+
+    /**
+     * 添加 double 列
+     *
+     * @param name 列名
+     * @param label 列标题
+     * @param values 列数据
+     * @return 当前数据源
+     */
+    public ColumnarData addDoubleColumn(String name, String label, double[] values) {
+        return addColumn(new DoubleColumn(name, label, values));
+    }
+
+    /**
+     * 添加字符串列，自动做字典编码
+     *
+     * @param name 列名
+     * @param label 列标题
+     * @param values 列数据
+     * @return 当前数据源
+     */
+    public ColumnarData addStringColumn(String name, String label, String[] values) {
+        return addColumn(DictionaryColumn.encode(name, label, values));
+    }
+
+    /**
+     * 添加已字典编码的字符串列
+     *
+     * @param name 列名
+     * @param label 列标题
+     * @param dictionary 字典
+     * @param codes 每行的字典下标
+     * @return 当前数据源
+     */
+    public ColumnarData addDictionaryColumn(String name, String label, String[] dictionary, int[] codes) {
+        return addColumn(new DictionaryColumn(name, label, dictionary, codes));
+    }
+
+    /**
+     * 获取所有列
+     *
+     * @return 列列表
+     */
+    public List<Column> getColumns() {
+        return Collections.unmodifiableList(new ArrayList<>(columns.values()));
+    }
+
+    /**
+     * 获取列
+     *
+     * @param name 列名
+     * @return 列，不存在时返回null
+     */
+    public Column getColumn(String name) {
+        return columns.get(name);
+    }
+
+    /**
+     * 获取指定列的升序排列，首次调用时计算并缓存
+     *
+     * @param name 列名
+     * @return 行号排列
+     */
+    public int[] sortPermutation(String name) {
+        Column column = columns.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("未知列: " + name);
+        }
+        return sortCache.computeIfAbsent(name, key -> column.sortedRows());
+    }
+
+    /**
+     * 执行查询，只计算当前页的行号
+     *
+     * @param query 查询条件
+     * @return 当前页
+     */
+    public TablePage query(TableQuery query) {
+        int pageSize = Math.max(1, query.getPageSize());
+        String sortColumn = query.getSortColumn() != null && columns.containsKey(query.getSortColumn())
+            ? query.getSortColumn() : null;
+        int[] order = sortColumn != null ? sortPermutation(sortColumn) : null;
+
+        Map<String, String> filters = activeFilters(query.getFilters());
+        int[] view = null;
+        int total = rowCount;
+        if (!filters.isEmpty()) {
+            view = filteredView(sortColumn, order, filters);
+            total = view.length;
+        }
+
+        int pageCount = Math.max(1, (total + pageSize - 1) / pageSize);
+        int page = Math.min(Math.max(0, query.getPage()), pageCount - 1);
+        int from = page * pageSize;
+        int to = Math.min(from + pageSize, total);
+
+        int[] rows = new int[Math.max(0, to - from)];
+        for (int i = from; i < to; i++) {
+            int position = query.isDescending() ? total - 1 - i : i;
+            int row;
+            if (view != null) {
+                row = view[position];
+            } else {
+                row = order != null ? order[position] : position;
+            }
+            rows[i - from] = row;
+        }
+        return new TablePage(rows, total, page, pageSize, pageCount);
+    }
+
+    /**
+     * 去掉空白和未知列的过滤条件，并按列名排序以便作为缓存键
+     */
+    private Map<String, String> activeFilters(Map<String, String> filters) {
+        Map<String, String> active = new TreeMap<>();
+        if (filters != null) {
+            filters.forEach((name, expression) -> {
+                if (expression != null && !expression.trim().isEmpty() && columns.containsKey(name)) {
+                    active.put(name, expression.trim());
+                }
+            });
+        }
+        return active;
+    }
+
+    /**
+     * 计算 (或取缓存) 满足过滤条件、按排序列升序的行号
+     */
+    private int[] filteredView(String sortColumn, int[] order, Map<String, String> filters) {
+        String key = sortColumn + "|" + filters;
+        synchronized (viewCache) {
+            int[] cached = viewCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        RowFilter filter = RowFilter.ALL;
+        for (Map.Entry<String, String> entry : filters.entrySet()) {
+            filter = filter.and(columns.get(entry.getKey()).compileFilter(entry.getValue()));
+        }
+
+        int[] matches = new int[Math.min(rowCount, 1024)];
+        int count = 0;
+        for (int i = 0; i < rowCount; i++) {
+            int row = order != null ? order[i] : i;
+            if (filter.test(row)) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, Math.min(rowCount, matches.length << 1));
+                }
+                matches[count++] = row;
+            }
+        }
+        int[] view = count == matches.length ? matches : Arrays.copyOf(matches, count);
+
+        synchronized (viewCache) {
+            viewCache.put(key, view);
+        }
+        return view;
+    }
+}
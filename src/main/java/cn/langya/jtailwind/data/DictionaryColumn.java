@@ -0,0 +1,104 @@
+package cn.langya.jtailwind.data;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 字典编码的字符串列
+ * <p>
+ * 每行只保存字典下标，排序和过滤都先在字典上计算一次，再按下标逐行查表。
+ *
+ * @author LangYa466
+ * @date 2025/2/12
+ */
+public class DictionaryColumn extends Column {
+
+    /**
+     * 字典
+     */
+    private final String[] dictionary;
+
+    /**
+     * 每行的字典下标
+     */
+    private final int[] codes;
+
+    public DictionaryColumn(String name, String label, String[] dictionary, int[] codes) {
+        super(name, label);
+        this.dictionary = dictionary;
+        this.codes = codes;
+    }
+
+    /**
+     * 对字符串数组做字典编码
+     *
+     * @param name 列名
+     * @param label 列标题
+     * @param values 每行的字符串
+     * @return 字典编码列
+     */
+    public static DictionaryColumn encode(String name, String label, String[] values) {
+        Map<String, Integer> lookup = new HashMap<>();
+        int[] codes = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            String value = values[i] != null ? values[i] : "";
+            Integer code = lookup.get(value);
+            if (code == null) {
+                code = lookup.size();
+                lookup.put(value, code);
+            }
+            codes[i] = code;
+        }
+        String[] dictionary = new String[lookup.size()];
+        lookup.forEach((value, code) -> dictionary[code] = value);
+        return new DictionaryColumn(name, label, dictionary, codes);
+    }
+
+    @Override
+    public int size() {
+        return codes.length;
+    }
+
+    @Override
+    public int compare(int rowA, int rowB) {
+        return dictionary[codes[rowA]].compareTo(dictionary[codes[rowB]]);
+    }
+
+    @Override
+    protected int[] sortedRows() {
+        // 先计算字典序名次，再按名次排序行号
+        Integer[] order = new Integer[dictionary.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> dictionary[a].compareTo(dictionary[b]));
+        int[] rank = new int[dictionary.length];
+        for (int i = 0; i < order.length; i++) {
+            rank[order[i]] = i;
+        }
+
+        int[] keys = new int[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            keys[i] = rank[codes[i]];
+        }
+        return RowSorter.sortByIntKey(keys);
+    }
+
+    @Override
+    public RowFilter compileFilter(String expression) {
+        // 忽略大小写的包含匹配，只在字典上计算一次
+        String needle = expression.trim().toLowerCase(Locale.ROOT);
+        boolean[] matches = new boolean[dictionary.length];
+        for (int i = 0; i < dictionary.length; i++) {
+            matches[i] = dictionary[i].toLowerCase(Locale.ROOT).contains(needle);
+        }
+        return row -> matches[codes[row]];
+    }
+
+    @Override
+    public void appendCell(StringBuilder out, int row) {
+        out.append(dictionary[codes[row]]);
+    }
+}
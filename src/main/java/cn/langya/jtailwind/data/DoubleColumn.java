@@ -0,0 +1,38 @@
+package cn.langya.jtailwind.data;
+
+/**
+ * double 列
+ *
+ * @author LangYa466
+ * @date 2025/2/12
+ */
+public class DoubleColumn extends Column {
+
+    private final double[] values;
+
+    public DoubleColumn(String name, String label, double[] values) {
+        super(name, label);
+        this.values = values;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public int compare(int rowA, int rowB) {
+        return Double.compare(values[rowA], values[rowB]);
+    }
+
+    @Override
+    public RowFilter compileFilter(String expression) {
+        NumericRange range = NumericRange.parse(expression);
+        return row -> range.contains(values[row]);
+    }
+
+    @Override
+    public void appendCell(StringBuilder out, int row) {
+        out.append(values[row]);
+    }
+}
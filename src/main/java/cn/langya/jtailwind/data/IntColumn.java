@@ -0,0 +1,43 @@
+package cn.langya.jtailwind.data;
+
+/**
+ * int 列
+ *
+ * @author LangYa466
+ * @date 2025/2/12
+ */
+public class IntColumn extends Column {
+
+    private final int[] values;
+
+    public IntColumn(String name, String label, int[] values) {
+        super(name, label);
+        this.values = values;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public int compare(int rowA, int rowB) {
+        return Integer.compare(values[rowA], values[rowB]);
+    }
+
+    @Override
+    protected int[] sortedRows() {
+        return RowSorter.sortByIntKey(values);
+    }
+
+    @Override
+    public RowFilter compileFilter(String expression) {
+        NumericRange range = NumericRange.parse(expression);
+        return row -> range.contains(values[row]);
+    }
+
+    @Override
+    public void appendCell(StringBuilder out, int row) {
+        out.append(values[row]);
+    }
+}
@@ -0,0 +1,77 @@
+package cn.langya.jtailwind.data;
+
+/**
+ * 数值过滤区间
+ * <p>
+ * 支持的表达式：{@code 10}、{@code =10}、{@code >10}、{@code >=10}、{@code <10}、{@code <=10}、{@code 10..20}。
+ *
+ * @author LangYa466
+ * @date 2025/2/12
+ */
+final class NumericRange {
+
+    private final double low;
+
+    private final double high;
+
+    private final boolean lowInclusive;
+
+    private final boolean highInclusive;
+
+    private NumericRange(double low, boolean lowInclusive, double high, boolean highInclusive) {
+        this.low = low;
+        this.lowInclusive = lowInclusive;
+        this.high = high;
+        this.highInclusive = highInclusive;
+    }
+
+    /**
+     * 解析过滤表达式
+     *
+     * @param expression 过滤表达式
+     * @return 数值区间
+     * @throws IllegalArgumentException 表达式无法解析时抛出
+     */
+    static NumericRange parse(String expression) {
+        String text = expression.trim();
+        try {
+            int range = text.indexOf("..");
+            if (range > 0) {
+                return new NumericRange(parseNumber(text.substring(0, range)), true,
+                    parseNumber(text.substring(range + 2)), true);
+            }
+            if (text.startsWith(">=")) {
+                return new NumericRange(parseNumber(text.substring(2)), true, Double.POSITIVE_INFINITY, true);
+            }
+            if (text.startsWith("<=")) {
+                return new NumericRange(Double.NEGATIVE_INFINITY, true, parseNumber(text.substring(2)), true);
+            }
+            if (text.startsWith(">")) {
+                return new NumericRange(parseNumber(text.substring(1)), false, Double.POSITIVE_INFINITY, true);
+            }
+            if (text.startsWith("<")) {
+                return new NumericRange(Double.NEGATIVE_INFINITY, true, parseNumber(text.substring(1)), false);
+            }
+            double value = parseNumber(text.startsWith("=") ? text.substring(1) : text);
+            return new NumericRange(value, true, value, true);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("无法解析数值过滤条件: " + expression, e);
+        }
+    }
+
+    private static double parseNumber(String text) {
+        return Double.parseDouble(text.trim());
+    }
+
+    /**
+     * 判断数值是否落在区间内
+     *
+     * @param value 数值
+     * @return 是否命中
+     */
+    boolean contains(double value) {
+        boolean aboveLow = lowInclusive ? value >= low : value > low;
+        boolean belowHigh = highInclusive ? value <= high : value < high;
+        return aboveLow && belowHigh;
+    }
+}
@@ -0,0 +1,40 @@
+package cn.langya.jtailwind.data;
+
+/**
+ * 行过滤器
+ *
+ * @author LangYa466
+ * @date 2025/2/12
+ */
+@FunctionalInterface
+public interface RowFilter {
+
+    /**
+     * 保留所有行的过滤器
+     */
+    RowFilter ALL = row -> true;
+
+    /**
+     * 判断行是否保留
+     *
+     * @param row 行号
+     * @return 是否保留
+     */
+    boolean test(int row);
+
+    /**
+     * 与另一个过滤器组合
+     *
+     * @param other 另一个过滤器
+     * @return 组合后的过滤器
+     */
+    default RowFilter and(RowFilter other) {
+        if (this == ALL) {
+            return other;
+        }
+        if (other == ALL) {
+            return this;
+        }
+        return row -> test(row) && other.test(row);
+    }
+}
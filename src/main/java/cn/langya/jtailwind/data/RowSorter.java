@@ -0,0 +1,129 @@
+package cn.langya.jtailwind.data;
+
+import java.util.Arrays;
+
+/**
+ * 行号排序工具
+ * <p>
+ * 对 {@code int[]} 行号做稳定的自底向上归并排序，比较器直接读取列数组，避免装箱。
+ *
+ * @author LangYa466
+ * @date 2025/2/12
+ */
+final class RowSorter {
+
+    /**
+     * 小区间使用插入排序的阈值
+     */
+    private static final int INSERTION_THRESHOLD = 32;
+
+    private RowSorter() {
+    }
+
+    /**
+     * 行号比较器
+     */
+    @FunctionalInterface
+    interface RowComparator {
+        int compare(int rowA, int rowB);
+    }
+
+    /**
+     * 生成 0..size-1 的行号
+     *
+     * @param size 行数
+     * @return 行号数组
+     */
+    static int[] identity(int size) {
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        return rows;
+    }
+
+    /**
+     * 稳定排序行号
+     *
+     * @param rows 行号数组
+     * @param comparator 比较器
+     */
+    static void sort(int[] rows, RowComparator comparator) {
+        int n = rows.length;
+        for (int from = 0; from < n; from += INSERTION_THRESHOLD) {
+            insertionSort(rows, from, Math.min(from + INSERTION_THRESHOLD, n), comparator);
+        }
+        if (n <= INSERTION_THRESHOLD) {
+            return;
+        }
+
+        int[] source = rows;
+        int[] target = new int[n];
+        for (int width = INSERTION_THRESHOLD; width < n; width <<= 1) {
+            for (int left = 0; left < n; left += width << 1) {
+                int mid = Math.min(left + width, n);
+                int right = Math.min(left + (width << 1), n);
+                merge(source, target, left, mid, right, comparator);
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != rows) {
+            System.arraycopy(source, 0, rows, 0, n);
+        }
+    }
+
+    private static void insertionSort(int[] rows, int from, int to, RowComparator comparator) {
+        for (int i = from + 1; i < to; i++) {
+            int current = rows[i];
+            int j = i - 1;
+            while (j >= from && comparator.compare(rows[j], current) > 0) {
+                rows[j + 1] = rows[j];
+                j--;
+            }
+            rows[j + 1] = current;
+        }
+    }
+
+    private static void merge(int[] source, int[] target, int left, int mid, int right, RowComparator comparator) {
+        if (mid >= right || comparator.compare(source[mid - 1], source[mid]) <= 0) {
+            System.arraycopy(source, left, target, left, right - left);
+            return;
+        }
+        int i = left;
+        int j = mid;
+        int k = left;
+        while (i < mid && j < right) {
+            target[k++] = comparator.compare(source[i], source[j]) <= 0 ? source[i++] : source[j++];
+        }
+        while (i < mid) {
+            target[k++] = source[i++];
+        }
+        while (j < right) {
+            target[k++] = source[j++];
+        }
+    }
+
+    /**
+     * 对打包成 long 的 (键, 行号) 排序后取出行号
+     * <p>
+     * 适用于键可以用 int 表示的列，借助基本类型排序避免比较器调用。
+     *
+     * @param keys 每行的排序键
+     * @return 按键升序、行号升序排列的行号
+     */
+    static int[] sortByIntKey(int[] keys) {
+        int n = keys.length;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = ((long) keys[i] << 32) | i;
+        }
+        Arrays.sort(packed);
+        int[] rows = new int[n];
+        for (int i = 0; i < n; i++) {
+            rows[i] = (int) packed[i];
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,40 @@
+package cn.langya.jtailwind.data;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 表格查询结果中的一页
+ *
+ * @author LangYa466
+ * @date 2025/2/12
+ */
+@Getter
+@AllArgsConstructor
+public class TablePage {
+
+    /**
+     * 当前页的行号
+     */
+    private final int[] rows;
+
+    /**
+     * 满足过滤条件的总行数
+     */
+    private final int total;
+
+    /**
+     * 页码 (从0开始)
+     */
+    private final int page;
+
+    /**
+     * 每页行数
+     */
+    private final int pageSize;
+
+    /**
+     * 总页数
+     */
+    private final int pageCount;
+}
@@ -0,0 +1,43 @@
+package cn.langya.jtailwind.data;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 表格查询条件
+ *
+ * @author LangYa466
+ * @date 2025/2/12
+ */
+@Data
+@Accessors(chain = true)
+public class TableQuery {
+
+    /**
+     * 排序列
+     */
+    private String sortColumn;
+
+    /**
+     * 是否降序
+     */
+    private boolean descending = false;
+
+    /**
+     * 列过滤条件
+     */
+    private Map<String, String> filters = new LinkedHashMap<>();
+
+    /**
+     * 页码 (从0开始)
+     */
+    private int page = 0;
+
+    /**
+     * 每页行数
+     */
+    private int pageSize = 20;
+}
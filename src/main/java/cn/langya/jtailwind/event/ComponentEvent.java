@@ -0,0 +1,53 @@
+package cn.langya.jtailwind.event;
+
+import cn.langya.jtailwind.core.ComponentMutation;
+import cn.langya.jtailwind.core.UIComponent;
+import cn.langya.jtailwind.core.UpdateCommand;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 组件事件
+ *
+ * @author LangYa466
+ * @date 2025/3/2
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ComponentEvent {
+
+    /**
+     * 事件名，取自更新数据的 action，未指定时为 change
+     */
+    private final String name;
+
+    /**
+     * 浏览器发送的更新命令
+     */
+    private final UpdateCommand command;
+
+    /**
+     * 触发事件的组件，页面中不存在时为null
+     */
+    private final UIComponent component;
+
+    /**
+     * 新值
+     *
+     * @return 更新数据中的 value
+     */
+    public Object getValue() {
+        return command.getValue();
+    }
+
+    /**
+     * 创建针对触发组件的变更
+     *
+     * @return 组件变更
+     */
+    public ComponentMutation mutation() {
+        return new ComponentMutation(command.getComponentId());
+    }
+}
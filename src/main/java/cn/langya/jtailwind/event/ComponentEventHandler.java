@@ -0,0 +1,24 @@
+package cn.langya.jtailwind.event;
+
+import cn.langya.jtailwind.core.ComponentMutation;
+
+import java.util.List;
+
+/**
+ * 服务器端组件事件处理器
+ *
+ * @author LangYa466
+ * @date 2025/3/2
+ */
+@FunctionalInterface
+public interface ComponentEventHandler {
+
+    /**
+     * 处理事件
+     *
+     * @param event 组件事件
+     * @return 需要应用并推送给浏览器的组件变更，可为null
+     * @throws Exception 处理失败时抛出，不影响同一组件后续事件的处理
+     */
+    List<ComponentMutation> handle(ComponentEvent event) throws Exception;
+}
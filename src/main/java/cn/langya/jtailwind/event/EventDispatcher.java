@@ -0,0 +1,405 @@
+package cn.langya.jtailwind.event;
+
+import cn.langya.jtailwind.core.ComponentMutation;
+import cn.langya.jtailwind.core.JsonContext;
+import cn.langya.jtailwind.core.UIComponent;
+import cn.langya.jtailwind.core.UpdateCommand;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 服务器端事件分发器
+ * <p>
+ * 按组件ID或组件类型注册处理器。事件在执行器上异步处理：
+ * 同一组件的事件按到达顺序依次执行，不同组件的事件并行执行；
+ * 排队的事件总数超过上限时拒绝新事件。
+ * 处理器返回的变更先应用到服务器端组件，再交给监听器并随结果返回。
+ *
+ * @author LangYa466
+ * @date 2025/3/2
+ */
+@Slf4j
+public class EventDispatcher {
+
+    /**
+     * 默认的排队事件上限
+     */
+    public static final int DEFAULT_MAX_QUEUED = 10_000;
+
+    /**
+     * 共享的默认执行器
+     */
+    private static volatile ExecutorService sharedExecutor;
+
+    /**
+     * 按ID查找组件
+     */
+    private final Function<String, UIComponent> resolver;
+
+    /**
+     * 按组件ID注册的处理器
+     */
+    private final Map<String, List<Registration>> byId = new ConcurrentHashMap<>();
+
+    /**
+     * 按组件类型注册的处理器
+     */
+    private final Map<String, List<Registration>> byType = new ConcurrentHashMap<>();
+
+    /**
+     * 变更监听器
+     */
+    private final List<Consumer<List<ComponentMutation>>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 各组件的待处理事件，键为组件ID
+     */
+    private final Map<String, Queue<Task>> queues = new HashMap<>();
+
+    /**
+     * 排队中 (含执行中) 的事件数
+     */
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /**
+     * 执行器
+     */
+    private volatile Executor executor;
+
+    /**
+     * 排队事件上限
+     */
+    private volatile int maxQueued = DEFAULT_MAX_QUEUED;
+
+    /**
+     * 构造函数
+     *
+     * @param resolver 按ID查找组件，用于获取组件类型和应用变更
+     */
+    public EventDispatcher(Function<String, UIComponent> resolver) {
+        this.resolver = resolver;
+    }
+
+    /**
+     * 设置执行器，默认使用所有分发器共享的守护线程池
+     *
+     * @param executor 执行器
+     * @return 当前分发器
+     */
+    public EventDispatcher setExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * 设置排队事件上限
+     *
+     * @param maxQueued 上限
+     * @return 当前分发器
+     */
+    public EventDispatcher setMaxQueued(int maxQueued) {
+        if (maxQueued < 1) {
+            throw new IllegalArgumentException("排队上限必须大于0: " + maxQueued);
+        }
+        this.maxQueued = maxQueued;
+        return this;
+    }
+
+    /**
+     * 为指定组件注册处理器
+     *
+     * @param componentId 组件ID
+     * @param eventName 事件名，null表示全部事件
+     * @param handler 处理器
+     * @return 当前分发器
+     */
+    public EventDispatcher on(String componentId, String eventName, ComponentEventHandler handler) {
+        byId.computeIfAbsent(componentId, key -> new CopyOnWriteArrayList<>()).add(new Registration(eventName, handler));
+        return this;
+    }
+
+    /**
+     * 为某一类型的全部组件注册处理器
+     *
+     * @param type 组件类型，如 button
+     * @param eventName 事件名，null表示全部事件
+     * @param handler 处理器
+     * @return 当前分发器
+     */
+    public EventDispatcher onType(String type, String eventName, ComponentEventHandler handler) {
+        byType.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>()).add(new Registration(eventName, handler));
+        return this;
+    }
+
+    /**
+     * 注册点击处理器
+     *
+     * @param componentId 组件ID
+     * @param handler 处理器
+     * @return 当前分发器
+     */
+    public EventDispatcher onClick(String componentId, ComponentEventHandler handler) {
+        return on(componentId, "click", handler);
+    }
+
+    /**
+     * 注册值变化处理器
+     *
+     * @param componentId 组件ID
+     * @param handler 处理器
+     * @return 当前分发器
+     */
+    public EventDispatcher onChange(String componentId, ComponentEventHandler handler) {
+        return on(componentId, "change", handler);
+    }
+
+    /**
+     * 注册输入处理器
+     *
+     * @param componentId 组件ID
+     * @param handler 处理器
+     * @return 当前分发器
+     */
+    public EventDispatcher onInput(String componentId, ComponentEventHandler handler) {
+        return on(componentId, "input", handler);
+    }
+
+    /**
+     * 添加变更监听器
+     *
+     * @param listener 监听器，在处理线程上调用
+     * @return 当前分发器
+     */
+    public EventDispatcher addListener(Consumer<List<ComponentMutation>> listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * 将服务器端产生的变更推送给全部监听器
+     *
+     * @param mutations 变更，为空时不通知
+     */
+    public void publish(List<ComponentMutation> mutations) {
+        if (mutations.isEmpty()) {
+            return;
+        }
+        for (Consumer<List<ComponentMutation>> listener : listeners) {
+            try {
+                listener.accept(mutations);
+            } catch (Exception e) {
+                log.warn("组件变更监听器执行失败", e);
+            }
+        }
+    }
+
+    /**
+     * 分发事件
+     *
+     * @param command 更新命令
+     * @return 全部处理器返回的变更；没有匹配的处理器时立即完成，
+     *         排队已满时以 {@link RejectedExecutionException} 异常完成
+     */
+    public CompletableFuture<List<ComponentMutation>> dispatch(UpdateCommand command) {
+        String eventName = command.getAction() != null ? command.getAction() : "change";
+        UIComponent component = resolver.apply(command.getComponentId());
+        List<ComponentEventHandler> handlers = new ArrayList<>();
+        collect(byId.get(command.getComponentId()), eventName, handlers);
+        if (component != null) {
+            collect(byType.get(component.getType()), eventName, handlers);
+        }
+        if (handlers.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        Task task = new Task(new ComponentEvent(eventName, command, component), handlers);
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            task.future.completeExceptionally(new RejectedExecutionException("事件队列已满"));
+            return task.future;
+        }
+
+        boolean idle;
+        Queue<Task> queue;
+        synchronized (queues) {
+            queue = queues.get(command.getComponentId());
+            idle = queue == null;
+            if (idle) {
+                queue = new ArrayDeque<>();
+                queues.put(command.getComponentId(), queue);
+            }
+            queue.add(task);
+        }
+        if (idle) {
+            schedule(command.getComponentId(), queue);
+        }
+        return task.future;
+    }
+
+    /**
+     * 正在排队和执行的事件数
+     *
+     * @return 事件数
+     */
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    private static void collect(List<Registration> registrations, String eventName, List<ComponentEventHandler> out) {
+        if (registrations == null) {
+            return;
+        }
+        for (Registration registration : registrations) {
+            if (registration.eventName == null || registration.eventName.equals(eventName)) {
+                out.add(registration.handler);
+            }
+        }
+    }
+
+    /**
+     * 在执行器上处理队首事件，完成后再调度下一个，保证同一组件的事件串行执行
+     */
+    private void schedule(String componentId, Queue<Task> queue) {
+        try {
+            executor().execute(() -> {
+                Task task;
+                synchronized (queues) {
+                    task = queue.peek();
+                }
+                try {
+                    run(task);
+                } finally {
+                    queued.decrementAndGet();
+                    boolean more;
+                    synchronized (queues) {
+                        queue.poll();
+                        more = !queue.isEmpty();
+                        if (!more) {
+                            queues.remove(componentId);
+                        }
+                    }
+                    if (more) {
+                        schedule(componentId, queue);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 执行器已关闭，丢弃该组件的全部待处理事件
+            List<Task> dropped;
+            synchronized (queues) {
+                dropped = new ArrayList<>(queue);
+                queues.remove(componentId);
+            }
+            for (Task task : dropped) {
+                queued.decrementAndGet();
+                task.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void run(Task task) {
+        List<ComponentMutation> mutations = new ArrayList<>();
+        try {
+            for (ComponentEventHandler handler : task.handlers) {
+                List<ComponentMutation> result = handler.handle(task.event);
+                if (result != null) {
+                    mutations.addAll(result);
+                }
+            }
+            for (ComponentMutation mutation : mutations) {
+                apply(mutation);
+            }
+        } catch (Exception e) {
+            log.warn("处理组件 {} 的 {} 事件失败", task.event.getCommand().getComponentId(), task.event.getName(), e);
+            task.future.completeExceptionally(e);
+            return;
+        }
+
+        publish(mutations);
+        task.future.complete(mutations);
+    }
+
+    /**
+     * 将变更应用到服务器端组件，使之后的渲染反映最新状态
+     */
+    private void apply(ComponentMutation mutation) throws IOException {
+        UIComponent target = resolver.apply(mutation.getComponentId());
+        if (target == null || mutation.getChanges().isEmpty()) {
+            return;
+        }
+        synchronized (target) {
+            JsonContext.shared().applyChanges(target, mutation.getChanges());
+        }
+    }
+
+    private Executor executor() {
+        Executor current = executor;
+        return current != null ? current : sharedExecutor();
+    }
+
+    private static ExecutorService sharedExecutor() {
+        if (sharedExecutor == null) {
+            synchronized (EventDispatcher.class) {
+                if (sharedExecutor == null) {
+                    AtomicInteger threadCount = new AtomicInteger();
+                    sharedExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+                        Thread thread = new Thread(runnable, "jtailwind-event-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return sharedExecutor;
+    }
+
+    /**
+     * 处理器注册
+     */
+    private static final class Registration {
+
+        final String eventName;
+
+        final ComponentEventHandler handler;
+
+        Registration(String eventName, ComponentEventHandler handler) {
+            this.eventName = eventName;
+            this.handler = handler;
+        }
+    }
+
+    /**
+     * 待处理事件
+     */
+    private static final class Task {
+
+        final ComponentEvent event;
+
+        final List<ComponentEventHandler> handlers;
+
+        final CompletableFuture<List<ComponentMutation>> future = new CompletableFuture<>();
+
+        Task(ComponentEvent event, List<ComponentEventHandler> handlers) {
+            this.event = event;
+            this.handlers = handlers;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package cn.langya.jtailwind.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 静态导出结果
+ *
+ * @author LangYa466
+ * @date 2025/2/28
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ExportResult {
+
+    /**
+     * 写入的页面数
+     */
+    private final int written;
+
+    /**
+     * 内容未变化而跳过的页面数
+     */
+    private final int skipped;
+
+    /**
+     * 写入的资源文件数
+     */
+    private final int assets;
+
+    /**
+     * 写入的总字节数 (含压缩文件)
+     */
+    private final long bytesWritten;
+
+    /**
+     * 耗时 (毫秒)
+     */
+    private final long elapsedMillis;
+}
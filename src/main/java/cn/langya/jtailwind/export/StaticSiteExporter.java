@@ -0,0 +1,376 @@
+package cn.langya.jtailwind.export;
+
+import cn.langya.jtailwind.renderer.CallbackBundle;
+import cn.langya.jtailwind.renderer.PageRenderer;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 静态站点导出器
+ * <p>
+ * 并行渲染一组页面并写入目录，每个 {@code .html} 旁附带预压缩的 {@code .gz}，
+ * 共享资源按内容哈希命名 (如 {@code assets/site.3f2a9c1b.css})，可长期缓存；
+ * 以共享脚本引用回调函数的页面，其回调脚本包也作为资源一并导出。
+ * 输出目录中的清单记录每个文件的内容哈希，再次导出时内容未变化且文件 (含需要的 {@code .gz}) 齐全的页面不再写入。
+ *
+ * @author LangYa466
+ * @date 2025/2/28
+ */
+public class StaticSiteExporter {
+
+    /**
+     * 清单文件名
+     */
+    public static final String MANIFEST_FILE = ".jtailwind-manifest";
+
+    /**
+     * 资源目录
+     */
+    private static final String ASSET_DIR = "assets";
+
+    /**
+     * 输出目录
+     */
+    @Getter
+    private final Path outputDir;
+
+    /**
+     * 待导出的页面，键为相对路径
+     */
+    private final Map<String, PageRenderer> pages = new LinkedHashMap<>();
+
+    /**
+     * 资源内容，键为带指纹的相对路径
+     */
+    private final Map<String, byte[]> assets = new LinkedHashMap<>();
+
+    /**
+     * 资源名到带指纹的根相对地址的映射
+     */
+    private final Map<String, String> assetPaths = new LinkedHashMap<>();
+
+    /**
+     * 并行度
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 是否写入预压缩文件
+     */
+    private boolean compress = true;
+
+    /**
+     * 构造函数
+     *
+     * @param outputDir 输出目录
+     */
+    public StaticSiteExporter(Path outputDir) {
+        this.outputDir = outputDir.toAbsolutePath().normalize();
+    }
+
+    /**
+     * 设置并行度
+     *
+     * @param parallelism 渲染和写入的线程数
+     * @return 当前导出器
+     */
+    public StaticSiteExporter setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("并行度必须大于0: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 设置是否写入预压缩文件
+     *
+     * @param compress 是否写入 .gz
+     * @return 当前导出器
+     */
+    public StaticSiteExporter setCompress(boolean compress) {
+        this.compress = compress;
+        return this;
+    }
+
+    /**
+     * 添加页面
+     *
+     * @param path 相对输出目录的路径，如 reports/2025-02.html，省略扩展名时自动补全
+     * @param renderer 页面渲染器
+     * @return 当前导出器
+     * @throws IllegalArgumentException 路径越出输出目录或重复时抛出
+     */
+    public StaticSiteExporter addPage(String path, PageRenderer renderer) {
+        String normalized = normalize(path.endsWith(".html") ? path : path + ".html");
+        if (pages.putIfAbsent(normalized, renderer) != null) {
+            throw new IllegalArgumentException("页面路径重复: " + path);
+        }
+        return this;
+    }
+
+    /**
+     * 添加共享资源
+     * <p>
+     * 返回以 {@code /} 开头的根相对地址，任何目录层级的页面都可直接引用，站点须部署在域名根路径下。
+     *
+     * @param name 资源名，如 site.css
+     * @param content 资源内容
+     * @return 带指纹的根相对地址，如 /assets/site.3f2a9c1b.css，可用于 {@link PageRenderer#addStylesheet}
+     */
+    public String addAsset(String name, byte[] content) {
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        String path = normalize(ASSET_DIR + "/" + base + "." + hash(content).substring(0, 8) + extension);
+        String href = "/" + path;
+        assets.put(path, content.clone());
+        assetPaths.put(name, href);
+        return href;
+    }
+
+    /**
+     * 添加文本共享资源
+     *
+     * @param name 资源名，如 site.css
+     * @param content 资源内容
+     * @return 带指纹的根相对地址
+     */
+    public String addAsset(String name, String content) {
+        return addAsset(name, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 获取资源的带指纹地址
+     *
+     * @param name 资源名
+     * @return 带指纹的根相对地址，未添加时返回null
+     */
+    public String assetPath(String name) {
+        return assetPaths.get(name);
+    }
+
+    /**
+     * 导出全部页面和资源
+     *
+     * @return 导出结果
+     * @throws IOException 写入失败时抛出，其余失败作为被抑制的异常附加
+     */
+    public ExportResult export() throws IOException {
+        long start = System.currentTimeMillis();
+        Files.createDirectories(outputDir);
+        Map<String, String> previous = readManifest();
+        Map<String, String> manifest = new ConcurrentHashMap<>();
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        AtomicLong bytesWritten = new AtomicLong();
+
+        // 资源：文件名已含指纹，存在即跳过
+        int assetCount = 0;
+        Map<String, byte[]> allAssets = new LinkedHashMap<>(assets);
+        for (PageRenderer renderer : pages.values()) {
+            if (renderer.isExternalCallbacks()) {
+                CallbackBundle bundle = renderer.getCallbackBundle();
+                if (!bundle.isEmpty()) {
+                    allAssets.putIfAbsent(normalize(bundle.getPath()), bundle.toBytes());
+                }
+            }
+        }
+        for (Map.Entry<String, byte[]> asset : allAssets.entrySet()) {
+            String hash = hash(asset.getValue());
+            manifest.put(asset.getKey(), hash);
+            if (!hash.equals(previous.get(asset.getKey())) || !Files.exists(resolve(asset.getKey()))) {
+                bytesWritten.addAndGet(write(asset.getKey(), asset.getValue()));
+                assetCount++;
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "jtailwind-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> futures = new ArrayList<>(pages.size());
+        try {
+            for (Map.Entry<String, PageRenderer> page : pages.entrySet()) {
+                futures.add(executor.submit(() -> {
+                    byte[] html = page.getValue().render().getBytes(StandardCharsets.UTF_8);
+                    String hash = hash(html);
+                    if (hash.equals(previous.get(page.getKey())) && Files.exists(resolve(page.getKey()))
+                        && (!compress || Files.exists(resolve(page.getKey() + ".gz")))) {
+                        manifest.put(page.getKey(), hash);
+                        skipped.incrementAndGet();
+                        return null;
+                    }
+                    // 开始覆盖后旧哈希不再可信，写入失败时清单中不保留该页面
+                    previous.remove(page.getKey());
+                    long bytes = write(page.getKey(), html);
+                    if (compress) {
+                        bytes += write(page.getKey() + ".gz", gzip(html));
+                    }
+                    manifest.put(page.getKey(), hash);
+                    bytesWritten.addAndGet(bytes);
+                    written.incrementAndGet();
+                    return null;
+                }));
+            }
+            IOException failure = null;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    IOException cause = e.getCause() instanceof IOException
+                        ? (IOException) e.getCause()
+                        : new IOException("页面导出失败", e.getCause());
+                    if (failure == null) {
+                        failure = cause;
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("导出被中断", e);
+                }
+            }
+            // 失败的页面不写入清单，下次导出时重新写入
+            writeManifest(previous, manifest);
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new ExportResult(written.get(), skipped.get(), assetCount, bytesWritten.get(),
+            System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 先写入临时文件再原子替换，避免读取到写了一半的文件
+     *
+     * @return 写入的字节数
+     */
+    private long write(String relativePath, byte[] content) throws IOException {
+        Path target = resolve(relativePath);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return content.length;
+    }
+
+    /**
+     * 读取上次导出的清单
+     */
+    private Map<String, String> readManifest() throws IOException {
+        Map<String, String> manifest = new ConcurrentHashMap<>();
+        Path file = outputDir.resolve(MANIFEST_FILE);
+        if (!Files.exists(file)) {
+            return manifest;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            int separator = line.indexOf('\t');
+            if (separator > 0) {
+                manifest.put(line.substring(0, separator), line.substring(separator + 1));
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * 写入清单，保留本次未导出的旧条目
+     */
+    private void writeManifest(Map<String, String> previous, Map<String, String> current) throws IOException {
+        Map<String, String> merged = new TreeMap<>(previous);
+        merged.putAll(current);
+        StringBuilder content = new StringBuilder();
+        for (Map.Entry<String, String> entry : merged.entrySet()) {
+            content.append(entry.getKey()).append('\t').append(entry.getValue()).append('\n');
+        }
+        write(MANIFEST_FILE, content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析相对路径并确认位于输出目录内
+     */
+    private Path resolve(String relativePath) {
+        Path path = outputDir.resolve(relativePath).normalize();
+        if (!path.startsWith(outputDir)) {
+            throw new IllegalArgumentException("路径越出输出目录: " + relativePath);
+        }
+        return path;
+    }
+
+    /**
+     * 规范化相对路径
+     */
+    private String normalize(String path) {
+        String relative = path.replace('\\', '/');
+        while (relative.startsWith("/")) {
+            relative = relative.substring(1);
+        }
+        if (relative.isEmpty() || MANIFEST_FILE.equals(relative)) {
+            throw new IllegalArgumentException("无效的导出路径: " + path);
+        }
+        return outputDir.relativize(resolve(relative)).toString().replace('\\', '/');
+    }
+
+    /**
+     * gzip压缩
+     */
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 内容哈希 (SHA-256，十六进制)
+     */
+    private static String hash(byte[] content) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] bytes = digest.digest(content);
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = Character.forDigit((bytes[i] >> 4) & 0xF, 16);
+            hex[i * 2 + 1] = Character.forDigit(bytes[i] & 0xF, 16);
+        }
+        return new String(hex);
+    }
+}
@@ -0,0 +1,96 @@
+package cn.langya.jtailwind.format;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+
+/**
+ * 字节大小格式化器
+ * <p>
+ * 按1024进位输出，例如 {@code 512 B}、{@code 1.5 KB}、{@code 3.2 GB}。
+ *
+ * @author LangYa466
+ * @date 2025/2/14
+ */
+final class ByteSizeFormatter implements ValueFormatter {
+
+    /**
+     * 单位
+     */
+    private static final String[] UNITS = {" B", " KB", " MB", " GB", " TB", " PB", " EB"};
+
+    /**
+     * 进位的界限
+     */
+    private static final BigDecimal STEP = BigDecimal.valueOf(1024);
+
+    /**
+     * 各单位对应的定点格式化器 (字节单位用于非整数的字节数)
+     */
+    private final DecimalFormatter[] scaled;
+
+    /**
+     * 字节数 (不足1KB) 的格式化器
+     */
+    private final DecimalFormatter bytes;
+
+    /**
+     * 小数位数
+     */
+    private final int decimals;
+
+    ByteSizeFormatter(int decimals, DecimalFormatSymbols symbols) {
+        this.decimals = decimals;
+        this.bytes = new DecimalFormatter("", UNITS[0], 0, false, 1, false, symbols, 3);
+        this.scaled = new DecimalFormatter[UNITS.length];
+        for (int i = 0; i < UNITS.length; i++) {
+            scaled[i] = new DecimalFormatter("", UNITS[i], decimals, false, 1, true, symbols, 3);
+        }
+    }
+
+    @Override
+    public void formatTo(StringBuilder out, long value) {
+        if (value > -1024 && value < 1024) {
+            bytes.formatTo(out, value);
+            return;
+        }
+        formatTo(out, (double) value);
+    }
+
+    @Override
+    public void formatTo(StringBuilder out, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append(value);
+            return;
+        }
+        double abs = Math.abs(value);
+        if (abs < 1024 && value == Math.rint(value)) {
+            bytes.formatTo(out, (long) value);
+            return;
+        }
+        int unit = 0;
+        while (abs >= 1024 && unit < UNITS.length - 1) {
+            abs /= 1024;
+            value /= 1024;
+            unit++;
+        }
+        // 舍入后达到1024时进一位，避免输出 1024.0 KB
+        if (unit < UNITS.length - 1 && abs >= 1023 && roundsToStep(abs)) {
+            value /= 1024;
+            unit++;
+        }
+        scaled[unit].formatTo(out, value);
+    }
+
+    /**
+     * 按与 {@link DecimalFormatter} 相同的规则舍入后是否不小于1024
+     */
+    private boolean roundsToStep(double abs) {
+        return BigDecimal.valueOf(abs).setScale(decimals, RoundingMode.HALF_UP).compareTo(STEP) >= 0;
+    }
+
+    @Override
+    public void formatOther(StringBuilder out, Number value) {
+        formatTo(out, new BigDecimal(value.toString()).doubleValue());
+    }
+}
@@ -0,0 +1,183 @@
+package cn.langya.jtailwind.format;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+
+/**
+ * 定点小数 / 整数格式化器
+ * <p>
+ * 覆盖 {@code %d}、{@code %,d}、{@code %.Nf}、{@code %,.Nf} 以及百分比格式。
+ * 舍入规则与 {@link java.util.Formatter} 一致 (对十进制表示做 HALF_UP)：
+ * 绝大多数数值直接用 long 运算得出结果，只有恰好落在舍入边界附近的数值才退回 {@link BigDecimal}。
+ *
+ * @author LangYa466
+ * @date 2025/2/14
+ */
+final class DecimalFormatter implements ValueFormatter {
+
+    /**
+     * 快速路径可处理的最大缩放值
+     */
+    private static final double FAST_PATH_LIMIT = 1e15;
+
+    private final String prefix;
+
+    private final String suffix;
+
+    /**
+     * 小数位数
+     */
+    private final int decimals;
+
+    /**
+     * 分组分隔符，为0时不分组
+     */
+    private final char groupingSeparator;
+
+    /**
+     * 分组大小
+     */
+    private final int groupSize;
+
+    /**
+     * 小数点
+     */
+    private final char decimalSeparator;
+
+    /**
+     * 乘数 (百分比为100)
+     */
+    private final long multiplier;
+
+    /**
+     * 是否为浮点转换 (%f)
+     */
+    private final boolean decimal;
+
+    DecimalFormatter(String prefix, String suffix, int decimals, boolean grouping, long multiplier,
+                     boolean decimal, DecimalFormatSymbols symbols, int groupSize) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.decimals = decimals;
+        this.groupSize = groupSize;
+        this.groupingSeparator = grouping && groupSize > 0 ? symbols.getGroupingSeparator() : 0;
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.multiplier = multiplier;
+        this.decimal = decimal;
+    }
+
+    @Override
+    public void formatTo(StringBuilder out, long value) {
+        long scaled;
+        try {
+            scaled = Math.multiplyExact(value, multiplier);
+        } catch (ArithmeticException e) {
+            formatTo(out, (double) value);
+            return;
+        }
+
+        out.append(prefix);
+        if (scaled < 0) {
+            out.append('-');
+        }
+        if (scaled == Long.MIN_VALUE) {
+            appendPlain(out, Long.toString(scaled).substring(1));
+        } else {
+            ValueFormatters.appendDigits(out, Math.abs(scaled), groupingSeparator, groupSize);
+        }
+        if (decimal && decimals > 0) {
+            out.append(decimalSeparator);
+            for (int i = 0; i < decimals; i++) {
+                out.append('0');
+            }
+        }
+        out.append(suffix);
+    }
+
+    @Override
+    public void formatTo(StringBuilder out, double value) {
+        if (!decimal) {
+            // %d 不接受浮点数，保持原样输出
+            out.append(value);
+            return;
+        }
+
+        double scaledValue = value * multiplier;
+        out.append(prefix);
+        if (Double.isNaN(scaledValue)) {
+            out.append("NaN").append(suffix);
+            return;
+        }
+        // 与 java.util.Formatter 一致，-0.0 也输出负号
+        if (Double.doubleToRawLongBits(scaledValue) < 0) {
+            out.append('-');
+        }
+        double abs = Math.abs(scaledValue);
+        if (Double.isInfinite(abs)) {
+            out.append("Infinity").append(suffix);
+            return;
+        }
+
+        if (decimals < ValueFormatters.POW10.length) {
+            long unit = ValueFormatters.POW10[decimals];
+            double shifted = abs * unit;
+            if (shifted < FAST_PATH_LIMIT) {
+                double floor = Math.floor(shifted);
+                double fraction = shifted - floor;
+                // 远离 .5 边界时，二进制误差不会影响 HALF_UP 的结果
+                if (Math.abs(fraction - 0.5) > 4 * Math.ulp(shifted)) {
+                    long rounded = (long) floor + (fraction > 0.5 ? 1 : 0);
+                    ValueFormatters.appendDigits(out, rounded / unit, groupingSeparator, groupSize);
+                    if (decimals > 0) {
+                        out.append(decimalSeparator);
+                        ValueFormatters.appendFraction(out, rounded % unit, decimals);
+                    }
+                    out.append(suffix);
+                    return;
+                }
+            }
+        }
+
+        appendPlain(out, BigDecimal.valueOf(abs).setScale(decimals, RoundingMode.HALF_UP).toPlainString());
+        out.append(suffix);
+    }
+
+    @Override
+    public void formatOther(StringBuilder out, Number value) {
+        BigDecimal number = value instanceof BigInteger ? new BigDecimal((BigInteger) value) : (BigDecimal) value;
+        if (decimal == value instanceof BigInteger) {
+            // java.util.Formatter 不接受 BigInteger 的 %f 和 BigDecimal 的 %d，保持原样输出
+            out.append(value);
+            return;
+        }
+
+        number = number.multiply(BigDecimal.valueOf(multiplier));
+        out.append(prefix);
+        if (number.signum() < 0) {
+            out.append('-');
+        }
+        BigDecimal abs = number.abs();
+        appendPlain(out, decimal ? abs.setScale(decimals, RoundingMode.HALF_UP).toPlainString() : abs.toPlainString());
+        out.append(suffix);
+    }
+
+    /**
+     * 追加 "整数.小数" 形式的非负数字串，按需分组并替换小数点
+     */
+    private void appendPlain(StringBuilder out, String plain) {
+        int point = plain.indexOf('.');
+        int integerLength = point >= 0 ? point : plain.length();
+        for (int i = 0; i < integerLength; i++) {
+            int remaining = integerLength - i;
+            if (groupingSeparator != 0 && i > 0 && remaining % groupSize == 0) {
+                out.append(groupingSeparator);
+            }
+            out.append(plain.charAt(i));
+        }
+        if (point >= 0) {
+            out.append(decimalSeparator).append(plain, point + 1, plain.length());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package cn.langya.jtailwind.format;
+
+import java.util.IllegalFormatException;
+import java.util.Locale;
+
+/**
+ * 通用 {@link java.util.Formatter} 格式化器
+ * <p>
+ * 用于快速路径无法识别的格式，编译时已校验格式合法，
+ * 格式化时数值类型与格式不匹配则原样输出数值。
+ *
+ * @author LangYa466
+ * @date 2025/2/14
+ */
+final class PatternFormatter implements ValueFormatter {
+
+    private final String pattern;
+
+    private final Locale locale;
+
+    private PatternFormatter(String pattern, Locale locale) {
+        this.pattern = pattern;
+        this.locale = locale;
+    }
+
+    /**
+     * 校验并创建格式化器
+     *
+     * @param pattern 格式字符串
+     * @param locale 区域设置
+     * @return 格式化器
+     * @throws IllegalArgumentException 格式无效时抛出
+     */
+    static PatternFormatter validate(String pattern, Locale locale) {
+        if (!ValueFormatters.accepts(pattern, locale)) {
+            throw new IllegalArgumentException("无效的格式字符串: " + pattern);
+        }
+        return new PatternFormatter(pattern, locale);
+    }
+
+    @Override
+    public void formatTo(StringBuilder out, long value) {
+        formatOther(out, value);
+    }
+
+    @Override
+    public void formatTo(StringBuilder out, double value) {
+        formatOther(out, value);
+    }
+
+    @Override
+    public void formatTo(StringBuilder out, Number value) {
+        // 保留原始装箱类型，%c 等转换对 Integer 和 Long 的处理不同
+        formatOther(out, value);
+    }
+
+    @Override
+    public void formatOther(StringBuilder out, Number value) {
+        try {
+            out.append(String.format(locale, pattern, value));
+        } catch (IllegalFormatException e) {
+            out.append(value);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package cn.langya.jtailwind.format;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * 预编译的数值格式化器
+ * <p>
+ * 由 {@link ValueFormatters#compile(String)} 创建，实例不可变，可被多个线程共享。
+ * 基本类型重载直接写入调用方提供的缓冲区，不产生中间对象。
+ *
+ * @author LangYa466
+ * @date 2025/2/14
+ */
+public interface ValueFormatter {
+
+    /**
+     * 格式化整数
+     *
+     * @param out 输出缓冲
+     * @param value 数值
+     */
+    void formatTo(StringBuilder out, long value);
+
+    /**
+     * 格式化浮点数
+     *
+     * @param out 输出缓冲
+     * @param value 数值
+     */
+    void formatTo(StringBuilder out, double value);
+
+    /**
+     * 格式化 BigDecimal、BigInteger 等无法无损转换为基本类型的数值
+     *
+     * @param out 输出缓冲
+     * @param value 数值
+     */
+    void formatOther(StringBuilder out, Number value);
+
+    /**
+     * 格式化任意数值
+     *
+     * @param out 输出缓冲
+     * @param value 数值
+     */
+    default void formatTo(StringBuilder out, Number value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            formatTo(out, value.longValue());
+        } else if (value instanceof Double) {
+            formatTo(out, value.doubleValue());
+        } else if (value instanceof Float) {
+            // 与 java.util.Formatter 一致，把 float 直接拓宽为 double 后格式化
+            formatTo(out, (double) value.floatValue());
+        } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+            formatOther(out, value);
+        } else {
+            formatTo(out, value.doubleValue());
+        }
+    }
+
+    /**
+     * 格式化任意数值并返回字符串
+     *
+     * @param value 数值
+     * @return 格式化结果
+     */
+    default String format(Number value) {
+        StringBuilder out = ValueFormatters.scratch();
+        formatTo(out, value);
+        return out.toString();
+    }
+}
@@ -0,0 +1,243 @@
+package cn.langya.jtailwind.format;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.IllegalFormatException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 格式化器工厂
+ * <p>
+ * 支持的格式：
+ * <ul>
+ *     <li>printf 风格的单个数值占位符：{@code %d}、{@code %,d}、{@code %f}、{@code %.2f}、{@code %,.2f}，
+ *     前后可带任意文本 (例如 {@code ￥%,.2f}、{@code %.1f%%})，走快速路径</li>
+ *     <li>{@code percent} / {@code percent:N}：乘以100并保留N位小数，追加 {@code %}</li>
+ *     <li>{@code bytes} / {@code bytes:N}：按1024进位显示为 B、KB、MB、GB…，保留N位小数 (默认1位)</li>
+ *     <li>其他 {@link java.util.Formatter} 支持的格式：编译时校验，格式化时仍交给 {@code String.format}</li>
+ * </ul>
+ * 编译结果按格式字符串缓存，相同格式的组件共享同一个格式化器。
+ *
+ * @author LangYa466
+ * @date 2025/2/14
+ */
+public final class ValueFormatters {
+
+    /**
+     * 快速路径可识别的占位符
+     */
+    private static final Pattern SIMPLE_SPEC = Pattern.compile("%(,?)(?:\\.(\\d{1,2}))?([df])");
+
+    /**
+     * 具名格式
+     */
+    private static final Pattern NAMED = Pattern.compile("(percent|bytes)(?::(\\d{1,2}))?");
+
+    /**
+     * 已编译格式缓存
+     */
+    private static final Map<String, ValueFormatter> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 每线程复用的输出缓冲
+     */
+    private static final ThreadLocal<StringBuilder> SCRATCH = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    /**
+     * 输出缓冲超过该容量时丢弃，避免长期占用大数组
+     */
+    private static final int SCRATCH_LIMIT = 1024;
+
+    private ValueFormatters() {
+    }
+
+    /**
+     * 编译格式字符串
+     *
+     * @param pattern 格式字符串
+     * @return 格式化器
+     * @throws IllegalArgumentException 格式无效时抛出
+     */
+    public static ValueFormatter compile(String pattern) {
+        if (pattern == null || pattern.isEmpty()) {
+            throw new IllegalArgumentException("格式字符串不能为空");
+        }
+        ValueFormatter cached = CACHE.get(pattern);
+        if (cached != null) {
+            return cached;
+        }
+        ValueFormatter formatter = doCompile(pattern);
+        ValueFormatter previous = CACHE.putIfAbsent(pattern, formatter);
+        return previous != null ? previous : formatter;
+    }
+
+    private static ValueFormatter doCompile(String pattern) {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        // 非ASCII数字的区域设置交给 java.util.Formatter 处理
+        if (symbols.getZeroDigit() != '0') {
+            return PatternFormatter.validate(pattern, locale);
+        }
+
+        Matcher named = NAMED.matcher(pattern);
+        if (named.matches()) {
+            String digits = named.group(2);
+            if ("percent".equals(named.group(1))) {
+                int decimals = digits != null ? Integer.parseInt(digits) : 0;
+                return new DecimalFormatter("", "%", decimals, false, 100, true, symbols, 3);
+            }
+            int decimals = digits != null ? Integer.parseInt(digits) : 1;
+            return new ByteSizeFormatter(decimals, symbols);
+        }
+
+        DecimalFormatter simple = compileSimple(pattern, symbols, groupingSize(locale));
+        return simple != null ? simple : PatternFormatter.validate(pattern, locale);
+    }
+
+    /**
+     * 识别 "文本 + 单个简单占位符 + 文本" 的格式
+     *
+     * @return 快速路径格式化器，不符合时返回null
+     */
+    private static DecimalFormatter compileSimple(String pattern, DecimalFormatSymbols symbols, int groupSize) {
+        StringBuilder prefix = new StringBuilder();
+        StringBuilder suffix = new StringBuilder();
+        Matcher spec = null;
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c != '%') {
+                (spec == null ? prefix : suffix).append(c);
+                i++;
+                continue;
+            }
+            if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '%') {
+                (spec == null ? prefix : suffix).append('%');
+                i += 2;
+                continue;
+            }
+            if (spec != null) {
+                // 多个占位符
+                return null;
+            }
+            Matcher matcher = SIMPLE_SPEC.matcher(pattern);
+            matcher.region(i, pattern.length());
+            if (!matcher.lookingAt()) {
+                return null;
+            }
+            spec = matcher;
+            i = matcher.end();
+        }
+        if (spec == null) {
+            return null;
+        }
+
+        boolean grouping = !spec.group(1).isEmpty();
+        boolean decimal = "f".equals(spec.group(3));
+        if (!decimal && spec.group(2) != null) {
+            // %.2d 在 java.util.Formatter 中是非法格式
+            return null;
+        }
+        int decimals = decimal ? (spec.group(2) != null ? Integer.parseInt(spec.group(2)) : 6) : 0;
+        return new DecimalFormatter(prefix.toString(), suffix.toString(), decimals, grouping, 1, decimal, symbols, groupSize);
+    }
+
+    /**
+     * 获取区域设置的分组大小，与 java.util.Formatter 的取值方式一致
+     */
+    private static int groupingSize(Locale locale) {
+        NumberFormat format = NumberFormat.getIntegerInstance(locale);
+        return format instanceof DecimalFormat ? ((DecimalFormat) format).getGroupingSize() : 3;
+    }
+
+    /**
+     * 获取当前线程的输出缓冲
+     *
+     * @return 已清空的缓冲
+     */
+    static StringBuilder scratch() {
+        StringBuilder builder = SCRATCH.get();
+        if (builder.capacity() > SCRATCH_LIMIT) {
+            builder = new StringBuilder(32);
+            SCRATCH.set(builder);
+        }
+        builder.setLength(0);
+        return builder;
+    }
+
+    /**
+     * 追加非负整数的十进制表示
+     *
+     * @param out 输出缓冲
+     * @param magnitude 非负整数
+     * @param grouping 分组分隔符，为0时不分组
+     * @param groupSize 分组大小
+     */
+    static void appendDigits(StringBuilder out, long magnitude, char grouping, int groupSize) {
+        int start = out.length();
+        int count = 0;
+        do {
+            if (grouping != 0 && count > 0 && count % groupSize == 0) {
+                out.append(grouping);
+            }
+            out.append((char) ('0' + magnitude % 10));
+            magnitude /= 10;
+            count++;
+        } while (magnitude > 0);
+        reverse(out, start, out.length() - 1);
+    }
+
+    /**
+     * 追加定长的小数部分 (左侧补0)
+     *
+     * @param out 输出缓冲
+     * @param fraction 小数部分的整数值
+     * @param decimals 位数
+     */
+    static void appendFraction(StringBuilder out, long fraction, int decimals) {
+        int start = out.length();
+        for (int i = 0; i < decimals; i++) {
+            out.append((char) ('0' + fraction % 10));
+            fraction /= 10;
+        }
+        reverse(out, start, out.length() - 1);
+    }
+
+    private static void reverse(StringBuilder out, int from, int to) {
+        while (from < to) {
+            char c = out.charAt(from);
+            out.setCharAt(from++, out.charAt(to));
+            out.setCharAt(to--, c);
+        }
+    }
+
+    /**
+     * 校验 java.util.Formatter 格式是否至少能格式化整数或浮点数之一
+     */
+    static boolean accepts(String pattern, Locale locale) {
+        boolean valid = false;
+        for (Object sample : new Object[]{1L, 1.0d}) {
+            try {
+                String.format(locale, pattern, sample);
+                valid = true;
+            } catch (IllegalFormatException e) {
+                // 继续尝试下一种类型
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * 10的幂
+     */
+    static final long[] POW10 = {
+        1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L,
+        10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L,
+        1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L
+    };
+}
@@ -0,0 +1,370 @@
+package cn.langya.jtailwind.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 前缀索引
+ * <p>
+ * 将词条按规范化后的键排序，键字符连续存放在一个 {@code char[]} 中，
+ * 权重和区间最大值线段树均使用 {@code int[]}。前缀查询先二分定位匹配区间，
+ * 再借助线段树按权重取出前k条，复杂度为 O(log n + k log k)，与词条总数基本无关。
+ * 索引构建完成后不可变，可被多个线程并发查询。
+ *
+ * @author LangYa466
+ * @date 2025/2/10
+ */
+public final class PrefixIndex {
+
+    /**
+     * 空索引
+     */
+    private static final PrefixIndex EMPTY = new Builder().build();
+
+    /**
+     * 原始词条 (按键排序)
+     */
+    private final String[] terms;
+
+    /**
+     * 规范化后的键字符
+     */
+    private final char[] keyChars;
+
+    /**
+     * 每个键在 keyChars 中的起始偏移，长度为 size + 1
+     */
+    private final int[] keyOffsets;
+
+    /**
+     * 词条权重
+     */
+    private final int[] weights;
+
+    /**
+     * 区间最大权重线段树，存放词条下标
+     */
+    private final int[] maxTree;
+
+    private PrefixIndex(String[] terms, char[] keyChars, int[] keyOffsets, int[] weights) {
+        this.terms = terms;
+        this.keyChars = keyChars;
+        this.keyOffsets = keyOffsets;
+        this.weights = weights;
+        this.maxTree = buildTree(weights);
+    }
+
+    /**
+     * 使用等权重词条构建索引，结果按字典序返回
+     *
+     * @param terms 词条集合
+     * @return 前缀索引
+     */
+    public static PrefixIndex of(Collection<String> terms) {
+        Builder builder = new Builder();
+        for (String term : terms) {
+            builder.add(term, 0);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 获取空索引
+     *
+     * @return 空索引
+     */
+    public static PrefixIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 创建构建器
+     *
+     * @return 构建器
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 词条数量
+     *
+     * @return 词条数量
+     */
+    public int size() {
+        return terms.length;
+    }
+
+    /**
+     * 查询以指定前缀开头的词条，按权重降序、字典序升序返回
+     *
+     * @param prefix 查询前缀
+     * @param limit 最大返回条数
+     * @return 匹配的词条
+     */
+    public List<String> search(String prefix, int limit) {
+        if (limit <= 0 || terms.length == 0 || prefix == null) {
+            return Collections.emptyList();
+        }
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int from = lowerBound(key);
+        int to = upperBound(key, from);
+        if (from >= to) {
+            return Collections.emptyList();
+        }
+
+        List<String> result = new ArrayList<>(Math.min(limit, to - from));
+        // 区间内只需取前k条时无需动用线段树
+        if (to - from <= limit) {
+            int[] order = topOfRange(from, to);
+            for (int index : order) {
+                result.add(terms[index]);
+            }
+            return result;
+        }
+
+        // 每个候选区间记录 [最大值下标, 区间起点, 区间终点]
+        PriorityQueue<int[]> candidates = new PriorityQueue<>(limit * 2 + 1, (a, b) -> compareIndex(a[0], b[0]));
+        candidates.add(new int[]{queryMax(from, to), from, to});
+        while (!candidates.isEmpty() && result.size() < limit) {
+            int[] candidate = candidates.poll();
+            int best = candidate[0];
+            result.add(terms[best]);
+            if (candidate[1] < best) {
+                candidates.add(new int[]{queryMax(candidate[1], best), candidate[1], best});
+            }
+            if (best + 1 < candidate[2]) {
+                candidates.add(new int[]{queryMax(best + 1, candidate[2]), best + 1, candidate[2]});
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 对小区间直接排序
+     *
+     * @param from 起点 (含)
+     * @param to 终点 (不含)
+     * @return 按权重排序后的下标
+     */
+    private int[] topOfRange(int from, int to) {
+        int[] order = new int[to - from];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = from + i;
+        }
+        // 插入排序，区间长度不超过返回条数
+        for (int i = 1; i < order.length; i++) {
+            int current = order[i];
+            int j = i - 1;
+            while (j >= 0 && compareIndex(order[j], current) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = current;
+        }
+        return order;
+    }
+
+    /**
+     * 比较两个词条的先后：权重高者在前，权重相同时下标小者在前
+     */
+    private int compareIndex(int a, int b) {
+        if (weights[a] != weights[b]) {
+            return weights[a] > weights[b] ? -1 : 1;
+        }
+        return Integer.compare(a, b);
+    }
+
+    /**
+     * 第一个键不小于前缀的位置
+     */
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareKey(mid, key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 第一个不以前缀开头的位置
+     */
+    private int upperBound(String key, int from) {
+        int low = from;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (startsWith(mid, key)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 比较第 index 个键与给定键
+     */
+    private int compareKey(int index, String key) {
+        int start = keyOffsets[index];
+        int length = keyOffsets[index + 1] - start;
+        int common = Math.min(length, key.length());
+        for (int i = 0; i < common; i++) {
+            char c = keyChars[start + i];
+            char k = key.charAt(i);
+            if (c != k) {
+                return c - k;
+            }
+        }
+        return length - key.length();
+    }
+
+    /**
+     * 判断第 index 个键是否以给定前缀开头
+     */
+    private boolean startsWith(int index, String prefix) {
+        int start = keyOffsets[index];
+        if (keyOffsets[index + 1] - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (keyChars[start + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 构建区间最大值线段树
+     */
+    private int[] buildTree(int[] weights) {
+        int n = weights.length;
+        int[] tree = new int[Math.max(2 * n, 2)];
+        for (int i = 0; i < n; i++) {
+            tree[n + i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            tree[i] = better(tree[2 * i], tree[2 * i + 1]);
+        }
+        return tree;
+    }
+
+    /**
+     * 查询区间 [from, to) 中权重最大的下标
+     */
+    private int queryMax(int from, int to) {
+        int n = weights.length;
+        int best = from;
+        for (int l = from + n, r = to + n; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                best = better(best, maxTree[l++]);
+            }
+            if ((r & 1) == 1) {
+                best = better(best, maxTree[--r]);
+            }
+        }
+        return best;
+    }
+
+    private int better(int a, int b) {
+        return compareIndex(a, b) <= 0 ? a : b;
+    }
+
+    /**
+     * 规范化查询键
+     *
+     * @param text 原始文本
+     * @return 规范化后的键
+     */
+    static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 前缀索引构建器
+     */
+    public static final class Builder {
+
+        /**
+         * 词条到权重的映射，重复词条保留最大权重
+         */
+        private final Map<String, Integer> entries = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 添加词条
+         *
+         * @param term 词条
+         * @param weight 权重，越大越靠前
+         * @return 当前构建器
+         */
+        public Builder add(String term, int weight) {
+            if (term == null || normalize(term).isEmpty()) {
+                return this;
+            }
+            entries.merge(term, weight, Math::max);
+            return this;
+        }
+
+        /**
+         * 构建索引
+         *
+         * @return 前缀索引
+         */
+        public PrefixIndex build() {
+            int size = entries.size();
+            String[][] pairs = new String[size][];
+            int i = 0;
+            for (String term : entries.keySet()) {
+                pairs[i++] = new String[]{normalize(term), term};
+            }
+            // 先按规范化键排序，键相同时按原始词条排序保证结果稳定
+            Arrays.sort(pairs, (a, b) -> {
+                int result = a[0].compareTo(b[0]);
+                return result != 0 ? result : a[1].compareTo(b[1]);
+            });
+
+            int totalChars = 0;
+            for (String[] pair : pairs) {
+                totalChars += pair[0].length();
+            }
+
+            String[] terms = new String[size];
+            char[] keyChars = new char[totalChars];
+            int[] keyOffsets = new int[size + 1];
+            int[] weights = new int[size];
+            int offset = 0;
+            for (i = 0; i < size; i++) {
+                String key = pairs[i][0];
+                terms[i] = pairs[i][1];
+                keyOffsets[i] = offset;
+                key.getChars(0, key.length(), keyChars, offset);
+                offset += key.length();
+                weights[i] = entries.get(terms[i]);
+            }
+            keyOffsets[size] = offset;
+            return new PrefixIndex(terms, keyChars, keyOffsets, weights);
+        }
+    }
+}
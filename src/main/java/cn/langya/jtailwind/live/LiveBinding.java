@@ -0,0 +1,186 @@
+package cn.langya.jtailwind.live;
+
+import cn.langya.jtailwind.components.DataDisplay;
+import cn.langya.jtailwind.core.ComponentMutation;
+
+import java.util.Objects;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 数据显示组件与数据源的绑定
+ * <p>
+ * 只由调度线程访问采样状态；取消绑定通过 volatile 标记通知调度线程。
+ *
+ * @author LangYa466
+ * @date 2025/2/17
+ */
+public final class LiveBinding {
+
+    /**
+     * 绑定的组件
+     */
+    private final DataDisplay display;
+
+    /**
+     * 对象数据源，与 doubleSupplier 二选一
+     */
+    private final Supplier<?> supplier;
+
+    /**
+     * 数值数据源
+     */
+    private final DoubleSupplier doubleSupplier;
+
+    /**
+     * 采样间隔 (纳秒)
+     */
+    private final long intervalNanos;
+
+    /**
+     * 下次采样时间，创建时即到期
+     */
+    private long nextSampleNanos;
+
+    /**
+     * 是否已发布过数值
+     */
+    private boolean published;
+
+    /**
+     * 上次发布的数值 (数值数据源)
+     */
+    private double lastNumber;
+
+    /**
+     * 上次发布的对象
+     */
+    private Object lastValue;
+
+    /**
+     * 是否已取消
+     */
+    private volatile boolean cancelled;
+
+    LiveBinding(DataDisplay display, Supplier<?> supplier, DoubleSupplier doubleSupplier, long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("采样间隔必须大于0: " + intervalMillis);
+        }
+        this.display = display;
+        this.supplier = supplier;
+        this.doubleSupplier = doubleSupplier;
+        this.intervalNanos = intervalMillis * 1_000_000L;
+        // System.nanoTime() 可能为负，不能以0作为初始值
+        this.nextSampleNanos = System.nanoTime();
+    }
+
+    /**
+     * 获取绑定的组件
+     *
+     * @return 数据显示组件
+     */
+    public DataDisplay getDisplay() {
+        return display;
+    }
+
+    /**
+     * 取消绑定，调度线程会在下一轮移除
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * 是否已取消
+     *
+     * @return 是否已取消
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 是否到达采样时间
+     */
+    boolean isDue(long now) {
+        return now - nextSampleNanos >= 0;
+    }
+
+    /**
+     * 采样并在数值变化超过阈值时更新组件
+     *
+     * @param now 当前时间 (纳秒)
+     * @return 需要发布的变更，未变化时返回null
+     */
+    ComponentMutation sample(long now) {
+        nextSampleNanos = now + intervalNanos;
+        if (doubleSupplier != null) {
+            double current = doubleSupplier.getAsDouble();
+            if (published && !numberChanged(lastNumber, current)) {
+                return null;
+            }
+            lastNumber = current;
+            return publish(current);
+        }
+
+        Object current = supplier.get();
+        if (published) {
+            boolean changed = current instanceof Number && lastValue instanceof Number
+                ? numberChanged(((Number) lastValue).doubleValue(), ((Number) current).doubleValue())
+                : !Objects.equals(lastValue, current);
+            if (!changed) {
+                return null;
+            }
+        }
+        lastValue = current;
+        return publish(current);
+    }
+
+    private ComponentMutation publish(Object value) {
+        published = true;
+        String formattedValue;
+        // 与 renderAsync、事件分发器对同一组件的修改使用同一把锁
+        synchronized (display) {
+            display.setValue(value);
+            formattedValue = display.getFormattedValue();
+        }
+        return new ComponentMutation(display.getId())
+            .put("value", value)
+            .put("formattedValue", formattedValue);
+    }
+
+    /**
+     * 与上次发布的数值比较，判断是否超过变化阈值
+     * <p>
+     * 未设置阈值时任何变化都发布；设置了变化量或有效数字阈值时，越过其中任意一个即发布。
+     */
+    private boolean numberChanged(double previous, double current) {
+        if (Double.compare(previous, current) == 0) {
+            return false;
+        }
+        if (Double.isNaN(previous) || Double.isNaN(current) || Double.isInfinite(previous) || Double.isInfinite(current)) {
+            return true;
+        }
+        double delta = display.getChangeDelta();
+        int digits = display.getSignificantDigits();
+        if (delta <= 0 && digits <= 0) {
+            return true;
+        }
+        if (delta > 0 && Math.abs(current - previous) >= delta) {
+            return true;
+        }
+        return digits > 0 && roundToSignificant(previous, digits) != roundToSignificant(current, digits);
+    }
+
+    /**
+     * 按有效数字位数舍入
+     */
+    static double roundToSignificant(double value, int digits) {
+        if (value == 0) {
+            return 0;
+        }
+        int exponent = digits - 1 - (int) Math.floor(Math.log10(Math.abs(value)));
+        double scale = Math.pow(10, exponent);
+        return Math.round(value * scale) / scale;
+    }
+}
@@ -0,0 +1,208 @@
+package cn.langya.jtailwind.live;
+
+import cn.langya.jtailwind.components.DataDisplay;
+import cn.langya.jtailwind.core.ComponentMutation;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 实时数据采样调度器
+ * <p>
+ * 所有绑定由一个调度线程按固定节拍轮询，到期的绑定依次采样，
+ * 一轮中产生的变更合并为一批交给监听器，只有数值真正变化 (或超过阈值) 时才产生变更。
+ *
+ * @author LangYa466
+ * @date 2025/2/17
+ */
+@Slf4j
+public class LiveScheduler {
+
+    /**
+     * 默认节拍 (毫秒)
+     */
+    private static final long DEFAULT_TICK_MILLIS = 50;
+
+    /**
+     * 共享实例
+     */
+    private static volatile LiveScheduler shared;
+
+    /**
+     * 节拍 (毫秒)
+     */
+    private final long tickMillis;
+
+    /**
+     * 绑定列表，注册较少、遍历频繁
+     */
+    private final List<LiveBinding> bindings = new CopyOnWriteArrayList<>();
+
+    /**
+     * 变更监听器
+     */
+    private final List<Consumer<List<ComponentMutation>>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 调度线程
+     */
+    private final ScheduledExecutorService executor;
+
+    /**
+     * 轮询任务
+     */
+    private ScheduledFuture<?> task;
+
+    /**
+     * 构造函数
+     *
+     * @param tickMillis 节拍 (毫秒)，决定采样间隔的最小精度
+     */
+    public LiveScheduler(long tickMillis) {
+        this.tickMillis = tickMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jtailwind-live");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 获取共享调度器
+     *
+     * @return 共享调度器
+     */
+    public static LiveScheduler shared() {
+        if (shared == null) {
+            synchronized (LiveScheduler.class) {
+                if (shared == null) {
+                    shared = new LiveScheduler(DEFAULT_TICK_MILLIS);
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * 绑定对象数据源
+     *
+     * @param display 数据显示组件
+     * @param supplier 数据源
+     * @param intervalMillis 采样间隔 (毫秒)
+     * @return 绑定
+     */
+    public LiveBinding bind(DataDisplay display, Supplier<?> supplier, long intervalMillis) {
+        return register(new LiveBinding(display, supplier, null, intervalMillis));
+    }
+
+    /**
+     * 绑定数值数据源
+     *
+     * @param display 数据显示组件
+     * @param supplier 数据源
+     * @param intervalMillis 采样间隔 (毫秒)
+     * @return 绑定
+     */
+    public LiveBinding bind(DataDisplay display, DoubleSupplier supplier, long intervalMillis) {
+        return register(new LiveBinding(display, null, supplier, intervalMillis));
+    }
+
+    private synchronized LiveBinding register(LiveBinding binding) {
+        bindings.add(binding);
+        if (task == null) {
+            task = executor.scheduleWithFixedDelay(this::tick, 0, tickMillis, TimeUnit.MILLISECONDS);
+        }
+        return binding;
+    }
+
+    /**
+     * 添加变更监听器，每轮采样产生的变更作为一批回调
+     *
+     * @param listener 监听器
+     * @return 当前调度器
+     */
+    public LiveScheduler addListener(Consumer<List<ComponentMutation>> listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * 移除变更监听器
+     *
+     * @param listener 监听器
+     */
+    public void removeListener(Consumer<List<ComponentMutation>> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 当前绑定数量
+     *
+     * @return 绑定数量
+     */
+    public int size() {
+        return bindings.size();
+    }
+
+    /**
+     * 停止调度线程
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 一轮采样
+     */
+    private void tick() {
+        long now = System.nanoTime();
+        List<ComponentMutation> batch = null;
+        List<LiveBinding> cancelled = null;
+        for (LiveBinding binding : bindings) {
+            if (binding.isCancelled()) {
+                if (cancelled == null) {
+                    cancelled = new ArrayList<>();
+                }
+                cancelled.add(binding);
+                continue;
+            }
+            if (!binding.isDue(now)) {
+                continue;
+            }
+            try {
+                ComponentMutation mutation = binding.sample(now);
+                if (mutation != null) {
+                    if (batch == null) {
+                        batch = new ArrayList<>();
+                    }
+                    batch.add(mutation);
+                }
+            } catch (RuntimeException e) {
+                log.warn("组件 {} 采样失败", binding.getDisplay().getId(), e);
+            }
+        }
+        if (cancelled != null) {
+            bindings.removeAll(cancelled);
+        }
+        if (batch != null) {
+            List<ComponentMutation> published = Collections.unmodifiableList(batch);
+            for (Consumer<List<ComponentMutation>> listener : listeners) {
+                try {
+                    listener.accept(published);
+                } catch (RuntimeException e) {
+                    log.warn("实时数据监听器处理失败", e);
+                }
+            }
+        }
+    }
+}
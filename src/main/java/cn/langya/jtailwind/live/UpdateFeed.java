@@ -0,0 +1,79 @@
+package cn.langya.jtailwind.live;
+
+import cn.langya.jtailwind.core.ComponentMutation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 组件变更队列
+ * <p>
+ * 按序号保存最近的变更，浏览器端带上已收到的序号轮询，
+ * 同一组件的多次变更只返回最新的一次。
+ *
+ * @author LangYa466
+ * @date 2025/2/17
+ */
+public class UpdateFeed {
+
+    /**
+     * 保留的变更条数
+     */
+    private final ComponentMutation[] ring;
+
+    /**
+     * 已发布的变更总数，即最新变更的序号
+     */
+    private long sequence;
+
+    /**
+     * 构造函数
+     *
+     * @param capacity 保留的变更条数
+     */
+    public UpdateFeed(int capacity) {
+        this.ring = new ComponentMutation[capacity];
+    }
+
+    /**
+     * 发布一批变更
+     *
+     * @param mutations 变更
+     */
+    public synchronized void publish(List<ComponentMutation> mutations) {
+        for (ComponentMutation mutation : mutations) {
+            ring[(int) (sequence % ring.length)] = mutation;
+            sequence++;
+        }
+    }
+
+    /**
+     * 最新序号
+     *
+     * @return 序号
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * 获取指定序号之后的变更，同一组件只保留最新一次
+     *
+     * @param since 已收到的序号
+     * @return 变更列表
+     */
+    public synchronized List<ComponentMutation> since(long since) {
+        // 序号超前说明客户端来自重启前的服务器，从头返回
+        long start = since > sequence ? 0 : Math.max(since, 0);
+        long from = Math.max(start, sequence - ring.length);
+        Map<String, ComponentMutation> latest = new LinkedHashMap<>();
+        for (long seq = from; seq < sequence; seq++) {
+            ComponentMutation mutation = ring[(int) (seq % ring.length)];
+            latest.remove(mutation.getComponentId());
+            latest.put(mutation.getComponentId(), mutation);
+        }
+        return new ArrayList<>(latest.values());
+    }
+}
@@ -0,0 +1,691 @@
+package cn.langya.jtailwind.persist;
+
+import cn.langya.jtailwind.core.ComponentMutation;
+import cn.langya.jtailwind.core.JsonContext;
+import cn.langya.jtailwind.core.UIComponent;
+import cn.langya.jtailwind.renderer.PageRenderer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * 组件状态的快照加日志持久化
+ * <p>
+ * 每个已应用的组件变更按序号追加到内存映射的日志分段中，写入路径只有一次序列化和一次内存复制；
+ * 内存中按组件合并出最新状态，定期在后台写出紧凑的快照，快照完成后删除已被覆盖的日志分段。
+ * 打开时先读取快照，再顺序扫描其后的日志恢复状态，遇到未写完或校验失败的记录即停止。
+ * <p>
+ * 恢复按组件ID进行，需要持久化的组件应通过 {@link UIComponent#setId(String)} 设置固定的ID。
+ *
+ * <pre>{@code
+ * StateJournal journal = StateJournal.open(Paths.get("data/state"))
+ *     .setSyncPolicy(StateJournal.SyncPolicy.BATCH, 50);
+ * journal.restoreTo(renderer);
+ * renderer.events().addListener(journal::append);
+ * }</pre>
+ *
+ * @author LangYa466
+ * @date 2025/3/11
+ */
+@Slf4j
+public class StateJournal implements Closeable {
+
+    /**
+     * 刷盘策略
+     */
+    public enum SyncPolicy {
+        /**
+         * 由操作系统决定何时写回，进程崩溃不丢数据，断电可能丢失最近的变更
+         */
+        NONE,
+        /**
+         * 按固定间隔在后台批量刷盘，断电最多丢失一个间隔内的变更
+         */
+        BATCH,
+        /**
+         * 每次追加后立即刷盘
+         */
+        ALWAYS
+    }
+
+    /**
+     * 默认日志分段大小
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * 默认每追加多少条变更写一次快照
+     */
+    public static final int DEFAULT_SNAPSHOT_THRESHOLD = 100_000;
+
+    /**
+     * 快照文件名
+     */
+    private static final String SNAPSHOT_FILE = "state.snapshot";
+
+    /**
+     * 日志分段文件名前缀，后接零填充的起始序号
+     */
+    private static final String SEGMENT_PREFIX = "journal-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /**
+     * 记录头: 长度、校验和 (覆盖序号和内容)、序号
+     */
+    private static final int RECORD_HEADER = 4 + 4 + 8;
+
+    private static final ObjectReader TREE_READER = JsonContext.shared().readerFor(JsonNode.class);
+
+    private static final ObjectWriter MUTATION_WRITER = JsonContext.shared().writerFor(ComponentMutation.class);
+
+    private static final ObjectReader MAP_READER = JsonContext.shared().readerFor(Map.class);
+
+    /**
+     * 存放快照和日志的目录
+     */
+    private final Path directory;
+
+    /**
+     * 日志分段大小
+     */
+    private final int segmentSize;
+
+    /**
+     * 后台刷盘和写快照的线程
+     */
+    private final ScheduledExecutorService background;
+
+    /**
+     * 组件ID到合并后的最新状态
+     */
+    private final Map<String, State> state = new HashMap<>();
+
+    private final CRC32 crc = new CRC32();
+
+    private volatile SyncPolicy syncPolicy = SyncPolicy.BATCH;
+
+    /**
+     * BATCH 策略的刷盘间隔 (毫秒)
+     */
+    private volatile long syncIntervalMillis = 100;
+
+    private volatile int snapshotThreshold = DEFAULT_SNAPSHOT_THRESHOLD;
+
+    /**
+     * 当前写入的分段
+     */
+    private MappedByteBuffer segment;
+
+    /**
+     * 当前分段的起始序号
+     */
+    private long segmentStart;
+
+    /**
+     * 最新变更的序号
+     */
+    private long sequence;
+
+    /**
+     * 最近一次完成的快照覆盖到的序号
+     */
+    private volatile long snapshotSequence;
+
+    /**
+     * 快照代数，状态被快照引用后再次修改时先复制
+     */
+    private long epoch;
+
+    /**
+     * 上次快照后追加的变更数
+     */
+    private long sinceSnapshot;
+
+    private boolean snapshotRunning;
+
+    private boolean dirty;
+
+    private long syncCount;
+
+    private boolean closed;
+
+    private StateJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jtailwind-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 打开目录中的持久化状态，使用默认分段大小
+     *
+     * @param directory 目录，不存在时创建
+     * @return 已恢复状态的日志
+     * @throws IOException 读取或创建文件失败
+     */
+    public static StateJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * 打开目录中的持久化状态
+     *
+     * @param directory 目录，不存在时创建
+     * @param segmentSize 日志分段大小 (字节)
+     * @return 已恢复状态的日志
+     * @throws IOException 读取或创建文件失败
+     */
+    public static StateJournal open(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("日志分段过小: " + segmentSize);
+        }
+        Files.createDirectories(directory);
+        StateJournal journal = new StateJournal(directory, segmentSize);
+        long replayed = journal.recover();
+        synchronized (journal) {
+            journal.startSegment(journal.sequence + 1);
+        }
+        journal.scheduleSync();
+        if (replayed > 0) {
+            // 把恢复出的日志合并进快照，下次启动不必再扫描
+            journal.background.execute(journal::snapshotQuietly);
+        }
+        log.info("组件状态已恢复: {} 个组件，序号 {}，重放日志 {} 条", journal.size(), journal.getSequence(), replayed);
+        return journal;
+    }
+
+    /**
+     * 设置刷盘策略
+     *
+     * @param syncPolicy 刷盘策略
+     * @param intervalMillis {@link SyncPolicy#BATCH} 的刷盘间隔 (毫秒)
+     * @return 当前日志
+     */
+    public StateJournal setSyncPolicy(SyncPolicy syncPolicy, long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("刷盘间隔必须大于0: " + intervalMillis);
+        }
+        this.syncPolicy = syncPolicy;
+        this.syncIntervalMillis = intervalMillis;
+        return this;
+    }
+
+    /**
+     * 设置写快照的间隔
+     *
+     * @param snapshotThreshold 每追加多少条变更写一次快照
+     * @return 当前日志
+     */
+    public StateJournal setSnapshotThreshold(int snapshotThreshold) {
+        this.snapshotThreshold = snapshotThreshold;
+        return this;
+    }
+
+    /**
+     * 追加一批变更
+     *
+     * @param mutations 变更
+     */
+    public void append(List<ComponentMutation> mutations) {
+        for (ComponentMutation mutation : mutations) {
+            append(mutation);
+        }
+    }
+
+    /**
+     * 追加一个变更并合并到内存状态
+     *
+     * @param mutation 变更
+     * @throws UncheckedIOException 变更无法序列化或创建日志分段失败时抛出
+     */
+    public void append(ComponentMutation mutation) {
+        if (mutation.getComponentId() == null || mutation.getChanges().isEmpty()) {
+            return;
+        }
+        byte[] payload;
+        try {
+            payload = MUTATION_WRITER.writeValueAsBytes(mutation);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ObjectNode changes = JsonContext.shared().valueToTree(mutation.getChanges());
+        if (payload.length + RECORD_HEADER + 4 > segmentSize) {
+            throw new IllegalArgumentException("变更过大: " + payload.length + " 字节");
+        }
+
+        boolean snapshotDue;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("日志已关闭");
+            }
+            if (segment.remaining() < payload.length + RECORD_HEADER + 4) {
+                rotate();
+            }
+            long seq = ++sequence;
+            int checksum = checksum(crc, seq, payload);
+            segment.putInt(payload.length)
+                .putInt(checksum)
+                .putLong(seq)
+                .put(payload);
+            // 结束标记，下一条记录覆盖它
+            segment.putInt(segment.position(), 0);
+            merge(mutation.getComponentId(), changes);
+            dirty = true;
+            snapshotDue = ++sinceSnapshot >= snapshotThreshold && !snapshotRunning;
+            if (syncPolicy == SyncPolicy.ALWAYS) {
+                segment.force();
+                dirty = false;
+                syncCount++;
+            }
+        }
+        if (snapshotDue) {
+            background.execute(this::snapshotQuietly);
+        }
+    }
+
+    /**
+     * 把恢复的状态应用到页面中ID相同的组件
+     * <p>
+     * 与 {@link cn.langya.jtailwind.renderer.SessionOverlay#set} 一样不允许改变组件ID或类型，
+     * 含有这两个属性的状态整条忽略。
+     *
+     * @param renderer 页面渲染器
+     * @return 应用了状态的组件数
+     */
+    public int restoreTo(PageRenderer renderer) {
+        Map<String, ObjectNode> current = new HashMap<>();
+        synchronized (this) {
+            for (Map.Entry<String, State> entry : state.entrySet()) {
+                current.put(entry.getKey(), entry.getValue().properties.deepCopy());
+            }
+        }
+        int restored = 0;
+        for (Map.Entry<String, ObjectNode> entry : current.entrySet()) {
+            UIComponent component = renderer.findComponent(entry.getKey());
+            if (component == null) {
+                continue;
+            }
+            ObjectNode properties = entry.getValue();
+            if (properties.has("id") || properties.has("type")) {
+                log.warn("忽略组件 {} 的状态: 不能恢复组件的id或type", entry.getKey());
+                continue;
+            }
+            try {
+                Map<String, Object> changes = MAP_READER.readValue(properties);
+                synchronized (component) {
+                    JsonContext.shared().applyChanges(component, changes);
+                }
+                restored++;
+            } catch (IOException e) {
+                log.warn("恢复组件 {} 的状态失败: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        return restored;
+    }
+
+    /**
+     * 组件的最新持久化状态
+     *
+     * @param componentId 组件ID
+     * @return 属性的副本，没有记录时返回null
+     */
+    public synchronized ObjectNode get(String componentId) {
+        State current = state.get(componentId);
+        return current != null ? current.properties.deepCopy() : null;
+    }
+
+    /**
+     * 有持久化状态的组件ID
+     *
+     * @return 组件ID的副本
+     */
+    public synchronized Set<String> componentIds() {
+        return new LinkedHashSet<>(state.keySet());
+    }
+
+    /**
+     * 有持久化状态的组件数
+     *
+     * @return 组件数
+     */
+    public synchronized int size() {
+        return state.size();
+    }
+
+    /**
+     * 最新变更的序号
+     *
+     * @return 序号
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * 最近一次完成的快照覆盖到的序号
+     *
+     * @return 序号
+     */
+    public long getSnapshotSequence() {
+        return snapshotSequence;
+    }
+
+    /**
+     * 累计刷盘次数
+     *
+     * @return 次数
+     */
+    public synchronized long getSyncCount() {
+        return syncCount;
+    }
+
+    /**
+     * 立即写快照，并删除已被快照覆盖的日志分段
+     *
+     * @throws IOException 写入失败
+     */
+    public void snapshot() throws IOException {
+        long covered;
+        long keepFrom;
+        Map<String, State> copy;
+        synchronized (this) {
+            if (snapshotRunning || closed) {
+                return;
+            }
+            snapshotRunning = true;
+            covered = sequence;
+            copy = new HashMap<>(state);
+            // 之后的修改先复制状态，快照引用的对象保持不变
+            epoch++;
+            sinceSnapshot = 0;
+            if (segment.position() > 0) {
+                rotate();
+            }
+            keepFrom = segmentStart;
+        }
+        try {
+            writeSnapshot(covered, copy);
+            snapshotSequence = covered;
+            deleteSegmentsBefore(keepFrom);
+        } finally {
+            synchronized (this) {
+                snapshotRunning = false;
+            }
+        }
+    }
+
+    /**
+     * 刷盘并关闭，之后不可再追加
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            segment.force();
+            syncCount++;
+            closed = true;
+        }
+        background.shutdown();
+        try {
+            background.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException e) {
+            log.warn("写组件状态快照失败", e);
+        }
+    }
+
+    private void merge(String componentId, ObjectNode changes) {
+        State current = state.get(componentId);
+        if (current == null) {
+            state.put(componentId, new State(changes, epoch));
+            return;
+        }
+        if (current.epoch != epoch) {
+            // 旧对象仍被正在写出的快照引用
+            current = new State(current.properties.deepCopy(), epoch);
+            state.put(componentId, current);
+        }
+        current.properties.setAll(changes);
+    }
+
+    private void scheduleSync() {
+        background.schedule(new Runnable() {
+            @Override
+            public void run() {
+                MappedByteBuffer toSync = null;
+                synchronized (StateJournal.this) {
+                    if (closed) {
+                        return;
+                    }
+                    if (syncPolicy == SyncPolicy.BATCH && dirty) {
+                        toSync = segment;
+                        dirty = false;
+                        syncCount++;
+                    }
+                }
+                if (toSync != null) {
+                    toSync.force();
+                }
+                background.schedule(this, syncIntervalMillis, TimeUnit.MILLISECONDS);
+            }
+        }, syncIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 结束当前分段并开始新分段，旧分段在后台刷盘，不阻塞追加
+     */
+    private void rotate() {
+        MappedByteBuffer previous = segment;
+        startSegment(sequence + 1);
+        if (syncPolicy != SyncPolicy.NONE) {
+            syncCount++;
+            background.execute(previous::force);
+        }
+    }
+
+    private void startSegment(long start) {
+        Path path = directory.resolve(segmentName(start));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("创建日志分段失败: " + path, e);
+        }
+        segmentStart = start;
+        dirty = false;
+    }
+
+    /**
+     * 读取快照并重放其后的日志
+     *
+     * @return 重放的变更数
+     */
+    private long recover() throws IOException {
+        Path snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshotPath)) {
+            try (BufferedReader reader = Files.newBufferedReader(snapshotPath, StandardCharsets.UTF_8)) {
+                JsonNode header = TREE_READER.readValue(reader.readLine());
+                sequence = header.get("sequence").asLong();
+                snapshotSequence = sequence;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    JsonNode entry = TREE_READER.readValue(line);
+                    state.put(entry.get("id").asText(), new State((ObjectNode) entry.get("properties"), epoch));
+                }
+            }
+        }
+
+        long replayed = 0;
+        for (Path path : segments()) {
+            replayed += replay(path);
+        }
+        return replayed;
+    }
+
+    /**
+     * 顺序扫描一个日志分段
+     */
+    private long replay(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        long replayed = 0;
+        CRC32 check = new CRC32();
+        while (buffer.remaining() >= RECORD_HEADER) {
+            int length = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining() - 12) {
+                break;
+            }
+            int checksum = buffer.getInt();
+            long seq = buffer.getLong();
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            if (checksum(check, seq, payload) != checksum) {
+                log.warn("日志 {} 在序号 {} 之后校验失败，忽略其后的记录", path.getFileName(), sequence);
+                break;
+            }
+            if (seq <= sequence) {
+                // 已包含在快照中
+                continue;
+            }
+            JsonNode record = TREE_READER.readValue(payload);
+            merge(record.get("componentId").asText(), (ObjectNode) record.get("changes"));
+            sequence = seq;
+            replayed++;
+        }
+        return replayed;
+    }
+
+    private void writeSnapshot(long covered, Map<String, State> copy) throws IOException {
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        JsonContext json = JsonContext.shared();
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             OutputStream out = new BufferedOutputStream(file, 64 * 1024)) {
+            out.write(("{\"sequence\":" + covered + ",\"components\":" + copy.size() + "}\n").getBytes(StandardCharsets.UTF_8));
+            for (Map.Entry<String, State> entry : copy.entrySet()) {
+                out.write("{\"id\":".getBytes(StandardCharsets.UTF_8));
+                out.write(json.writeValueAsBytes(entry.getKey()));
+                out.write(",\"properties\":".getBytes(StandardCharsets.UTF_8));
+                out.write(json.writeValueAsBytes(entry.getValue().properties));
+                out.write('}');
+                out.write('\n');
+            }
+            out.flush();
+            file.getChannel().force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteSegmentsBefore(long start) {
+        try {
+            for (Path path : segments()) {
+                if (segmentStart(path) < start) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("删除已合并的日志分段失败", e);
+        }
+    }
+
+    /**
+     * 按起始序号排列的日志分段
+     */
+    private List<Path> segments() throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                paths.add(path);
+            }
+        }
+        // 文件名中的序号已零填充，按名称排序即按序号排序
+        Collections.sort(paths);
+        return paths;
+    }
+
+    /**
+     * 记录的校验和，覆盖序号和内容
+     */
+    private static int checksum(CRC32 crc, long seq, byte[] payload) {
+        crc.reset();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (seq >>> shift));
+        }
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue();
+    }
+
+    private static String segmentName(long start) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, start, SEGMENT_SUFFIX);
+    }
+
+    private static long segmentStart(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * 组件的合并状态
+     */
+    private static final class State {
+
+        /**
+         * 属性
+         */
+        final ObjectNode properties;
+
+        /**
+         * 创建时的快照代数
+         */
+        final long epoch;
+
+        State(ObjectNode properties, long epoch) {
+            this.properties = properties;
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package cn.langya.jtailwind.renderer;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 直接缓冲区池
+ * <p>
+ * 渲染结果按固定大小的直接缓冲区分块写入，写出后归还复用，避免为每个请求在堆上分配整页字节数组。
+ * 池中最多保留 {@code capacity} 个空闲缓冲区，池空时临时分配并计为一次未命中，
+ * 池满时归还的缓冲区直接丢弃。
+ *
+ * @author LangYa466
+ * @date 2025/3/5
+ */
+public class BufferPool {
+
+    /**
+     * 默认缓冲区大小
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 16 * 1024;
+
+    /**
+     * 默认最多保留的空闲缓冲区数
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final BufferPool SHARED = new BufferPool(DEFAULT_CHUNK_SIZE, DEFAULT_CAPACITY);
+
+    /**
+     * 缓冲区大小
+     */
+    private final int chunkSize;
+
+    /**
+     * 最多保留的空闲缓冲区数
+     */
+    private final int capacity;
+
+    /**
+     * 空闲缓冲区
+     */
+    private final ConcurrentLinkedQueue<ByteBuffer> idle = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 空闲缓冲区数 (队列的 size() 需要遍历)
+     */
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    /**
+     * 借出未归还的缓冲区数
+     */
+    private final AtomicInteger inUse = new AtomicInteger();
+
+    /**
+     * 借出次数
+     */
+    private final AtomicLong acquires = new AtomicLong();
+
+    /**
+     * 池空时新分配的次数
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * 构造函数
+     *
+     * @param chunkSize 缓冲区大小 (字节)
+     * @param capacity 最多保留的空闲缓冲区数
+     */
+    public BufferPool(int chunkSize, int capacity) {
+        if (chunkSize < 16) {
+            throw new IllegalArgumentException("缓冲区过小: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        this.capacity = capacity;
+    }
+
+    /**
+     * 获取共享的缓冲区池
+     *
+     * @return 缓冲区池
+     */
+    public static BufferPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * 借出一个已清空的缓冲区
+     *
+     * @return 直接缓冲区
+     */
+    public ByteBuffer acquire() {
+        acquires.incrementAndGet();
+        inUse.incrementAndGet();
+        ByteBuffer buffer = idle.poll();
+        if (buffer != null) {
+            idleCount.decrementAndGet();
+            ((Buffer) buffer).clear();
+            return buffer;
+        }
+        misses.incrementAndGet();
+        return ByteBuffer.allocateDirect(chunkSize);
+    }
+
+    /**
+     * 归还缓冲区
+     *
+     * @param buffer 由 {@link #acquire()} 借出的缓冲区
+     */
+    public void release(ByteBuffer buffer) {
+        inUse.decrementAndGet();
+        if (idleCount.incrementAndGet() <= capacity) {
+            idle.offer(buffer);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * 缓冲区大小
+     *
+     * @return 字节数
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * 最多保留的空闲缓冲区数
+     *
+     * @return 缓冲区数
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 当前空闲的缓冲区数
+     *
+     * @return 缓冲区数
+     */
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+
+    /**
+     * 当前借出未归还的缓冲区数
+     *
+     * @return 缓冲区数
+     */
+    public int getInUseCount() {
+        return inUse.get();
+    }
+
+    /**
+     * 累计借出次数
+     *
+     * @return 次数
+     */
+    public long getAcquireCount() {
+        return acquires.get();
+    }
+
+    /**
+     * 累计未命中 (池空时新分配) 次数
+     *
+     * @return 次数
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @Override
+    public String toString() {
+        return "BufferPool{chunkSize=" + chunkSize + ", idle=" + getIdleCount() + "/" + capacity
+            + ", inUse=" + getInUseCount() + ", acquires=" + getAcquireCount() + ", misses=" + getMissCount() + "}";
+    }
+}
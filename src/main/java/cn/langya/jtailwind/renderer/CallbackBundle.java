@@ -0,0 +1,228 @@
+package cn.langya.jtailwind.renderer;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 回调函数脚本包
+ * <p>
+ * 一组回调函数按名称排序后拼接并压缩空白，内容相同的回调集合在所有渲染器间共享同一个实例，
+ * 同时缓存UTF-8字节，可内联到页面，也可作为带指纹的共享脚本单独提供。
+ * 最近创建或提供过的脚本包始终强引用保留，渲染器已不再引用后，浏览器缓存的旧页面仍能取到脚本。
+ * <p>
+ * 压缩只去除每行首尾空白、空行和独占一行的 {@code //} 注释，保留换行，
+ * 不影响自动分号插入；跨行的模板字符串中的行首缩进也会被去除。
+ *
+ * @author LangYa466
+ * @date 2025/3/3
+ */
+@Getter
+public final class CallbackBundle {
+
+    /**
+     * 共享脚本的路径前缀
+     */
+    public static final String ASSET_PREFIX = "/assets/callbacks.";
+
+    /**
+     * 已创建的脚本包，键为内容哈希；不再被渲染器引用且不在最近使用范围内的脚本包可被回收
+     */
+    private static final Map<String, WeakReference<CallbackBundle>> BUNDLES = new ConcurrentHashMap<>();
+
+    /**
+     * 强引用保留的脚本包数量
+     */
+    private static final int RECENT_CAPACITY = 64;
+
+    /**
+     * 最近创建或提供过的脚本包 (按访问顺序)，超出容量时淘汰最久未用的
+     */
+    private static final Map<String, CallbackBundle> RECENT = new LinkedHashMap<String, CallbackBundle>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CallbackBundle> eldest) {
+            return size() > RECENT_CAPACITY;
+        }
+    };
+
+    /**
+     * 空脚本包
+     */
+    private static final CallbackBundle EMPTY = new CallbackBundle("", "");
+
+    /**
+     * 内容哈希 (十六进制)
+     */
+    private final String hash;
+
+    /**
+     * 压缩后的脚本
+     */
+    private final String script;
+
+    /**
+     * 压缩后脚本的UTF-8字节
+     */
+    @Getter(AccessLevel.NONE)
+    private final byte[] bytes;
+
+    private CallbackBundle(String hash, String script) {
+        this.hash = hash;
+        this.script = script;
+        this.bytes = script.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 获取回调集合对应的脚本包，内容相同时复用已有实例
+     *
+     * @param callbacks 函数名到JavaScript代码的映射
+     * @return 脚本包
+     */
+    public static CallbackBundle of(Map<String, String> callbacks) {
+        if (callbacks.isEmpty()) {
+            return EMPTY;
+        }
+        StringBuilder script = new StringBuilder();
+        for (String code : new TreeMap<>(callbacks).values()) {
+            minifyTo(script, code);
+        }
+        String content = script.toString();
+        String hash = hash(content);
+
+        WeakReference<CallbackBundle> reference = BUNDLES.get(hash);
+        CallbackBundle bundle = reference != null ? reference.get() : null;
+        if (bundle == null) {
+            bundle = new CallbackBundle(hash, content);
+            BUNDLES.put(hash, new WeakReference<>(bundle));
+            // 顺带清理已被回收的条目
+            BUNDLES.values().removeIf(ref -> ref.get() == null);
+        }
+        retain(bundle);
+        return bundle;
+    }
+
+    /**
+     * 按共享脚本路径查找脚本包
+     *
+     * @param path 请求路径，如 /assets/callbacks.3f2a9c1b0d4e5f67.js
+     * @return 脚本包，不存在或已被回收时返回null
+     */
+    public static CallbackBundle findByPath(String path) {
+        if (path == null || !path.startsWith(ASSET_PREFIX) || !path.endsWith(".js")) {
+            return null;
+        }
+        WeakReference<CallbackBundle> reference = BUNDLES.get(path.substring(ASSET_PREFIX.length(), path.length() - 3));
+        CallbackBundle bundle = reference != null ? reference.get() : null;
+        if (bundle != null) {
+            retain(bundle);
+        }
+        return bundle;
+    }
+
+    /**
+     * 记入最近使用的脚本包
+     */
+    private static void retain(CallbackBundle bundle) {
+        synchronized (RECENT) {
+            RECENT.put(bundle.hash, bundle);
+        }
+    }
+
+    /**
+     * 是否不含任何回调
+     *
+     * @return 是否为空
+     */
+    public boolean isEmpty() {
+        return script.isEmpty();
+    }
+
+    /**
+     * 共享脚本路径，内容变化时路径随之变化，可长期缓存
+     *
+     * @return 路径
+     */
+    public String getPath() {
+        return ASSET_PREFIX + hash + ".js";
+    }
+
+    /**
+     * 压缩后脚本的UTF-8字节
+     *
+     * @return 字节数组副本
+     */
+    public byte[] toBytes() {
+        return bytes.clone();
+    }
+
+    /**
+     * 写出压缩后脚本的UTF-8字节，不复制
+     *
+     * @param out 输出流
+     * @throws IOException 写入失败时抛出
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes);
+    }
+
+    /**
+     * 压缩后脚本的UTF-8字节长度
+     *
+     * @return 字节数
+     */
+    public int byteLength() {
+        return bytes.length;
+    }
+
+    /**
+     * 按行去除首尾空白、空行和独占一行的注释
+     */
+    private static void minifyTo(StringBuilder out, String code) {
+        int length = code.length();
+        int start = 0;
+        while (start < length) {
+            int end = code.indexOf('\n', start);
+            if (end < 0) {
+                end = length;
+            }
+            int lineStart = start;
+            int lineEnd = end;
+            while (lineStart < lineEnd && Character.isWhitespace(code.charAt(lineStart))) {
+                lineStart++;
+            }
+            while (lineEnd > lineStart && Character.isWhitespace(code.charAt(lineEnd - 1))) {
+                lineEnd--;
+            }
+            if (lineEnd > lineStart && !code.startsWith("//", lineStart)) {
+                out.append(code, lineStart, lineEnd).append('\n');
+            }
+            start = end + 1;
+        }
+    }
+
+    private static String hash(String content) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] bytes = digest.digest(content.getBytes(StandardCharsets.UTF_8));
+        char[] hex = new char[16];
+        for (int i = 0; i < 8; i++) {
+            hex[i * 2] = Character.forDigit((bytes[i] >> 4) & 0xF, 16);
+            hex[i * 2 + 1] = Character.forDigit(bytes[i] & 0xF, 16);
+        }
+        return new String(hex);
+    }
+}
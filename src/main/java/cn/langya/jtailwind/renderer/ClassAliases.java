@@ -0,0 +1,175 @@
+package cn.langya.jtailwind.renderer;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 类名别名表
+ * <p>
+ * 统计组件HTML中重复出现的 {@code class} 属性值，替换后能缩短页面的类名列表生成形如 {@code jt-0} 的别名，
+ * 每个别名在 {@code text/tailwindcss} 样式块中以 {@code @apply} 定义一次。
+ * 只为全部由工具类组成的类名列表生成别名，含 {@code group}、{@code peer} 等不能 {@code @apply} 的类时保持原样。
+ *
+ * @author LangYa466
+ * @date 2025/3/10
+ */
+final class ClassAliases {
+
+    /**
+     * 别名前缀
+     */
+    static final String PREFIX = "jt-";
+
+    /**
+     * 类名属性的开头
+     */
+    private static final String ATTRIBUTE = " class=\"";
+
+    /**
+     * 可以 {@code @apply} 的类名
+     */
+    private static final Pattern UTILITY = Pattern.compile("!?[A-Za-z0-9:/._\\-\\[\\]#%(),]+");
+
+    /**
+     * 生成别名的最短类名列表，更短的替换后节省有限
+     */
+    private static final int MIN_LENGTH = 16;
+
+    /**
+     * 页面版本
+     */
+    private final long version;
+
+    /**
+     * 原类名列表到别名的映射
+     */
+    private final Map<String, String> aliases;
+
+    /**
+     * 定义别名的样式块
+     */
+    private final String stylesheet;
+
+    private ClassAliases(long version, Map<String, String> aliases, String stylesheet) {
+        this.version = version;
+        this.aliases = aliases;
+        this.stylesheet = stylesheet;
+    }
+
+    /**
+     * 按组件HTML生成别名表
+     *
+     * @param html 组件HTML
+     * @param version 页面版本
+     * @param minify 样式块是否省略缩进
+     * @return 别名表
+     */
+    static ClassAliases build(CharSequence html, long version, boolean minify) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        String text = html.toString();
+        int i = 0;
+        while ((i = text.indexOf(ATTRIBUTE, i)) >= 0) {
+            int start = i + ATTRIBUTE.length();
+            int end = text.indexOf('"', start);
+            if (end < 0) {
+                break;
+            }
+            if (end - start >= MIN_LENGTH) {
+                counts.merge(text.substring(start, end), 1, Integer::sum);
+            }
+            i = end + 1;
+        }
+
+        Map<String, String> aliases = new LinkedHashMap<>();
+        StringBuilder rules = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            String classes = entry.getKey().trim().replaceAll("\\s+", " ");
+            String alias = PREFIX + Integer.toString(aliases.size(), 36);
+            // 替换节省的字节须超过样式规则本身的长度
+            int saved = entry.getValue() * (entry.getKey().length() - alias.length());
+            if (saved <= classes.length() + alias.length() + 16 || !isUtilityList(classes)) {
+                continue;
+            }
+            aliases.put(entry.getKey(), alias);
+            rules.append(minify ? "" : "        ").append('.').append(alias).append(" { @apply ").append(classes).append("; }\n");
+        }
+        if (aliases.isEmpty()) {
+            return new ClassAliases(version, Collections.emptyMap(), "");
+        }
+        String indent = minify ? "" : "    ";
+        String stylesheet = indent + "<style type=\"text/tailwindcss\">\n" + rules + indent + "</style>\n";
+        return new ClassAliases(version, aliases, stylesheet);
+    }
+
+    private static boolean isUtilityList(String classes) {
+        for (String name : classes.split(" ")) {
+            if ("group".equals(name) || "peer".equals(name) || !UTILITY.matcher(name).matches()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 生成别名表时的页面版本
+     */
+    long version() {
+        return version;
+    }
+
+    /**
+     * 定义别名的样式块，没有别名时为空字符串
+     */
+    String stylesheet() {
+        return stylesheet;
+    }
+
+    /**
+     * 别名数量
+     */
+    int size() {
+        return aliases.size();
+    }
+
+    /**
+     * 将缓冲中指定位置之后的类名列表替换为别名
+     *
+     * @param html 输出缓冲
+     * @param from 起始位置
+     */
+    void rewrite(StringBuilder html, int from) {
+        if (aliases.isEmpty()) {
+            return;
+        }
+        StringBuilder out = RenderBuffers.acquire(html.length() - from);
+        try {
+            int copied = from;
+            int i = from;
+            while ((i = html.indexOf(ATTRIBUTE, i)) >= 0) {
+                int start = i + ATTRIBUTE.length();
+                int end = html.indexOf("\"", start);
+                if (end < 0) {
+                    break;
+                }
+                if (end - start >= MIN_LENGTH) {
+                    String alias = aliases.get(html.substring(start, end));
+                    if (alias != null) {
+                        out.append(html, copied, start).append(alias);
+                        copied = end;
+                    }
+                }
+                i = end + 1;
+            }
+            if (copied == from) {
+                return;
+            }
+            out.append(html, copied, html.length());
+            html.setLength(from);
+            html.append(out);
+        } finally {
+            RenderBuffers.release(out);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package cn.langya.jtailwind.renderer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 单个组件 (含子树) 的渲染结果
+ *
+ * @author LangYa466
+ * @date 2025/2/24
+ */
+@Getter
+@AllArgsConstructor
+public class ComponentFragment {
+
+    /**
+     * 组件ID
+     */
+    private final String componentId;
+
+    /**
+     * HTML片段
+     */
+    private final String html;
+
+    /**
+     * 实体标签，子树内容变化时随之变化
+     */
+    private final String etag;
+}
@@ -0,0 +1,193 @@
+package cn.langya.jtailwind.renderer;
+
+import cn.langya.jtailwind.components.Container;
+import cn.langya.jtailwind.core.ComponentList;
+import cn.langya.jtailwind.core.TreeVersion;
+import cn.langya.jtailwind.core.UIComponent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 组件索引
+ * <p>
+ * 覆盖整棵组件树 (含容器内的子组件)，按ID、按类型查找均为 O(1)。
+ * 建立索引时把自己的组件树版本登记到树中的组件和组件列表上，只有本树的组件列表增删或组件ID变化
+ * 才会使索引在下次查找时重建，其他渲染器的组件变化互不影响；通过渲染器增删顶层组件时增量维护，不触发重建。
+ *
+ * @author LangYa466
+ * @date 2025/2/24
+ */
+final class ComponentIndex {
+
+    /**
+     * ID到组件的映射
+     */
+    private final Map<String, UIComponent> byId = new HashMap<>();
+
+    /**
+     * 类型到组件的映射
+     */
+    private final Map<String, List<UIComponent>> byType = new HashMap<>();
+
+    /**
+     * 组件树版本
+     */
+    private final TreeVersion tree = new TreeVersion();
+
+    /**
+     * 索引对应的结构版本，-1表示需要重建
+     */
+    private long builtVersion = -1;
+
+    /**
+     * 按ID查找组件
+     *
+     * @param id 组件ID
+     * @param roots 顶层组件，索引失效时据此重建
+     * @return 组件，不存在时返回null
+     */
+    synchronized UIComponent get(String id, List<UIComponent> roots) {
+        ensureBuilt(roots);
+        return byId.get(id);
+    }
+
+    /**
+     * 按类型查找组件
+     *
+     * @param type 组件类型
+     * @param roots 顶层组件，索引失效时据此重建
+     * @return 该类型的全部组件 (按树的先序)
+     */
+    synchronized List<UIComponent> getByType(String type, List<UIComponent> roots) {
+        ensureBuilt(roots);
+        List<UIComponent> components = byType.get(type);
+        return components != null ? Collections.unmodifiableList(new ArrayList<>(components)) : Collections.emptyList();
+    }
+
+    /**
+     * 获取组件树的结构版本
+     *
+     * @param roots 顶层组件，索引失效时据此重建
+     * @return 结构版本，本树的组件列表增删或组件ID、类型变化后递增
+     */
+    synchronized long structureVersion(List<UIComponent> roots) {
+        ensureBuilt(roots);
+        return tree.structureVersion();
+    }
+
+    /**
+     * 获取组件树内最大的修订号
+     *
+     * @param roots 顶层组件，索引失效时据此重建
+     * @return 修订号，本树的任一组件或组件列表变化后增大
+     */
+    synchronized long revision(List<UIComponent> roots) {
+        ensureBuilt(roots);
+        return tree.revision();
+    }
+
+    /**
+     * 向顶层组件列表添加组件并增量更新索引
+     *
+     * @param roots 顶层组件
+     * @param component 组件
+     */
+    synchronized void add(List<UIComponent> roots, UIComponent component) {
+        long before = tree.structureVersion();
+        roots.add(component);
+        // 列表在修改完成后才通知，版本恰好加一说明期间没有其他结构变化
+        if (builtVersion == before && tree.structureVersion() == before + 1) {
+            indexTree(component);
+            builtVersion = before + 1;
+        }
+    }
+
+    /**
+     * 从顶层组件列表移除组件并增量更新索引
+     *
+     * @param roots 顶层组件
+     * @param component 组件
+     * @return 是否移除
+     */
+    synchronized boolean remove(List<UIComponent> roots, UIComponent component) {
+        long before = tree.structureVersion();
+        if (!roots.remove(component)) {
+            return false;
+        }
+        if (builtVersion == before && tree.structureVersion() == before + 1) {
+            unindexTree(component);
+            builtVersion = before + 1;
+        }
+        return true;
+    }
+
+    /**
+     * 标记索引失效，下次查找时重建
+     */
+    synchronized void invalidate() {
+        builtVersion = -1;
+        tree.advance();
+    }
+
+    private void ensureBuilt(List<UIComponent> roots) {
+        long version = tree.structureVersion();
+        if (builtVersion == version) {
+            return;
+        }
+        byId.clear();
+        byType.clear();
+        if (roots instanceof ComponentList) {
+            tree.watch((ComponentList) roots);
+        }
+        for (UIComponent root : roots) {
+            indexTree(root);
+        }
+        builtVersion = version;
+    }
+
+    private void indexTree(UIComponent root) {
+        Deque<UIComponent> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            UIComponent component = stack.pop();
+            tree.watch(component);
+            byId.put(component.getId(), component);
+            byType.computeIfAbsent(component.getType(), type -> new ArrayList<>()).add(component);
+            if (component instanceof Container) {
+                List<UIComponent> children = ((Container) component).getChildren();
+                if (children instanceof ComponentList) {
+                    tree.watch((ComponentList) children);
+                }
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    stack.push(children.get(i));
+                }
+            }
+        }
+    }
+
+    private void unindexTree(UIComponent root) {
+        Deque<UIComponent> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            UIComponent component = stack.pop();
+            if (byId.get(component.getId()) == component) {
+                byId.remove(component.getId());
+            }
+            List<UIComponent> sameType = byType.get(component.getType());
+            if (sameType != null) {
+                sameType.remove(component);
+            }
+            if (component instanceof Container) {
+                for (UIComponent child : ((Container) component).getChildren()) {
+                    stack.push(child);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package cn.langya.jtailwind.renderer;
+
+import cn.langya.jtailwind.components.Container;
+import cn.langya.jtailwind.core.ComponentList;
+import cn.langya.jtailwind.core.UIComponent;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 组件片段缓存
+ * <p>
+ * 按组件对象缓存每个组件及其子树渲染出的HTML，缓存键为子树的聚合版本，即子树内最大的修订号：
+ * 组件修订号来自全局递增序列，任何修改 (包括容器子组件列表的增删) 都会使所在子树的最大值增大，
+ * 没有修改时保持不变，因此版本相等即表示子树未变化，不存在哈希碰撞。
+ * 深处某个组件变化只会改变它到根路径上各容器的版本，渲染时其余子树直接复用缓存。
+ * 组件树的遍历全部使用显式栈，不受嵌套深度限制。
+ * <p>
+ * 版本计算和组件渲染都在锁外进行，只有读写缓存映射时短暂加锁，同一页面的并发渲染、
+ * 片段请求和差异计算互不阻塞；单个片段只计算所请求子树的版本。
+ *
+ * @author LangYa466
+ * @date 2025/2/20
+ */
+final class FragmentCache {
+
+    /**
+     * 组件渲染器
+     */
+    interface NodeRenderer {
+
+        /**
+         * 渲染非容器组件
+         */
+        String renderLeaf(UIComponent component);
+
+        /**
+         * 渲染容器开始标签
+         */
+        String openContainer(Container container);
+
+        /**
+         * 渲染容器结束标签
+         */
+        String closeContainer(Container container);
+    }
+
+    /**
+     * 已渲染的片段
+     */
+    private static final class Fragment {
+
+        /**
+         * 子树聚合版本
+         */
+        final long version;
+
+        /**
+         * 开始渲染时缓存的清空次数
+         */
+        final long epoch;
+
+        final String html;
+
+        Fragment(long version, long epoch, String html) {
+            this.version = version;
+            this.epoch = epoch;
+            this.html = html;
+        }
+    }
+
+    /**
+     * 容器子树结束标记
+     */
+    private static final class SubtreeEnd {
+
+        final Container container;
+
+        final int start;
+
+        SubtreeEnd(Container container, int start) {
+            this.container = container;
+            this.start = start;
+        }
+    }
+
+    /**
+     * 容器重新拼接标记
+     */
+    private static final class Reassemble {
+
+        final Container container;
+
+        Reassemble(Container container) {
+            this.container = container;
+        }
+    }
+
+    /**
+     * 片段缓存，读写时以自身为锁
+     */
+    private final Map<UIComponent, Fragment> fragments = new IdentityHashMap<>();
+
+    /**
+     * 缓存的清空次数，清空前开始的渲染不再写入缓存
+     */
+    private long epoch;
+
+    /**
+     * 渲染整组顶层组件
+     *
+     * @param roots 顶层组件
+     * @param out 输出缓冲
+     * @param renderer 组件渲染器
+     */
+    void render(List<UIComponent> roots, StringBuilder out, NodeRenderer renderer) {
+        long epoch = epoch();
+        Map<UIComponent, Long> versions = computeVersions(roots);
+        for (UIComponent root : roots) {
+            renderTree(root, versions, epoch, out, renderer);
+        }
+        // 清理已不在组件树中的片段
+        synchronized (fragments) {
+            if (fragments.size() > versions.size()) {
+                fragments.keySet().retainAll(versions.keySet());
+            }
+        }
+    }
+
+    /**
+     * 按会话覆盖视图渲染整组顶层组件
+     * <p>
+     * 不含被覆盖组件的子树直接复用 (并维护) 基础页面的缓存，被覆盖的组件和它们的上层容器
+     * 按视图中的实际状态渲染，结果不写入缓存。
+     *
+     * @param roots 顶层组件
+     * @param out 输出缓冲
+     * @param renderer 组件渲染器
+     * @param view 覆盖视图
+     */
+    void render(List<UIComponent> roots, StringBuilder out, NodeRenderer renderer, SessionOverlay.View view) {
+        if (view.isEmpty()) {
+            render(roots, out, renderer);
+            return;
+        }
+        long epoch = epoch();
+        Map<UIComponent, Long> versions = computeVersions(roots);
+        Deque<Object> stack = new ArrayDeque<>();
+        for (int i = roots.size() - 1; i >= 0; i--) {
+            stack.push(roots.get(i));
+        }
+        while (!stack.isEmpty()) {
+            Object item = stack.pop();
+            if (item instanceof SubtreeEnd) {
+                out.append(renderer.closeContainer(((SubtreeEnd) item).container));
+                continue;
+            }
+
+            UIComponent node = (UIComponent) item;
+            if (!view.touches(node)) {
+                renderTree(node, versions, epoch, out, renderer);
+                continue;
+            }
+            UIComponent actual = view.resolve(node);
+            if (node instanceof Container) {
+                stack.push(new SubtreeEnd((Container) actual, out.length()));
+                out.append(renderer.openContainer((Container) actual));
+                List<UIComponent> children = ((Container) node).getChildren();
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    stack.push(children.get(i));
+                }
+            } else {
+                out.append(renderer.renderLeaf(actual));
+            }
+        }
+    }
+
+    /**
+     * 渲染指定修订号之后发生变化的最上层子树
+     * <p>
+     * 不修改任何状态，每个客户端按自己收到的修订号各自获取差异，互不影响。
+     * 自身未变的容器只推送其下变化的子树。
+     *
+     * @param roots 顶层组件
+     * @param since 客户端已有的修订号
+     * @param renderer 组件渲染器
+     * @return 组件ID到新HTML的映射；顶层组件列表在此之后变化时返回null，需要整页渲染
+     */
+    Map<String, String> renderChanges(List<UIComponent> roots, long since, NodeRenderer renderer) {
+        if (!(roots instanceof ComponentList) || ((ComponentList) roots).revision() > since) {
+            return null;
+        }
+        long epoch = epoch();
+        Map<UIComponent, Long> versions = computeVersions(roots);
+        Map<String, String> changes = new LinkedHashMap<>();
+        Deque<Object> stack = new ArrayDeque<>();
+        for (int i = roots.size() - 1; i >= 0; i--) {
+            stack.push(roots.get(i));
+        }
+
+        while (!stack.isEmpty()) {
+            Object item = stack.pop();
+            if (item instanceof Reassemble) {
+                // 子组件已刷新，重新拼接容器自身的缓存
+                Container container = ((Reassemble) item).container;
+                renderTree(container, versions, epoch, new StringBuilder(sizeHint(cached(container))), renderer);
+                continue;
+            }
+
+            UIComponent node = (UIComponent) item;
+            if (versions.get(node) <= since) {
+                continue;
+            }
+            if (node instanceof Container && node.revision() <= since) {
+                // 容器本身和子组件列表都没变 (列表变化会标记容器已修改)，变化在更深处
+                List<UIComponent> children = ((Container) node).getChildren();
+                stack.push(new Reassemble((Container) node));
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    stack.push(children.get(i));
+                }
+                continue;
+            }
+
+            StringBuilder html = new StringBuilder(sizeHint(cached(node)));
+            renderTree(node, versions, epoch, html, renderer);
+            changes.put(node.getId(), html.toString());
+        }
+        return changes;
+    }
+
+    /**
+     * 渲染单个组件子树，未变化的部分直接复用缓存
+     * <p>
+     * 渲染结果写回缓存。
+     *
+     * @param component 组件
+     * @param renderer 组件渲染器
+     * @return 组件片段，实体标签取自子树聚合版本
+     */
+    ComponentFragment fragment(UIComponent component, NodeRenderer renderer) {
+        long epoch = epoch();
+        Map<UIComponent, Long> versions = computeVersions(Collections.singletonList(component));
+        StringBuilder html = new StringBuilder(sizeHint(cached(component)));
+        renderTree(component, versions, epoch, html, renderer);
+        return new ComponentFragment(component.getId(), html.toString(), "\"" + Long.toHexString(versions.get(component)) + "\"");
+    }
+
+    /**
+     * 按上次渲染的片段长度预留缓冲容量
+     *
+     * @param previous 上次的片段，可为null
+     * @return 初始容量
+     */
+    private static int sizeHint(Fragment previous) {
+        return previous != null ? previous.html.length() + (previous.html.length() >> 3) : 256;
+    }
+
+    /**
+     * 清空缓存
+     */
+    void clear() {
+        synchronized (fragments) {
+            fragments.clear();
+            epoch++;
+        }
+    }
+
+    private long epoch() {
+        synchronized (fragments) {
+            return epoch;
+        }
+    }
+
+    /**
+     * 读取缓存的片段
+     */
+    private Fragment cached(UIComponent component) {
+        synchronized (fragments) {
+            Fragment fragment = fragments.get(component);
+            return fragment != null && fragment.epoch == epoch ? fragment : null;
+        }
+    }
+
+    /**
+     * 写入片段；清空前开始的渲染不写入，并发渲染时不以较旧版本覆盖较新的片段
+     */
+    private void store(UIComponent component, Fragment fragment) {
+        synchronized (fragments) {
+            if (fragment.epoch != epoch) {
+                return;
+            }
+            Fragment existing = fragments.get(component);
+            if (existing == null || existing.version <= fragment.version) {
+                fragments.put(component, fragment);
+            }
+        }
+    }
+
+    /**
+     * 渲染一棵子树，命中缓存的子树直接复用
+     */
+    private void renderTree(UIComponent root, Map<UIComponent, Long> versions, long epoch, StringBuilder out, NodeRenderer renderer) {
+        Deque<Object> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Object item = stack.pop();
+            if (item instanceof SubtreeEnd) {
+                SubtreeEnd end = (SubtreeEnd) item;
+                out.append(renderer.closeContainer(end.container));
+                store(end.container, new Fragment(versions.get(end.container), epoch, out.substring(end.start)));
+                continue;
+            }
+
+            UIComponent node = (UIComponent) item;
+            long version = versions.get(node);
+            Fragment cached = cached(node);
+            if (cached != null && cached.version == version) {
+                out.append(cached.html);
+                continue;
+            }
+
+            if (node instanceof Container) {
+                Container container = (Container) node;
+                stack.push(new SubtreeEnd(container, out.length()));
+                out.append(renderer.openContainer(container));
+                List<UIComponent> children = container.getChildren();
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    stack.push(children.get(i));
+                }
+            } else {
+                String html = renderer.renderLeaf(node);
+                store(node, new Fragment(version, epoch, html));
+                out.append(html);
+            }
+        }
+    }
+
+    /**
+     * 自底向上计算所有组件的聚合版本
+     *
+     * @param roots 顶层组件
+     * @return 组件到版本的映射
+     * @throws IllegalStateException 组件树存在循环引用时抛出
+     */
+    private Map<UIComponent, Long> computeVersions(List<UIComponent> roots) {
+        Map<UIComponent, Long> versions = new IdentityHashMap<>();
+        Set<UIComponent> expanding = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<UIComponent> stack = new ArrayDeque<>();
+        for (UIComponent root : roots) {
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                UIComponent node = stack.peek();
+                if (versions.containsKey(node)) {
+                    stack.pop();
+                    continue;
+                }
+                if (!(node instanceof Container)) {
+                    versions.put(node, node.revision());
+                    stack.pop();
+                    continue;
+                }
+
+                List<UIComponent> children = ((Container) node).getChildren();
+                if (expanding.add(node)) {
+                    boolean pending = false;
+                    for (int i = children.size() - 1; i >= 0; i--) {
+                        UIComponent child = children.get(i);
+                        if (expanding.contains(child)) {
+                            throw new IllegalStateException("组件树存在循环引用: " + child.getId());
+                        }
+                        if (!versions.containsKey(child)) {
+                            stack.push(child);
+                            pending = true;
+                        }
+                    }
+                    if (pending) {
+                        continue;
+                    }
+                }
+
+                long version = node.revision();
+                if (children instanceof ComponentList) {
+                    version = Math.max(version, ((ComponentList) children).revision());
+                }
+                for (UIComponent child : children) {
+                    version = Math.max(version, versions.get(child));
+                }
+                versions.put(node, version);
+                expanding.remove(node);
+                stack.pop();
+            }
+        }
+        return versions;
+    }
+}
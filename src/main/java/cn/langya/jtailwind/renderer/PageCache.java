@@ -0,0 +1,603 @@
+package cn.langya.jtailwind.renderer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 堆外页面输出缓存
+ * <p>
+ * 渲染好的页面以编码后的字节 (可选gzip压缩) 保存在固定大小的直接缓冲区分块 (slab) 中，
+ * 分块从按总字节预算划分的堆外内存区域中分配，堆上只保留每个条目的少量元数据，
+ * 缓存数十万个会话页面也不会增加GC扫描的负担。预算不足时按最近最少使用的顺序淘汰条目。
+ * <p>
+ * 命中时返回直接引用缓存分块的 {@link RenderedPage}，写出过程不复制页面内容；
+ * 页面关闭前对应的分块不会被复用，即使条目在此期间已被淘汰。
+ * <p>
+ * 同一键同一版本未命中时只渲染一次: 第一个请求负责渲染并写入缓存，同时到达的请求等待后从缓存读取。
+ *
+ * <pre>{@code
+ * PageCache cache = new PageCache(512L * 1024 * 1024);
+ * try (RenderedPage page = cache.render(sessionId, session, BufferPool.shared(), acceptGzip)) {
+ *     page.writeTo(channel);
+ * }
+ * }</pre>
+ *
+ * @author LangYa466
+ * @date 2025/3/9
+ */
+public class PageCache {
+
+    /**
+     * 默认分块大小
+     */
+    public static final int DEFAULT_SLAB_SIZE = 16 * 1024;
+
+    /**
+     * 压缩后的内容编码
+     */
+    public static final String GZIP = "gzip";
+
+    /**
+     * 单个堆外区域的最大字节数
+     */
+    private static final int MAX_ARENA_BYTES = 1 << 30;
+
+    /**
+     * 分块大小
+     */
+    private final int slabSize;
+
+    /**
+     * 分块总数
+     */
+    private final int slabCount;
+
+    /**
+     * 每个区域的分块数
+     */
+    private final int slabsPerArena;
+
+    /**
+     * 是否压缩
+     */
+    private final boolean compress;
+
+    /**
+     * 单个页面允许的最大分块数，超过则不缓存
+     */
+    private final int maxEntrySlabs;
+
+    /**
+     * 堆外区域，在锁内首次分配其中的分块时创建
+     */
+    private final ByteBuffer[] arenas;
+
+    /**
+     * 空闲分块编号栈
+     */
+    private final int[] freeSlabs;
+
+    /**
+     * 空闲分块数
+     */
+    private int freeCount;
+
+    /**
+     * 缓存条目，按访问顺序排列
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * 正在进行的渲染，键为缓存键
+     */
+    private final Map<String, Flight> inflight = new HashMap<>();
+
+    private long hits;
+
+    private long misses;
+
+    private long stores;
+
+    private long evictions;
+
+    private long rejections;
+
+    /**
+     * 构造函数，不压缩
+     *
+     * @param budgetBytes 堆外内存总预算 (字节)
+     */
+    public PageCache(long budgetBytes) {
+        this(budgetBytes, DEFAULT_SLAB_SIZE, false);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param budgetBytes 堆外内存总预算 (字节)
+     * @param slabSize 分块大小 (字节)
+     * @param compress 是否以gzip压缩保存
+     */
+    public PageCache(long budgetBytes, int slabSize, boolean compress) {
+        if (slabSize < 256) {
+            throw new IllegalArgumentException("分块过小: " + slabSize);
+        }
+        long count = budgetBytes / slabSize;
+        if (count < 1 || count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("缓存预算无效: " + budgetBytes);
+        }
+        this.slabSize = slabSize;
+        this.slabCount = (int) count;
+        this.slabsPerArena = Math.max(1, MAX_ARENA_BYTES / slabSize);
+        this.compress = compress;
+        // 单个页面最多占用四分之一的预算，避免一次大页面清空整个缓存
+        this.maxEntrySlabs = Math.max(1, slabCount / 4);
+        this.arenas = new ByteBuffer[(slabCount + slabsPerArena - 1) / slabsPerArena];
+        this.freeSlabs = new int[slabCount];
+        // 编号小的分块先分配，后面的区域按需分配
+        for (int i = 0; i < slabCount; i++) {
+            freeSlabs[i] = slabCount - 1 - i;
+        }
+        this.freeCount = slabCount;
+    }
+
+    /**
+     * 获取缓存的页面
+     *
+     * @param key 缓存键，如会话ID或路径
+     * @param version 页面版本
+     * @param acceptGzip 客户端是否接受gzip编码，不接受时压缩保存的条目视为未命中
+     * @return 缓存的页面，写出后须关闭；未命中或版本不一致时返回null
+     */
+    public RenderedPage get(String key, long version, boolean acceptGzip) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && entry.version != version) {
+                // 版本已过期，立即释放空间
+                entries.remove(key);
+                discard(entry);
+                entry = null;
+            }
+            if (entry == null || (entry.gzip && !acceptGzip)) {
+                misses++;
+                return null;
+            }
+            entry.pins++;
+            hits++;
+        }
+        ByteBuffer[] segments = new ByteBuffer[entry.slabs.length];
+        int remaining = entry.length;
+        for (int i = 0; i < segments.length; i++) {
+            int length = Math.min(remaining, slabSize);
+            segments[i] = slab(entry.slabs[i], length);
+            remaining -= length;
+        }
+        Entry pinned = entry;
+        return new RenderedPage(segments, entry.gzip ? GZIP : null, () -> unpin(pinned));
+    }
+
+    /**
+     * 保存页面，复制页面内容到堆外分块，不改变页面本身
+     *
+     * @param key 缓存键
+     * @param version 页面版本
+     * @param page 渲染结果
+     * @return 是否已保存，页面过大或空间都被占用时返回false
+     */
+    public boolean put(String key, long version, RenderedPage page) {
+        ByteBuffer[] source = page.buffers();
+        for (int i = 0; i < source.length; i++) {
+            source[i] = source[i].duplicate();
+        }
+        boolean gzip = compress;
+        if (gzip) {
+            source = new ByteBuffer[] {ByteBuffer.wrap(gzip(source))};
+        }
+        long length = 0;
+        for (ByteBuffer buffer : source) {
+            length += buffer.remaining();
+        }
+        int needed = (int) ((length + slabSize - 1) / slabSize);
+
+        int[] slabs = allocate(needed);
+        if (slabs == null) {
+            return false;
+        }
+        // 分块已归本条目独占，复制在锁外进行
+        int index = 0;
+        ByteBuffer target = null;
+        for (ByteBuffer buffer : source) {
+            while (buffer.hasRemaining()) {
+                if (target == null || !target.hasRemaining()) {
+                    target = slab(slabs[index++], slabSize);
+                }
+                int count = Math.min(buffer.remaining(), target.remaining());
+                ByteBuffer chunk = buffer.duplicate();
+                ((Buffer) chunk).limit(chunk.position() + count);
+                target.put(chunk);
+                ((Buffer) buffer).position(buffer.position() + count);
+            }
+        }
+
+        Entry entry = new Entry(version, slabs, (int) length, gzip);
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                discard(previous);
+            }
+            stores++;
+        }
+        return true;
+    }
+
+    /**
+     * 渲染页面，命中时直接返回缓存
+     *
+     * @param key 缓存键
+     * @param renderer 页面渲染器
+     * @param pool 未命中时渲染使用的缓冲区池
+     * @param acceptGzip 客户端是否接受gzip编码
+     * @return 渲染结果，写出后须关闭
+     */
+    public RenderedPage render(String key, PageRenderer renderer, BufferPool pool, boolean acceptGzip) {
+        return render(key, renderer.pageVersion(), acceptGzip, () -> renderer.renderBuffers(pool));
+    }
+
+    /**
+     * 渲染会话页面，命中时直接返回缓存
+     *
+     * @param key 缓存键，通常为会话ID
+     * @param session 会话覆盖层
+     * @param pool 未命中时渲染使用的缓冲区池
+     * @param acceptGzip 客户端是否接受gzip编码
+     * @return 渲染结果，写出后须关闭
+     */
+    public RenderedPage render(String key, SessionOverlay session, BufferPool pool, boolean acceptGzip) {
+        return render(key, session.version(), acceptGzip, () -> session.renderBuffers(pool));
+    }
+
+    /**
+     * 未命中时合并同一键同一版本的并发渲染
+     */
+    private RenderedPage render(String key, long version, boolean acceptGzip, Supplier<RenderedPage> renderer) {
+        RenderedPage cached = get(key, version, acceptGzip);
+        if (cached != null) {
+            return cached;
+        }
+
+        Flight flight;
+        boolean leader = false;
+        synchronized (this) {
+            flight = inflight.get(key);
+            if (flight == null || flight.version != version) {
+                flight = new Flight(version);
+                inflight.put(key, flight);
+                leader = true;
+            }
+        }
+
+        if (!leader) {
+            try {
+                flight.done.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+            // 负责渲染的请求未能写入缓存 (页面过大、空间被占用或编码不符) 时自行渲染
+            cached = get(key, version, acceptGzip);
+            return cached != null ? cached : renderer.get();
+        }
+
+        try {
+            RenderedPage page = renderer.get();
+            try {
+                storeAfterMiss(key, version, page, acceptGzip);
+            } catch (RuntimeException | Error e) {
+                page.close();
+                throw e;
+            }
+            finishFlight(key, flight);
+            flight.done.complete(null);
+            return page;
+        } catch (RuntimeException | Error e) {
+            finishFlight(key, flight);
+            flight.done.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private synchronized void finishFlight(String key, Flight flight) {
+        if (inflight.get(key) == flight) {
+            inflight.remove(key);
+        }
+    }
+
+    private void storeAfterMiss(String key, long version, RenderedPage page, boolean acceptGzip) {
+        // 不接受压缩的客户端不覆盖同版本已有的压缩条目，没有时照常写入，等待的请求可以直接命中
+        if (!compress || acceptGzip || !contains(key, version)) {
+            put(key, version, page);
+        }
+    }
+
+    private synchronized boolean contains(String key, long version) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.version == version;
+    }
+
+    /**
+     * 移除缓存的页面
+     *
+     * @param key 缓存键
+     */
+    public synchronized void invalidate(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            discard(entry);
+        }
+    }
+
+    /**
+     * 移除全部缓存的页面
+     */
+    public synchronized void clear() {
+        for (Entry entry : entries.values()) {
+            discard(entry);
+        }
+        entries.clear();
+    }
+
+    /**
+     * 分配分块，空间不足时按最近最少使用的顺序淘汰
+     *
+     * @return 分块编号，页面过大或空间都被占用时返回null
+     */
+    private synchronized int[] allocate(int needed) {
+        if (needed > maxEntrySlabs) {
+            rejections++;
+            return null;
+        }
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (freeCount < needed && eldest.hasNext()) {
+            Entry entry = eldest.next();
+            eldest.remove();
+            discard(entry);
+            evictions++;
+        }
+        if (freeCount < needed) {
+            // 剩余空间都被正在写出的页面占用
+            rejections++;
+            return null;
+        }
+        int[] slabs = new int[needed];
+        for (int i = 0; i < needed; i++) {
+            slabs[i] = freeSlabs[--freeCount];
+            ensureArena(slabs[i]);
+        }
+        return slabs;
+    }
+
+    /**
+     * 条目移出缓存，未被占用时立即回收分块
+     */
+    private void discard(Entry entry) {
+        entry.removed = true;
+        if (entry.pins == 0) {
+            recycle(entry);
+        }
+    }
+
+    private synchronized void unpin(Entry entry) {
+        if (--entry.pins == 0 && entry.removed) {
+            recycle(entry);
+        }
+    }
+
+    private void recycle(Entry entry) {
+        for (int slab : entry.slabs) {
+            freeSlabs[freeCount++] = slab;
+        }
+    }
+
+    /**
+     * 分块的视图
+     */
+    private ByteBuffer slab(int index, int length) {
+        ByteBuffer view = arenas[index / slabsPerArena].duplicate();
+        int offset = (index % slabsPerArena) * slabSize;
+        ((Buffer) view).limit(offset + length);
+        ((Buffer) view).position(offset);
+        return view.slice();
+    }
+
+    /**
+     * 首次使用分块时分配所在的区域，在锁内调用，之后按条目发布的顺序可见
+     */
+    private void ensureArena(int slab) {
+        int index = slab / slabsPerArena;
+        if (arenas[index] == null) {
+            int slabs = Math.min(slabsPerArena, slabCount - index * slabsPerArena);
+            arenas[index] = ByteBuffer.allocateDirect(slabs * slabSize);
+        }
+    }
+
+    private static byte[] gzip(ByteBuffer[] source) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed, chunk.length)) {
+            for (ByteBuffer buffer : source) {
+                while (buffer.hasRemaining()) {
+                    int count = Math.min(buffer.remaining(), chunk.length);
+                    buffer.get(chunk, 0, count);
+                    out.write(chunk, 0, count);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * 是否以gzip压缩保存
+     *
+     * @return 是否压缩
+     */
+    public boolean isCompress() {
+        return compress;
+    }
+
+    /**
+     * 堆外内存总预算
+     *
+     * @return 字节数
+     */
+    public long getBudgetBytes() {
+        return (long) slabCount * slabSize;
+    }
+
+    /**
+     * 已占用的堆外内存 (含已淘汰但仍在写出的页面)
+     *
+     * @return 字节数
+     */
+    public synchronized long getUsedBytes() {
+        return (long) (slabCount - freeCount) * slabSize;
+    }
+
+    /**
+     * 缓存的页面数
+     *
+     * @return 页面数
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 累计命中次数
+     *
+     * @return 次数
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * 累计未命中次数 (含版本过期)
+     *
+     * @return 次数
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * 累计保存次数
+     *
+     * @return 次数
+     */
+    public synchronized long getStoreCount() {
+        return stores;
+    }
+
+    /**
+     * 累计因空间不足淘汰的页面数
+     *
+     * @return 页面数
+     */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * 累计因页面过大或空间都被占用而未保存的次数
+     *
+     * @return 次数
+     */
+    public synchronized long getRejectionCount() {
+        return rejections;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "PageCache{entries=" + entries.size() + ", used=" + getUsedBytes() + "/" + getBudgetBytes()
+            + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", rejections=" + rejections + "}";
+    }
+
+    /**
+     * 一次正在进行的渲染
+     */
+    private static final class Flight {
+
+        /**
+         * 渲染的版本
+         */
+        final long version;
+
+        /**
+         * 渲染并写入缓存后完成
+         */
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Flight(long version) {
+            this.version = version;
+        }
+    }
+
+    /**
+     * 缓存条目
+     */
+    private static final class Entry {
+
+        /**
+         * 页面版本
+         */
+        final long version;
+
+        /**
+         * 按顺序存放内容的分块编号
+         */
+        final int[] slabs;
+
+        /**
+         * 内容字节数
+         */
+        final int length;
+
+        /**
+         * 是否为gzip压缩的内容
+         */
+        final boolean gzip;
+
+        /**
+         * 正在写出的页面数
+         */
+        int pins;
+
+        /**
+         * 是否已移出缓存
+         */
+        boolean removed;
+
+        Entry(long version, int[] slabs, int length, boolean gzip) {
+            this.version = version;
+            this.slabs = slabs;
+            this.length = length;
+            this.gzip = gzip;
+        }
+    }
+}
@@ -1,23 +1,89 @@
 package cn.langya.jtailwind.renderer;
 
+import cn.langya.jtailwind.components.Button;
+import cn.langya.jtailwind.components.Container;
+import cn.langya.jtailwind.components.DataDisplay;
+import cn.langya.jtailwind.components.DataTable;
+import cn.langya.jtailwind.components.Input;
+import cn.langya.jtailwind.components.Select;
+import cn.langya.jtailwind.core.ComponentMutation;
+import cn.langya.jtailwind.core.ComponentList;
+import cn.langya.jtailwind.core.JsonContext;
 import cn.langya.jtailwind.core.UIComponent;
+import cn.langya.jtailwind.data.Column;
+import cn.langya.jtailwind.data.ColumnarData;
+import cn.langya.jtailwind.data.TablePage;
+import cn.langya.jtailwind.data.TableQuery;
+import cn.langya.jtailwind.event.EventDispatcher;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author LangYa466
  * @date 2025/1/27
  */
+@Slf4j
 @Data
 @Accessors(chain = true)
 public class PageRenderer {
     
+    private static final int SLOT_TITLE = 0;
+    private static final int SLOT_STYLESHEETS = 1;
+    private static final int SLOT_CUSTOM_STYLES = 2;
+    private static final int SLOT_COMPONENTS = 3;
+    private static final int SLOT_DEFAULT_THEME = 4;
+    private static final int SLOT_COMPONENTS_JSON = 5;
+    private static final int SLOT_POLL_INTERVAL = 6;
+    private static final int SLOT_CALLBACKS = 7;
+    private static final int SLOT_CALLBACK_SCRIPT = 8;
+    private static final int SLOT_CLASS_ALIASES = 9;
+    private static final int SLOT_PAGE_REVISION = 10;
+    
+    /**
+     * 缩进字符串，按4个空格为一级预先生成
+     */
+    private static final String[] INDENTS = {"", "    ", "        ", "            ", "                ", "                    ", "                        "};
+    
+    /**
+     * 页面外壳模板
+     */
+    private static final PageTemplate SHELL = PageTemplate.compile(shellSource(), false);
+    
+    /**
+     * 压缩的页面外壳模板
+     */
+    private static final PageTemplate MINIFIED_SHELL = PageTemplate.compile(shellSource(), true);
+    
     /**
      * 页面标题
      */
@@ -26,13 +92,18 @@ public class PageRenderer {
     /**
      * 页面组件列表
      */
-    private List<UIComponent> components = new ArrayList<>();
+    private List<UIComponent> components = new ComponentList();
     
     /**
      * 页面样式
      */
     private String customStyles = "";
     
+    /**
+     * 外部样式表地址
+     */
+    private List<String> stylesheets = new ArrayList<>();
+    
     /**
      * 页面脚本
      */
@@ -43,15 +114,148 @@ public class PageRenderer {
      */
     private Map<String, String> callbacks = new HashMap<>();
     
+    /**
+     * 回调函数以共享脚本引用 (而非内联)，需由服务器按 {@link CallbackBundle#findByPath} 提供
+     */
+    private boolean externalCallbacks = false;
+    
+    /**
+     * 回调函数脚本包，回调集合变化时重建
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile CallbackBundle callbackBundle;
+    
+    /**
+     * 构建脚本包时回调集合的哈希
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile int callbackBundleHash;
+    
+    /**
+     * 压缩输出，去除缩进、空行和注释
+     */
+    private boolean minify = false;
+    
+    /**
+     * 类名别名，将组件间重复的类名列表替换为生成的短类名
+     */
+    private boolean classAliasing = false;
+    
+    /**
+     * 按页面版本缓存的类名别名表
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile ClassAliases classAliases;
+    
+    /**
+     * 上次整页渲染的输出长度 (字符)，用于预留缓冲容量
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile int lastRenderLength;
+    
     /**
      * 默认主题模式 (light, dark, auto)
      */
     private String defaultTheme = "light";
     
     /**
-     * JSON对象映射器
+     * 变更轮询间隔 (毫秒)，0表示不轮询
+     */
+    private int pollInterval = 0;
+    
+    /**
+     * 组件片段缓存
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final FragmentCache fragmentCache = new FragmentCache();
+    
+    /**
+     * 组件ID索引
      */
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final ComponentIndex componentIndex = new ComponentIndex();
+    
+    /**
+     * 服务器端事件分发器
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final EventDispatcher events = new EventDispatcher(this::findComponent);
+    
+    /**
+     * 异步渲染的调用序号
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final AtomicLong asyncGeneration = new AtomicLong();
+    
+    /**
+     * 每个数据显示组件最近一次写入的异步值所属的调用序号，较早的调用晚到的值不再覆盖
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Map<UIComponent, Long> asyncGenerations = new IdentityHashMap<>();
+    
+    /**
+     * 启动预热
+     * <p>
+     * 预先解析所有内置组件的序列化器，并渲染一个包含各类组件的示例页面，
+     * 使部署或扩容后的首次渲染不再承担反射、内省和类加载的开销。
+     */
+    public static void warmUp() {
+        JsonContext.shared().warmUp(
+            Button.class, Input.class, Select.class, DataDisplay.class,
+            DataTable.class, Container.class, ComponentMutation.class
+        );
+        
+        ColumnarData data = new ColumnarData(1)
+            .addIntColumn("id", "ID", new int[]{1})
+            .addStringColumn("name", "名称", new String[]{"warm-up"});
+        new PageRenderer()
+            .addComponent(new Button("warm-up"))
+            .addComponent(new Input("warm-up").setSuggestions(Collections.singletonList("warm-up")))
+            .addComponent(new Select("warm-up").addOption("warm-up", "warm-up"))
+            .addComponent(Container.card("warm-up").addChild(new DataDisplay("warm-up", 1).setFormat("%,.2f")))
+            .addComponent(new DataTable(data))
+            .render();
+    }
+    
+    /**
+     * 获取JSON对象映射器
+     * <p>
+     * 所有渲染器共用 {@link JsonContext#shared()} 的映射器，只应读取，修改配置会影响全部渲染器。
+     * 
+     * @return 共享的对象映射器
+     * @deprecated 改用 {@link JsonContext#shared()} 提供的读取器和写入器
+     */
+    @Deprecated
+    public ObjectMapper getObjectMapper() {
+        return JsonContext.shared().mapper();
+    }
     
     /**
      * 添加组件
@@ -60,7 +264,52 @@ public class PageRenderer {
      * @return 当前渲染器
      */
     public PageRenderer addComponent(UIComponent component) {
-        this.components.add(component);
+        this.componentIndex.add(components, component);
+        return this;
+    }
+    
+    /**
+     * 移除顶层组件
+     * 
+     * @param component UI组件
+     * @return 是否移除
+     */
+    public boolean removeComponent(UIComponent component) {
+        return this.componentIndex.remove(components, component);
+    }
+    
+    /**
+     * 设置组件列表，列表内容会被复制
+     * 
+     * @param components 组件列表
+     * @return 当前渲染器
+     */
+    public PageRenderer setComponents(List<UIComponent> components) {
+        this.components = new ComponentList(components);
+        this.componentIndex.invalidate();
+        return this;
+    }
+    
+    /**
+     * 强制组件索引在下次查找时重建
+     * <p>
+     * 组件列表、容器子组件和组件ID的变化会被自动跟踪，只有绕过它们修改组件树时才需要调用。
+     * 
+     * @return 当前渲染器
+     */
+    public PageRenderer reindex() {
+        this.componentIndex.invalidate();
+        return this;
+    }
+    
+    /**
+     * 添加外部样式表
+     * 
+     * @param href 样式表地址
+     * @return 当前渲染器
+     */
+    public PageRenderer addStylesheet(String href) {
+        this.stylesheets.add(href);
         return this;
     }
     
@@ -73,9 +322,39 @@ public class PageRenderer {
      */
     public PageRenderer addCallback(String name, String code) {
         this.callbacks.put(name, code);
+        this.callbackBundle = null;
+        return this;
+    }
+    
+    /**
+     * 设置回调函数映射
+     * 
+     * @param callbacks 函数名到JavaScript代码的映射
+     * @return 当前渲染器
+     */
+    public PageRenderer setCallbacks(Map<String, String> callbacks) {
+        this.callbacks = callbacks;
+        this.callbackBundle = null;
         return this;
     }
     
+    /**
+     * 获取回调函数脚本包，回调集合未变化时复用
+     * 
+     * @return 脚本包
+     */
+    public CallbackBundle getCallbackBundle() {
+        CallbackBundle bundle = callbackBundle;
+        // 回调映射也可能被直接修改，按内容哈希兜底校验
+        int hash = callbacks.hashCode();
+        if (bundle == null || hash != callbackBundleHash) {
+            bundle = CallbackBundle.of(callbacks);
+            callbackBundleHash = hash;
+            callbackBundle = bundle;
+        }
+        return bundle;
+    }
+    
     /**
      * 设置默认主题模式
      * 
@@ -87,12 +366,548 @@ public class PageRenderer {
         return this;
     }
     
+    /**
+     * 设置压缩输出
+     * <p>
+     * 页面外壳在类加载时已分别编译为普通和压缩两份模板，组件按模式选择缩进，
+     * 切换后已缓存的组件片段失效重建，此后渲染不再有额外开销。
+     * 
+     * @param minify 是否压缩
+     * @return 当前渲染器
+     */
+    public PageRenderer setMinify(boolean minify) {
+        if (this.minify != minify) {
+            this.minify = minify;
+            fragmentCache.clear();
+        }
+        return this;
+    }
+    
+    /**
+     * 获取服务器端事件分发器，用于按组件ID或类型注册事件处理器
+     * 
+     * @return 事件分发器
+     */
+    public EventDispatcher events() {
+        return events;
+    }
+    
+    /**
+     * 查询输入框的输入建议
+     * 
+     * @param componentId 输入框ID
+     * @param query 当前输入
+     * @param limit 最大条数
+     * @return 匹配的建议，组件不存在或未启用建议时返回空列表
+     */
+    public List<String> suggest(String componentId, String query, int limit) {
+        UIComponent component = findComponent(componentId);
+        if (component instanceof Input) {
+            return ((Input) component).suggest(query, limit);
+        }
+        return Collections.emptyList();
+    }
+    
+    /**
+     * 按请求参数查询表格并渲染一页
+     * <p>
+     * 查询条件只属于本次请求，以表格自身的状态为默认值，不修改共享的表格组件，
+     * 各客户端的排序、过滤和翻页互不影响。
+     * 
+     * @param componentId 表格ID
+     * @param params 查询参数 (sort: 排序列, desc: 是否降序, page: 页码, filter.列名: 过滤条件)
+     * @return 该页的表体、页脚HTML及分页信息
+     * @throws IllegalArgumentException 表格不存在、页码或过滤条件无法解析时抛出
+     */
+    public Map<String, Object> queryTable(String componentId, Map<String, String> params) {
+        UIComponent component = findComponent(componentId);
+        if (!(component instanceof DataTable)) {
+            throw new IllegalArgumentException("表格不存在: " + componentId);
+        }
+        DataTable table = (DataTable) component;
+        
+        TableQuery query = table.toQuery();
+        for (Map.Entry<String, String> entry : params.entrySet()) {
+            if (entry.getKey().startsWith("filter.")) {
+                String column = entry.getKey().substring("filter.".length());
+                if (entry.getValue() == null || entry.getValue().trim().isEmpty()) {
+                    query.getFilters().remove(column);
+                } else {
+                    query.getFilters().put(column, entry.getValue());
+                }
+            }
+        }
+        if (params.containsKey("sort")) {
+            String sort = params.get("sort");
+            query.setSortColumn(sort == null || sort.isEmpty() ? null : sort);
+        }
+        if (params.containsKey("desc")) {
+            query.setDescending(Boolean.parseBoolean(params.get("desc")));
+        }
+        if (params.containsKey("page")) {
+            try {
+                query.setPage(Integer.parseInt(params.get("page")));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("无效的页码: " + params.get("page"), e);
+            }
+        }
+        
+        TablePage page = table.query(query);
+        StringBuilder html = RenderBuffers.acquire(0);
+        renderTableRows(table, page, html);
+        String body = html.toString();
+        html.setLength(0);
+        renderTableFooter(table, page, html);
+        String footer = RenderBuffers.finish(html);
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("body", body);
+        result.put("footer", footer);
+        result.put("sortColumn", query.getSortColumn());
+        result.put("descending", query.isDescending());
+        result.put("page", page.getPage());
+        result.put("pageCount", page.getPageCount());
+        result.put("total", page.getTotal());
+        return result;
+    }
+    
+    /**
+     * 按ID查找组件
+     * 
+     * @param componentId 组件ID
+     * @return 组件，不存在时返回null
+     */
+    public UIComponent findComponent(String componentId) {
+        return componentId != null ? componentIndex.get(componentId, components) : null;
+    }
+    
+    /**
+     * 按类型查找组件
+     * 
+     * @param type 组件类型
+     * @return 该类型的全部组件 (含容器内的子组件)
+     */
+    public List<UIComponent> findComponentsByType(String type) {
+        return componentIndex.getByType(type, components);
+    }
+    
+    /**
+     * 渲染单个组件 (含子树) 的HTML
+     * 
+     * @param componentId 组件ID
+     * @return HTML字符串，组件不存在时返回null
+     */
+    public String renderComponent(String componentId) {
+        ComponentFragment fragment = renderFragment(componentId);
+        return fragment != null ? fragment.getHtml() : null;
+    }
+    
+    /**
+     * 渲染单个组件 (含子树)，附带随内容变化的实体标签
+     * 
+     * @param componentId 组件ID
+     * @return 组件片段，组件不存在时返回null
+     */
+    public ComponentFragment renderFragment(String componentId) {
+        UIComponent component = findComponent(componentId);
+        return component != null ? fragmentCache.fragment(component, new TreeRenderer()) : null;
+    }
+    
+    /**
+     * 组件树的当前修订号
+     * <p>
+     * 即组件树内最大的组件修订号，任一组件或组件树结构变化后增大。页面脚本记录渲染时的修订号，
+     * 发送更新时带回，用于 {@link #renderChanges(long)}。
+     * 
+     * @return 修订号
+     */
+    public long revision() {
+        return componentIndex.revision(components);
+    }
+    
+    /**
+     * 组件树的结构版本
+     * 
+     * @return 本页面的组件列表增删或组件ID、类型变化后递增
+     */
+    long structureVersion() {
+        return componentIndex.structureVersion(components);
+    }
+    
+    /**
+     * 渲染指定修订号之后发生变化的组件子树
+     * <p>
+     * 只返回变化路径上最上层的子树，浏览器端按组件ID整体替换；
+     * 顶层组件列表本身发生变化时返回null，应整页刷新。不修改渲染器状态，各客户端按自己的修订号独立获取。
+     * 应先调用 {@link #revision()} 取得新的修订号再获取差异，使期间发生的变化在下一次差异中重发。
+     * 
+     * @param since 客户端已有的修订号
+     * @return 组件ID到新HTML的映射
+     */
+    public Map<String, String> renderChanges(long since) {
+        return fragmentCache.renderChanges(components, since, new TreeRenderer());
+    }
+    
+    /**
+     * 页面版本
+     * <p>
+     * 由页面设置的哈希和组件树修订号组成，不渲染也不遍历组件树；页面设置、任一组件状态或组件树结构变化时随之变化，
+     * 可用于判断缓存的整页HTML是否仍然有效。
+     * 
+     * @return 页面版本
+     */
+    public long pageVersion() {
+        long settings = Objects.hash(title, stylesheets, customStyles, customScripts, callbacks, externalCallbacks, minify, classAliasing, defaultTheme, pollInterval);
+        return revision() * 31 + settings;
+    }
+    
     /**
      * 渲染完整HTML页面
      * 
      * @return HTML字符串
      */
     public String render() {
+        return render(SessionOverlay.View.EMPTY);
+    }
+    
+    /**
+     * 异步渲染完整HTML页面，在公共线程池上渲染
+     * 
+     * @param timeoutMillis 等待数据的期限 (毫秒)
+     * @return 渲染结果
+     * @see #renderAsync(long, Executor)
+     */
+    public CompletableFuture<String> renderAsync(long timeoutMillis) {
+        return renderAsync(timeoutMillis, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * 异步渲染完整HTML页面
+     * <p>
+     * 并发获取所有带异步数据源的数据显示组件的值，全部就绪或到达期限后渲染，页面耗时取决于最慢的数据源
+     * 而不是全部数据源之和。本次获取的值和占位状态只作用于本次渲染的视图，并发的调用互不影响；
+     * 到期仍未就绪的组件显示占位文本，值就绪后写回组件并作为组件变更通过 {@link #events()} 的监听器推送，
+     * 早于其他调用发起、却晚于它们写入的值不覆盖较新的值；获取失败的组件保留原有的值。
+     * 
+     * @param timeoutMillis 等待数据的期限 (毫秒)
+     * @param executor 执行渲染的线程池，不占用计时线程
+     * @return 渲染结果
+     */
+    public CompletableFuture<String> renderAsync(long timeoutMillis, Executor executor) {
+        long generation = asyncGeneration.incrementAndGet();
+        List<DataDisplay> displays = new ArrayList<>();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (UIComponent component : findComponentsByType("dataDisplay")) {
+            if (component instanceof DataDisplay && ((DataDisplay) component).getValueSource() != null) {
+                DataDisplay display = (DataDisplay) component;
+                CompletableFuture<?> future;
+                try {
+                    future = display.getValueSource().get().toCompletableFuture();
+                } catch (RuntimeException e) {
+                    future = new CompletableFuture<>();
+                    future.completeExceptionally(e);
+                }
+                displays.add(display);
+                futures.add(future);
+            }
+        }
+        Set<UIComponent> current = Collections.newSetFromMap(new IdentityHashMap<>());
+        current.addAll(displays);
+        synchronized (asyncGenerations) {
+            // 只保留仍在页面中的组件
+            asyncGenerations.keySet().retainAll(current);
+        }
+        if (futures.isEmpty()) {
+            return CompletableFuture.completedFuture(render());
+        }
+        
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+        CompletableFuture<Void> deadline = new CompletableFuture<>();
+        ScheduledFuture<?> timer = Deadlines.EXECUTOR.schedule(() -> deadline.complete(null), timeoutMillis, TimeUnit.MILLISECONDS);
+        all.whenComplete((result, error) -> timer.cancel(false));
+        
+        return CompletableFuture.anyOf(all, deadline).handleAsync((result, error) -> {
+            Map<UIComponent, UIComponent> substitutes = new IdentityHashMap<>();
+            for (int i = 0; i < displays.size(); i++) {
+                resolveValue(displays.get(i), futures.get(i), generation, substitutes);
+            }
+            return render(SessionOverlay.View.of(components, substitutes));
+        }, executor);
+    }
+    
+    /**
+     * 按本次调用的取值生成组件在视图中的拷贝；已就绪的值同时写回组件，未就绪时显示占位文本，就绪后写回并推送变更
+     * 
+     * @param display 数据显示组件
+     * @param future 异步值
+     * @param generation 调用序号
+     * @param substitutes 本次渲染的组件替代映射
+     */
+    private void resolveValue(DataDisplay display, CompletableFuture<?> future, long generation, Map<UIComponent, UIComponent> substitutes) {
+        if (!future.isDone()) {
+            substitutes.put(display, copyOf(display).setLoading(true));
+            future.whenComplete((value, error) -> applyValue(display, future, generation, true));
+            return;
+        }
+        if (!future.isCompletedExceptionally()) {
+            substitutes.put(display, copyOf(display).setValue(future.join()).setLoading(false));
+        }
+        applyValue(display, future, generation, false);
+    }
+    
+    /**
+     * 拷贝数据显示组件
+     * 
+     * @param display 数据显示组件
+     * @return 拷贝
+     */
+    private static DataDisplay copyOf(DataDisplay display) {
+        synchronized (display) {
+            return (DataDisplay) display.copy();
+        }
+    }
+    
+    /**
+     * 写入已完成的异步值，较新的调用已写入时保留组件现有的值
+     * 
+     * @param display 数据显示组件
+     * @param future 已完成的异步值
+     * @param generation 调用序号
+     * @param push 是否推送变更，推送时总是携带组件当前的值，使显示占位文本的页面结束加载
+     */
+    private void applyValue(DataDisplay display, CompletableFuture<?> future, long generation, boolean push) {
+        Object value;
+        try {
+            value = future.join();
+        } catch (CompletionException | CancellationException e) {
+            log.warn("获取组件 {} 的数据失败", display.getId(), e.getCause() != null ? e.getCause() : e);
+            if (push) {
+                String formattedValue;
+                synchronized (display) {
+                    formattedValue = display.getFormattedValue();
+                }
+                events.publish(Collections.singletonList(new ComponentMutation(display.getId())
+                    .put("loading", false)
+                    .put("formattedValue", formattedValue)));
+            }
+            return;
+        }
+        String formattedValue;
+        synchronized (display) {
+            if (claimGeneration(display, generation)) {
+                // 值未变化时不写入，避免每次异步渲染都推进修订号、使各级渲染缓存失效
+                if (!Objects.equals(display.getValue(), value)) {
+                    display.setValue(value);
+                }
+            } else {
+                value = display.getValue();
+            }
+            formattedValue = display.getFormattedValue();
+        }
+        if (push) {
+            events.publish(Collections.singletonList(new ComponentMutation(display.getId())
+                .put("value", value)
+                .put("formattedValue", formattedValue)
+                .put("loading", false)));
+        }
+    }
+    
+    /**
+     * 记录组件最近一次写入的调用序号
+     * 
+     * @param display 数据显示组件
+     * @param generation 调用序号
+     * @return 没有更新的调用写入过时返回true
+     */
+    private boolean claimGeneration(DataDisplay display, long generation) {
+        synchronized (asyncGenerations) {
+            Long applied = asyncGenerations.get(display);
+            if (applied != null && applied > generation) {
+                return false;
+            }
+            asyncGenerations.put(display, generation);
+            return true;
+        }
+    }
+    
+    /**
+     * 按会话覆盖视图渲染完整HTML页面
+     * 
+     * @param view 覆盖视图
+     * @return HTML字符串
+     */
+    String render(SessionOverlay.View view) {
+        // 按上次输出长度预留容量，并复用线程内的缓冲
+        int lastLength = lastRenderLength;
+        StringBuilder html = RenderBuffers.acquire(lastLength + (lastLength >> 3));
+        try {
+            // 先取修订号再渲染，渲染期间的变化会在之后的差异中重发
+            long revision = revision();
+            PageTemplate template = minify ? MINIFIED_SHELL : SHELL;
+            CallbackBundle bundle = getCallbackBundle();
+            ClassAliases aliases = classAliasing ? classAliases() : null;
+            for (int i = 0; i < template.slotCount(); i++) {
+                html.append(template.segment(i));
+                renderSlot(html, template.slot(i), bundle, view, aliases, revision);
+            }
+            html.append(template.segment(template.slotCount()));
+            lastRenderLength = html.length();
+            return html.toString();
+        } finally {
+            RenderBuffers.release(html);
+        }
+    }
+    
+    /**
+     * 渲染完整HTML页面到共享池的缓冲区
+     * 
+     * @return 缓冲区分段，写出后须关闭以归还缓冲区
+     * @see #renderBuffers(BufferPool)
+     */
+    public RenderedPage renderBuffers() {
+        return renderBuffers(BufferPool.shared());
+    }
+    
+    /**
+     * 渲染完整HTML页面到缓冲区
+     * <p>
+     * 页面外壳的静态片段直接引用预编码的共享缓冲区，动态内容编码写入池化的直接缓冲区，
+     * 不在堆上生成整页的字符串或字节数组。
+     * 
+     * @param pool 缓冲区池
+     * @return 缓冲区分段，写出后须关闭以归还缓冲区
+     */
+    public RenderedPage renderBuffers(BufferPool pool) {
+        return renderBuffers(pool, SessionOverlay.View.EMPTY);
+    }
+    
+    /**
+     * 按会话覆盖视图渲染完整HTML页面到缓冲区
+     * 
+     * @param pool 缓冲区池
+     * @param view 覆盖视图
+     * @return 缓冲区分段，写出后须关闭以归还缓冲区
+     */
+    RenderedPage renderBuffers(BufferPool pool, SessionOverlay.View view) {
+        long revision = revision();
+        PageTemplate template = minify ? MINIFIED_SHELL : SHELL;
+        CallbackBundle bundle = getCallbackBundle();
+        ClassAliases aliases = classAliasing ? classAliases() : null;
+        RenderedPage page = new RenderedPage(pool);
+        StringBuilder dynamic = RenderBuffers.acquire(0);
+        try {
+            for (int i = 0; i < template.slotCount(); i++) {
+                page.appendShared(template.segmentBuffer(i));
+                dynamic.setLength(0);
+                renderSlot(dynamic, template.slot(i), bundle, view, aliases, revision);
+                page.append(dynamic);
+            }
+            page.appendShared(template.segmentBuffer(template.slotCount()));
+            page.finish();
+        } catch (RuntimeException e) {
+            page.close();
+            throw e;
+        } finally {
+            RenderBuffers.release(dynamic);
+        }
+        return page;
+    }
+    
+    /**
+     * 填充页面外壳中的动态内容
+     * 
+     * @param html 输出缓冲
+     * @param slot 插槽编号
+     * @param bundle 回调函数脚本包
+     * @param view 会话覆盖视图
+     * @param aliases 类名别名表，未启用时为null
+     * @param revision 渲染开始时的组件树修订号
+     */
+    private void renderSlot(StringBuilder html, int slot, CallbackBundle bundle, SessionOverlay.View view, ClassAliases aliases, long revision) {
+        switch (slot) {
+            case SLOT_TITLE:
+                html.append(title);
+                break;
+            case SLOT_STYLESHEETS:
+                for (String stylesheet : stylesheets) {
+                    html.append(indent(4)).append("<link rel=\"stylesheet\" href=\"");
+                    appendEscaped(html, stylesheet);
+                    html.append("\">\n");
+                }
+                break;
+            case SLOT_CUSTOM_STYLES:
+                html.append(customStyles);
+                break;
+            case SLOT_COMPONENTS:
+                // 未变化的子树复用缓存
+                int start = html.length();
+                fragmentCache.render(components, html, new TreeRenderer(), view);
+                if (aliases != null) {
+                    aliases.rewrite(html, start);
+                }
+                break;
+            case SLOT_DEFAULT_THEME:
+                html.append(defaultTheme);
+                break;
+            case SLOT_COMPONENTS_JSON:
+                html.append(renderComponentsJson(view));
+                break;
+            case SLOT_POLL_INTERVAL:
+                html.append(pollInterval);
+                break;
+            case SLOT_CALLBACKS:
+                if (!externalCallbacks) {
+                    html.append(bundle.getScript());
+                }
+                break;
+            case SLOT_CALLBACK_SCRIPT:
+                if (externalCallbacks && !bundle.isEmpty()) {
+                    html.append(indent(4)).append("<script src=\"").append(bundle.getPath()).append("\"></script>\n");
+                }
+                break;
+            case SLOT_CLASS_ALIASES:
+                if (aliases != null) {
+                    html.append(aliases.stylesheet());
+                }
+                break;
+            case SLOT_PAGE_REVISION:
+                html.append(revision);
+                break;
+            default:
+                throw new IllegalStateException("未知的模板插槽: " + slot);
+        }
+    }
+    
+    /**
+     * 获取当前页面版本的类名别名表
+     * <p>
+     * 页面版本变化时按基础组件树的输出重新统计，同一版本的各次渲染 (包括会话覆盖) 共用一张表；
+     * 会话中被覆盖组件的类名不在表中时保持原样。
+     * 
+     * @return 类名别名表
+     */
+    private ClassAliases classAliases() {
+        long version = pageVersion();
+        ClassAliases aliases = classAliases;
+        if (aliases == null || aliases.version() != version) {
+            StringBuilder html = RenderBuffers.acquire(0);
+            try {
+                fragmentCache.render(components, html, new TreeRenderer());
+                aliases = ClassAliases.build(html, version, minify);
+            } finally {
+                RenderBuffers.release(html);
+            }
+            classAliases = aliases;
+        }
+        return aliases;
+    }
+    
+    /**
+     * 生成页面外壳的模板源文本，动态内容以插槽标记占位，类加载时编译一次
+     * 
+     * @return 模板源文本
+     */
+    private static String shellSource() {
         StringBuilder html = new StringBuilder();
         
         // HTML头部
@@ -101,7 +916,9 @@ public class PageRenderer {
         html.append("<head>\n");
         html.append("    <meta charset=\"UTF-8\">\n");
         html.append("    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n");
-        html.append("    <title>").append(title).append("</title>\n");
+        html.append("    <title>");
+        PageTemplate.slot(html, SLOT_TITLE);
+        html.append("</title>\n");
         html.append("    <script src=\"https://cdn.tailwindcss.com\"></script>\n");
         html.append("    <script>\n");
         html.append("        tailwind.config = {\n");
@@ -126,16 +943,20 @@ public class PageRenderer {
         html.append("            color: white !important;\n");
         html.append("        }\n");
         html.append("    </style>\n");
+        PageTemplate.slot(html, SLOT_STYLESHEETS);
         html.append("    <style>\n");
-        html.append(customStyles);
+        PageTemplate.slot(html, SLOT_CUSTOM_STYLES);
         html.append("    </style>\n");
+        PageTemplate.slot(html, SLOT_CLASS_ALIASES);
         html.append("</head>\n");
         html.append("<body class=\"bg-gray-50 dark:bg-gray-900 min-h-screen transition-colors duration-200\">\n");
         
         // 页面容器
         html.append("    <div class=\"container mx-auto px-4 py-8\">\n");
         html.append("        <div class=\"flex justify-between items-center mb-8\">\n");
-        html.append("            <h1 class=\"text-3xl font-bold text-gray-900 dark:text-white\">").append(title).append("</h1>\n");
+        html.append("            <h1 class=\"text-3xl font-bold text-gray-900 dark:text-white\">");
+        PageTemplate.slot(html, SLOT_TITLE);
+        html.append("</h1>\n");
         html.append("            <button id=\"theme-toggle\" class=\"p-2 rounded-lg bg-gray-200 dark:bg-gray-700 hover:bg-gray-300 dark:hover:bg-gray-600 transition-colors duration-200\">\n");
         html.append("                <svg id=\"sun-icon\" class=\"w-5 h-5 text-gray-800 dark:text-gray-200 hidden\" fill=\"currentColor\" viewBox=\"0 0 20 20\">\n");
         html.append("                    <path fill-rule=\"evenodd\" d=\"M10 2a1 1 0 011 1v1a1 1 0 11-2 0V3a1 1 0 011-1zm4 8a4 4 0 11-8 0 4 4 0 018 0zm-.464 4.95l.707.707a1 1 0 001.414-1.414l-.707-.707a1 1 0 00-1.414 1.414zm2.12-10.607a1 1 0 010 1.414l-.706.707a1 1 0 11-1.414-1.414l.707-.707a1 1 0 011.414 0zM17 11a1 1 0 100-2h-1a1 1 0 100 2h1zm-7 4a1 1 0 011 1v1a1 1 0 11-2 0v-1a1 1 0 011-1zM5.05 6.464A1 1 0 106.465 5.05l-.708-.707a1 1 0 00-1.414 1.414l.707.707zm1.414 8.486l-.707.707a1 1 0 01-1.414-1.414l.707-.707a1 1 0 011.414 1.414zM4 11a1 1 0 100-2H3a1 1 0 000 2h1z\" clip-rule=\"evenodd\"></path>\n");
@@ -150,9 +971,7 @@ public class PageRenderer {
         html.append("        <div class=\"space-y-4 dark:text-white\">\n");
         
         // 渲染组件
-        for (UIComponent component : components) {
-            html.append(renderComponent(component));
-        }
+        PageTemplate.slot(html, SLOT_COMPONENTS);
         
         html.append("        </div>\n");
         
@@ -161,7 +980,9 @@ public class PageRenderer {
         // JavaScript代码
         html.append("    <script>\n");
         html.append("        // 主题管理\n");
-        html.append("        const defaultTheme = '").append(defaultTheme).append("';\n");
+        html.append("        const defaultTheme = '");
+        PageTemplate.slot(html, SLOT_DEFAULT_THEME);
+        html.append("';\n");
         html.append("        let currentTheme = localStorage.getItem('theme') || defaultTheme;\n");
         html.append("        \n");
         html.append("        // 初始化主题\n");
@@ -219,17 +1040,23 @@ public class PageRenderer {
         html.append("            });\n");
         html.append("        }\n");
         html.append("        \n");
-        html.append("        // 组件数据\n");
-        html.append("        const components = ").append(renderComponentsJson()).append(";\n");
+        html.append("        // 组件数据，按组件ID索引\n");
+        html.append("        const components = ");
+        PageTemplate.slot(html, SLOT_COMPONENTS_JSON);
+        html.append(";\n");
+        html.append("        \n");
+        html.append("        // 合并组件状态并更新对应元素\n");
+        html.append("        function renderComponent(component) {\n");
+        html.append("            components[component.id] = Object.assign(components[component.id] || {}, component);\n");
+        html.append("            const element = document.getElementById(component.id);\n");
+        html.append("            if (element) {\n");
+        html.append("                updateComponent(element, component);\n");
+        html.append("            }\n");
+        html.append("        }\n");
         html.append("        \n");
-        html.append("        // 渲染组件\n");
+        html.append("        // 按组件数据重新应用全部组件的样式 (服务器渲染的HTML已包含初始状态，加载时无需调用)\n");
         html.append("        function renderComponents() {\n");
-        html.append("            components.forEach(component => {\n");
-        html.append("                const element = document.getElementById(component.id);\n");
-        html.append("                if (element) {\n");
-        html.append("                    updateComponent(element, component);\n");
-        html.append("                }\n");
-        html.append("            });\n");
+        html.append("            Object.keys(components).forEach(id => renderComponent(components[id]));\n");
         html.append("        }\n");
         html.append("        \n");
         html.append("        // 更新组件\n");
@@ -245,54 +1072,344 @@ public class PageRenderer {
         html.append("            }\n");
         html.append("        }\n");
         html.append("        \n");
-        html.append("        // 发送更新请求\n");
-        html.append("        function sendUpdate(componentId, data) {\n");
-        html.append("            fetch('/update', {\n");
+        html.append("        // 所有事件属性都经由此函数调用回调，回调的参数统一为触发的事件\n");
+        html.append("        function callCallback(name, event) {\n");
+        html.append("            const callback = window[name];\n");
+        html.append("            if (typeof callback !== 'function') {\n");
+        html.append("                console.error('未定义的回调函数: ' + name);\n");
+        html.append("                return;\n");
+        html.append("            }\n");
+        html.append("            return callback(event);\n");
+        html.append("        }\n");
+        html.append("        \n");
+        html.append("        // 回调限流\n");
+        html.append("        const callbackTimers = {};\n");
+        html.append("        const callbackLastRun = {};\n");
+        html.append("        const callbackEvents = {};\n");
+        html.append("        const latestOnlyComponents = {};\n");
+        html.append("        function invokeCallback(id, name, event, options) {\n");
+        html.append("            if (options.latestOnly) {\n");
+        html.append("                latestOnlyComponents[id] = true;\n");
+        html.append("            }\n");
+        html.append("            callbackEvents[id] = event;\n");
+        html.append("            const run = function() {\n");
+        html.append("                callbackTimers[id] = null;\n");
+        html.append("                callbackLastRun[id] = Date.now();\n");
+        html.append("                callCallback(name, callbackEvents[id]);\n");
+        html.append("            };\n");
+        html.append("            if (options.debounce > 0) {\n");
+        html.append("                clearTimeout(callbackTimers[id]);\n");
+        html.append("                callbackTimers[id] = setTimeout(run, options.debounce);\n");
+        html.append("                return;\n");
+        html.append("            }\n");
+        html.append("            if (options.throttle > 0) {\n");
+        html.append("                const elapsed = Date.now() - (callbackLastRun[id] || 0);\n");
+        html.append("                if (elapsed >= options.throttle && !callbackTimers[id]) {\n");
+        html.append("                    run();\n");
+        html.append("                } else if (!callbackTimers[id]) {\n");
+        html.append("                    // 节流窗口结束时补发最后一次调用\n");
+        html.append("                    callbackTimers[id] = setTimeout(run, options.throttle - elapsed);\n");
+        html.append("                }\n");
+        html.append("                return;\n");
+        html.append("            }\n");
+        html.append("            run();\n");
+        html.append("        }\n");
+        html.append("        \n");
+        html.append("        // 页面已有的组件树修订号，更新时带回服务器以获取此后变化的组件\n");
+        html.append("        let pageRevision = ");
+        PageTemplate.slot(html, SLOT_PAGE_REVISION);
+        html.append(";\n");
+        html.append("        \n");
+        html.append("        // 服务器过载 (429/503) 时按 Retry-After 退避重试\n");
+        html.append("        const maxUpdateRetries = 3;\n");
+        html.append("        function postUpdate(componentId, body, attempt) {\n");
+        html.append("            return fetch('/update?since=' + pageRevision, {\n");
         html.append("                method: 'POST',\n");
         html.append("                headers: {\n");
         html.append("                    'Content-Type': 'application/json',\n");
         html.append("                },\n");
-        html.append("                body: JSON.stringify({\n");
-        html.append("                    componentId: componentId,\n");
-        html.append("                    data: data\n");
-        html.append("                })\n");
+        html.append("                body: body\n");
         html.append("            })\n");
-        html.append("            .then(response => response.json())\n");
-        html.append("            .then(data => {\n");
-        html.append("                if (data.components) {\n");
-        html.append("                    data.components.forEach(comp => {\n");
-        html.append("                        const element = document.getElementById(comp.id);\n");
-        html.append("                        if (element) {\n");
-        html.append("                            updateComponent(element, comp);\n");
+        html.append("            .then(response => {\n");
+        html.append("                if ((response.status === 429 || response.status === 503) && attempt < maxUpdateRetries) {\n");
+        html.append("                    // 至少按指数退避等待，并加入随机抖动，避免客户端同时重试\n");
+        html.append("                    const retryAfter = (parseFloat(response.headers.get('Retry-After')) || 0) * 1000;\n");
+        html.append("                    const delay = Math.max(retryAfter, 250 * Math.pow(2, attempt)) * (1 + Math.random() * 0.5);\n");
+        html.append("                    return new Promise(resolve => setTimeout(resolve, delay)).then(() => {\n");
+        html.append("                        // 等待期间已有更新的数据时不再重发旧数据\n");
+        html.append("                        if (latestOnlyComponents[componentId] && pendingUpdates[componentId] !== undefined) {\n");
+        html.append("                            return {};\n");
         html.append("                        }\n");
+        html.append("                        return postUpdate(componentId, body, attempt + 1);\n");
         html.append("                    });\n");
         html.append("                }\n");
+        html.append("                if (!response.ok) {\n");
+        html.append("                    throw new Error('HTTP ' + response.status);\n");
+        html.append("                }\n");
+        html.append("                return response.json();\n");
+        html.append("            });\n");
+        html.append("        }\n");
+        html.append("        \n");
+        html.append("        // 发送更新请求\n");
+        html.append("        const inflightUpdates = {};\n");
+        html.append("        const pendingUpdates = {};\n");
+        html.append("        function sendUpdate(componentId, data) {\n");
+        html.append("            if (latestOnlyComponents[componentId]) {\n");
+        html.append("                // 已有请求在途时只保留最新数据，旧的待发送数据被取消\n");
+        html.append("                if (inflightUpdates[componentId]) {\n");
+        html.append("                    pendingUpdates[componentId] = data;\n");
+        html.append("                    return;\n");
+        html.append("                }\n");
+        html.append("                inflightUpdates[componentId] = true;\n");
+        html.append("            }\n");
+        html.append("            postUpdate(componentId, JSON.stringify({\n");
+        html.append("                componentId: componentId,\n");
+        html.append("                data: data\n");
+        html.append("            }), 0)\n");
+        html.append("            .then(data => {\n");
+        html.append("                if (data.reload) {\n");
+        html.append("                    location.reload();\n");
+        html.append("                    return;\n");
+        html.append("                }\n");
+        html.append("                // 先于其他响应发出、后到达的响应中的片段已过期\n");
+        html.append("                if (data.fragments && !(data.revision < pageRevision)) {\n");
+        html.append("                    Object.keys(data.fragments).forEach(id => swapFragment(id, data.fragments[id]));\n");
+        html.append("                }\n");
+        html.append("                if (data.revision > pageRevision) {\n");
+        html.append("                    pageRevision = data.revision;\n");
+        html.append("                }\n");
+        html.append("                if (data.components) {\n");
+        html.append("                    data.components.forEach(renderComponent);\n");
+        html.append("                }\n");
+        html.append("                if (data.mutations) {\n");
+        html.append("                    data.mutations.forEach(applyMutation);\n");
+        html.append("                }\n");
         html.append("            })\n");
-        html.append("            .catch(error => console.error('Error:', error));\n");
+        html.append("            .catch(error => console.error('Error:', error))\n");
+        html.append("            .finally(() => {\n");
+        html.append("                if (!latestOnlyComponents[componentId]) {\n");
+        html.append("                    return;\n");
+        html.append("                }\n");
+        html.append("                inflightUpdates[componentId] = false;\n");
+        html.append("                if (pendingUpdates[componentId] !== undefined) {\n");
+        html.append("                    const pending = pendingUpdates[componentId];\n");
+        html.append("                    delete pendingUpdates[componentId];\n");
+        html.append("                    sendUpdate(componentId, pending);\n");
+        html.append("                }\n");
+        html.append("            });\n");
+        html.append("        }\n");
+        html.append("        \n");
+        html.append("        // 替换组件子树\n");
+        html.append("        function swapFragment(id, html) {\n");
+        html.append("            const element = document.getElementById(id);\n");
+        html.append("            if (!element) {\n");
+        html.append("                return;\n");
+        html.append("            }\n");
+        html.append("            element.outerHTML = html;\n");
+        html.append("            document.querySelectorAll('input[data-suggest]').forEach(bindSuggest);\n");
+        html.append("        }\n");
+        html.append("        \n");
+        html.append("        // 从服务器获取单个组件的最新HTML并原地替换\n");
+        html.append("        const fragmentTags = {};\n");
+        html.append("        function refreshComponent(id) {\n");
+        html.append("            const headers = fragmentTags[id] ? {'If-None-Match': fragmentTags[id]} : {};\n");
+        html.append("            return fetch('/fragment/' + encodeURIComponent(id), {headers: headers})\n");
+        html.append("                .then(response => {\n");
+        html.append("                    if (response.status === 304 || !response.ok) {\n");
+        html.append("                        return null;\n");
+        html.append("                    }\n");
+        html.append("                    fragmentTags[id] = response.headers.get('ETag');\n");
+        html.append("                    return response.text();\n");
+        html.append("                })\n");
+        html.append("                .then(html => {\n");
+        html.append("                    if (html !== null) {\n");
+        html.append("                        swapFragment(id, html);\n");
+        html.append("                    }\n");
+        html.append("                })\n");
+        html.append("                .catch(error => console.error('Error:', error));\n");
+        html.append("        }\n");
+        html.append("        \n");
+        html.append("        // 应用服务器推送的组件变更\n");
+        html.append("        function applyMutation(mutation) {\n");
+        html.append("            const element = document.getElementById(mutation.componentId);\n");
+        html.append("            if (!element) {\n");
+        html.append("                return;\n");
+        html.append("            }\n");
+        html.append("            const changes = mutation.changes || {};\n");
+        html.append("            if (changes.formattedValue !== undefined) {\n");
+        html.append("                const target = element.querySelector('[data-value]') || element;\n");
+        html.append("                target.textContent = changes.formattedValue;\n");
+        html.append("            } else if (changes.value !== undefined) {\n");
+        html.append("                if (element.tagName === 'INPUT' || element.tagName === 'SELECT') {\n");
+        html.append("                    element.value = changes.value;\n");
+        html.append("                } else {\n");
+        html.append("                    const target = element.querySelector('[data-value]');\n");
+        html.append("                    if (target) {\n");
+        html.append("                        target.textContent = changes.value;\n");
+        html.append("                    }\n");
+        html.append("                }\n");
+        html.append("            }\n");
+        html.append("            updateComponent(element, changes);\n");
+        html.append("        }\n");
+        html.append("        \n");
+        html.append("        // 轮询组件变更\n");
+        html.append("        const pollInterval = ");
+        PageTemplate.slot(html, SLOT_POLL_INTERVAL);
+        html.append(";\n");
+        html.append("        let updateSequence = 0;\n");
+        html.append("        function pollUpdates() {\n");
+        html.append("            fetch('/poll?since=' + updateSequence)\n");
+        html.append("                .then(response => response.json())\n");
+        html.append("                .then(result => {\n");
+        html.append("                    updateSequence = result.sequence;\n");
+        html.append("                    result.mutations.forEach(applyMutation);\n");
+        html.append("                })\n");
+        html.append("                .catch(error => console.error('Error:', error))\n");
+        html.append("                .finally(() => setTimeout(pollUpdates, pollInterval));\n");
+        html.append("        }\n");
+        html.append("        \n");
+        html.append("        // 表格查询\n");
+        html.append("        const tableRequests = {};\n");
+        html.append("        const tableFilterTimers = {};\n");
+        html.append("        // 每个表格的查询状态只保存在浏览器端，每次请求发送完整的排序、过滤和页码\n");
+        html.append("        const tableStates = {};\n");
+        html.append("        function tableState(id) {\n");
+        html.append("            if (!tableStates[id]) {\n");
+        html.append("                const root = document.getElementById(id);\n");
+        html.append("                tableStates[id] = {sort: root.dataset.sort || '', desc: root.dataset.desc === 'true', page: parseInt(root.dataset.page || '0', 10)};\n");
+        html.append("            }\n");
+        html.append("            return tableStates[id];\n");
+        html.append("        }\n");
+        html.append("        function tableQuery(id) {\n");
+        html.append("            // 同一表格只保留最新的请求\n");
+        html.append("            if (tableRequests[id]) {\n");
+        html.append("                tableRequests[id].abort();\n");
+        html.append("            }\n");
+        html.append("            const controller = new AbortController();\n");
+        html.append("            tableRequests[id] = controller;\n");
+        html.append("            const root = document.getElementById(id);\n");
+        html.append("            const state = tableState(id);\n");
+        html.append("            const params = {sort: state.sort, desc: state.desc, page: state.page};\n");
+        html.append("            root.querySelectorAll('[data-filter]').forEach(input => params['filter.' + input.dataset.filter] = input.value);\n");
+        html.append("            const query = Object.keys(params).map(key => encodeURIComponent(key) + '=' + encodeURIComponent(params[key])).join('&');\n");
+        html.append("            fetch('/table?id=' + encodeURIComponent(id) + '&' + query, {signal: controller.signal})\n");
+        html.append("                .then(response => {\n");
+        html.append("                    if (!response.ok) {\n");
+        html.append("                        throw new Error('表格查询失败: ' + response.status);\n");
+        html.append("                    }\n");
+        html.append("                    return response.json();\n");
+        html.append("                })\n");
+        html.append("                .then(result => {\n");
+        html.append("                    state.page = result.page;\n");
+        html.append("                    root.querySelector('[data-table-body]').innerHTML = result.body;\n");
+        html.append("                    root.querySelector('[data-table-footer]').innerHTML = result.footer;\n");
+        html.append("                    root.querySelectorAll('[data-sort-indicator]').forEach(indicator => {\n");
+        html.append("                        indicator.textContent = indicator.dataset.sortIndicator === result.sortColumn ? (result.descending ? ' ▼' : ' ▲') : '';\n");
+        html.append("                    });\n");
+        html.append("                })\n");
+        html.append("                .catch(error => {\n");
+        html.append("                    if (error.name !== 'AbortError') {\n");
+        html.append("                        console.error('Error:', error);\n");
+        html.append("                    }\n");
+        html.append("                });\n");
+        html.append("        }\n");
+        html.append("        function tableSort(id, column) {\n");
+        html.append("            const state = tableState(id);\n");
+        html.append("            state.desc = state.sort === column ? !state.desc : false;\n");
+        html.append("            state.sort = column;\n");
+        html.append("            state.page = 0;\n");
+        html.append("            tableQuery(id);\n");
+        html.append("        }\n");
+        html.append("        function tablePage(id, page) {\n");
+        html.append("            tableState(id).page = page;\n");
+        html.append("            tableQuery(id);\n");
+        html.append("        }\n");
+        html.append("        function tableFilter(id, input) {\n");
+        html.append("            const key = id + '.' + input.dataset.filter;\n");
+        html.append("            clearTimeout(tableFilterTimers[key]);\n");
+        html.append("            tableFilterTimers[key] = setTimeout(function() {\n");
+        html.append("                tableState(id).page = 0;\n");
+        html.append("                tableQuery(id);\n");
+        html.append("            }, 250);\n");
+        html.append("        }\n");
+        html.append("        \n");
+        html.append("        // 输入建议\n");
+        html.append("        function bindSuggest(input) {\n");
+        html.append("            if (input.dataset.suggestBound) {\n");
+        html.append("                return;\n");
+        html.append("            }\n");
+        html.append("            input.dataset.suggestBound = 'true';\n");
+        html.append("            const list = document.getElementById(input.id + '-suggestions');\n");
+        html.append("            const delay = parseInt(input.dataset.suggest, 10) || 0;\n");
+        html.append("            const limit = input.dataset.suggestLimit;\n");
+        html.append("            let timer = null;\n");
+        html.append("            let controller = null;\n");
+        html.append("            input.addEventListener('input', function() {\n");
+        html.append("                clearTimeout(timer);\n");
+        html.append("                timer = setTimeout(function() {\n");
+        html.append("                    // 取消尚未返回的旧请求\n");
+        html.append("                    if (controller) {\n");
+        html.append("                        controller.abort();\n");
+        html.append("                    }\n");
+        html.append("                    const query = input.value;\n");
+        html.append("                    if (!query.trim()) {\n");
+        html.append("                        list.innerHTML = '';\n");
+        html.append("                        return;\n");
+        html.append("                    }\n");
+        html.append("                    controller = new AbortController();\n");
+        html.append("                    fetch('/suggest?id=' + encodeURIComponent(input.id) + '&q=' + encodeURIComponent(query) + '&limit=' + limit, {signal: controller.signal})\n");
+        html.append("                        .then(response => response.json())\n");
+        html.append("                        .then(items => {\n");
+        html.append("                            list.innerHTML = '';\n");
+        html.append("                            items.forEach(item => {\n");
+        html.append("                                const option = document.createElement('option');\n");
+        html.append("                                option.value = item;\n");
+        html.append("                                list.appendChild(option);\n");
+        html.append("                            });\n");
+        html.append("                        })\n");
+        html.append("                        .catch(error => {\n");
+        html.append("                            if (error.name !== 'AbortError') {\n");
+        html.append("                                console.error('Error:', error);\n");
+        html.append("                            }\n");
+        html.append("                        });\n");
+        html.append("                }, delay);\n");
+        html.append("            });\n");
         html.append("        }\n");
         html.append("        \n");
         
         // 添加自定义回调函数
-        for (Map.Entry<String, String> entry : callbacks.entrySet()) {
-            html.append("        ").append(entry.getValue()).append("\n");
-        }
+        PageTemplate.slot(html, SLOT_CALLBACKS);
         
         html.append("        \n");
         html.append("        // 初始化\n");
         html.append("        document.addEventListener('DOMContentLoaded', function() {\n");
         html.append("            initTheme();\n");
-        html.append("            renderComponents();\n");
+        html.append("            document.querySelectorAll('input[data-suggest]').forEach(bindSuggest);\n");
+        html.append("            if (pollInterval > 0) {\n");
+        html.append("                pollUpdates();\n");
+        html.append("            }\n");
         html.append("            \n");
         html.append("            // 绑定主题切换按钮事件\n");
         html.append("            document.getElementById('theme-toggle').addEventListener('click', toggleTheme);\n");
         html.append("        });\n");
         html.append("    </script>\n");
+        PageTemplate.slot(html, SLOT_CALLBACK_SCRIPT);
         html.append("</body>\n");
         html.append("</html>");
         
         return html.toString();
     }
     
+    /**
+     * 当前模式下的缩进
+     * 
+     * @param width 空格数 (4的倍数)
+     * @return 缩进字符串，压缩模式为空
+     */
+    private String indent(int width) {
+        return minify ? "" : INDENTS[width / 4];
+    }
+    
     /**
      * 渲染单个组件
      * 
@@ -300,26 +1417,62 @@ public class PageRenderer {
      * @return HTML字符串
      */
     private String renderComponent(UIComponent component) {
-        StringBuilder html = new StringBuilder();
-        
         switch (component.getType()) {
             case "button":
-                html.append(renderButton(component));
-                break;
+                return renderButton(component);
             case "input":
-                html.append(renderInput(component));
-                break;
+                return renderInput(component);
             case "select":
-                html.append(renderSelect(component));
-                break;
+                return renderSelect(component);
             case "dataDisplay":
-                html.append(renderDataDisplay(component));
-                break;
+                return renderDataDisplay(component);
+            case "dataTable":
+                return renderDataTable(component);
             default:
-                html.append("        <!-- 未知组件类型: ").append(component.getType()).append(" -->\n");
+                return indent(8) + "<!-- 未知组件类型: " + component.getType() + " -->\n";
+        }
+    }
+    
+    /**
+     * 渲染容器开始标签
+     * 
+     * @param container 容器组件
+     * @return HTML字符串
+     */
+    private String renderContainerOpen(Container container) {
+        StringBuilder html = RenderBuffers.acquire(0);
+        html.append(indent(8)).append("<div id=\"").append(container.getId()).append("\" class=\"").append(container.getClassName() != null ? container.getClassName() : "").append("\"");
+        if (!container.isVisible()) {
+            html.append(" style=\"display: none;\"");
         }
+        html.append(">\n");
         
-        return html.toString();
+        // 卡片和分区显示标题
+        if (container.getTitle() != null && !container.getTitle().isEmpty()) {
+            html.append(indent(12)).append("<h2 class=\"text-lg font-semibold text-gray-900 dark:text-white\">").append(container.getTitle()).append("</h2>\n");
+        }
+        return RenderBuffers.finish(html);
+    }
+    
+    /**
+     * 组件树渲染器，供片段缓存回调
+     */
+    private class TreeRenderer implements FragmentCache.NodeRenderer {
+        
+        @Override
+        public String renderLeaf(UIComponent component) {
+            return renderComponent(component);
+        }
+        
+        @Override
+        public String openContainer(Container container) {
+            return renderContainerOpen(container);
+        }
+        
+        @Override
+        public String closeContainer(Container container) {
+            return indent(8) + "</div>\n";
+        }
     }
     
     /**
@@ -336,10 +1489,11 @@ public class PageRenderer {
         }
         
         return String.format(
-            "        <button id=\"%s\" class=\"%s\" %s %s>%s</button>\n",
+            "%s<button id=\"%s\" class=\"%s\" %s %s>%s</button>\n",
+            indent(8),
             component.getId(),
             baseClass,
-            getComponentProperty(component, "onClick", null) != null ? "onclick=\"" + getComponentProperty(component, "onClick", "") + "()\"" : "",
+            renderEventHandler(component, "onclick", getComponentProperty(component, "onClick", null)),
             !component.isVisible() ? "style=\"display: none;\"" : "",
             getComponentProperty(component, "text", "")
         );
@@ -358,8 +1512,9 @@ public class PageRenderer {
             baseClass += " w-full px-3 py-2 border border-gray-300 dark:border-gray-600 rounded-md shadow-sm placeholder-gray-400 dark:placeholder-gray-500 focus:outline-none focus:ring-blue-500 focus:border-blue-500 bg-white dark:bg-gray-700 text-gray-900 dark:text-white disabled:bg-gray-100 dark:disabled:bg-gray-800 disabled:text-gray-500 dark:disabled:text-gray-400 transition-colors duration-200";
         }
         
-        return String.format(
-            "        <input id=\"%s\" type=\"%s\" class=\"%s\" placeholder=\"%s\" value=\"%s\" %s %s %s %s>\n",
+        String html = String.format(
+            "%s<input id=\"%s\" type=\"%s\" class=\"%s\" placeholder=\"%s\" value=\"%s\" %s %s %s %s%s%s>\n",
+            indent(8),
             component.getId(),
             getComponentProperty(component, "inputType", "text"),
             baseClass,
@@ -368,7 +1523,96 @@ public class PageRenderer {
             getComponentProperty(component, "readonly", false) ? "readonly" : "",
             getComponentProperty(component, "disabled", false) ? "disabled" : "",
             getComponentProperty(component, "required", false) ? "required" : "",
-            !component.isVisible() ? "style=\"display: none;\"" : ""
+            !component.isVisible() ? "style=\"display: none;\"" : "",
+            renderSuggestAttributes(component),
+            renderInputEvents(component)
+        );
+        
+        // 输入建议使用datalist承载候选项
+        if (component instanceof Input && ((Input) component).isSuggestEnabled()) {
+            html += indent(8) + "<datalist id=\"" + component.getId() + "-suggestions\"></datalist>\n";
+        }
+        return html;
+    }
+    
+    /**
+     * 渲染输入框的事件属性
+     * 
+     * @param component 输入框组件
+     * @return 属性字符串
+     */
+    private String renderInputEvents(UIComponent component) {
+        StringBuilder attributes = RenderBuffers.acquire(0);
+        String onInput = renderEventHandler(component, "oninput", getComponentProperty(component, "onInput", null));
+        if (!onInput.isEmpty()) {
+            attributes.append(' ').append(onInput);
+        }
+        String onFocus = getComponentProperty(component, "onFocus", null);
+        if (onFocus != null) {
+            attributes.append(' ').append(renderCallbackCall("onfocus", onFocus));
+        }
+        String onBlur = getComponentProperty(component, "onBlur", null);
+        if (onBlur != null) {
+            attributes.append(' ').append(renderCallbackCall("onblur", onBlur));
+        }
+        return RenderBuffers.finish(attributes);
+    }
+    
+    /**
+     * 渲染事件回调属性，设置了防抖、节流或只保留最新请求时经由 invokeCallback 调用
+     * 
+     * @param component 组件
+     * @param attribute 事件属性名
+     * @param callbackName 回调函数名
+     * @return 属性字符串，未设置回调时为空
+     */
+    private String renderEventHandler(UIComponent component, String attribute, String callbackName) {
+        if (callbackName == null) {
+            return "";
+        }
+        int debounce = getComponentProperty(component, "debounce", 0);
+        int throttle = getComponentProperty(component, "throttle", 0);
+        boolean latestOnly = getComponentProperty(component, "latestOnly", false);
+        if (debounce <= 0 && throttle <= 0 && !latestOnly) {
+            return renderCallbackCall(attribute, callbackName);
+        }
+        return String.format(
+            "%s=\"invokeCallback(this.id, '%s', event, {debounce: %d, throttle: %d, latestOnly: %s})\"",
+            attribute,
+            callbackName,
+            debounce,
+            throttle,
+            latestOnly
+        );
+    }
+    
+    /**
+     * 渲染直接调用回调的事件属性，与 invokeCallback 一样经由 callCallback 调用并传入事件
+     * 
+     * @param attribute 事件属性名
+     * @param callbackName 回调函数名
+     * @return 属性字符串
+     */
+    private static String renderCallbackCall(String attribute, String callbackName) {
+        return attribute + "=\"callCallback('" + callbackName + "', event)\"";
+    }
+    
+    /**
+     * 渲染输入建议相关属性
+     * 
+     * @param component 输入框组件
+     * @return 属性字符串
+     */
+    private String renderSuggestAttributes(UIComponent component) {
+        if (!(component instanceof Input) || !((Input) component).isSuggestEnabled()) {
+            return "";
+        }
+        Input input = (Input) component;
+        return String.format(
+            " list=\"%s-suggestions\" autocomplete=\"off\" data-suggest=\"%d\" data-suggest-limit=\"%d\"",
+            input.getId(),
+            input.getSuggestDebounce(),
+            input.getSuggestLimit()
         );
     }
     
@@ -385,19 +1629,20 @@ public class PageRenderer {
             baseClass += " w-full px-3 py-2 border border-gray-300 dark:border-gray-600 rounded-md shadow-sm focus:outline-none focus:ring-blue-500 focus:border-blue-500 bg-white dark:bg-gray-700 text-gray-900 dark:text-white disabled:bg-gray-100 dark:disabled:bg-gray-800 disabled:text-gray-500 dark:disabled:text-gray-400 transition-colors duration-200";
         }
         
-        StringBuilder html = new StringBuilder();
+        StringBuilder html = RenderBuffers.acquire(0);
         html.append(String.format(
-            "        <select id=\"%s\" class=\"%s\" %s %s %s %s>\n",
+            "%s<select id=\"%s\" class=\"%s\" %s %s %s %s>\n",
+            indent(8),
             component.getId(),
             baseClass,
             getComponentProperty(component, "disabled", false) ? "disabled" : "",
             getComponentProperty(component, "required", false) ? "required" : "",
-            getComponentProperty(component, "onChange", null) != null ? "onchange=\"" + getComponentProperty(component, "onChange", "") + "()\"" : "",
+            renderEventHandler(component, "onchange", getComponentProperty(component, "onChange", null)),
             !component.isVisible() ? "style=\"display: none;\"" : ""
         ));
         
         // 添加占位符选项
-        html.append("            <option value=\"\" class=\"bg-white dark:bg-gray-700 text-gray-900 dark:text-white\">").append(getComponentProperty(component, "placeholder", "")).append("</option>\n");
+        html.append(indent(12)).append("<option value=\"\" class=\"bg-white dark:bg-gray-700 text-gray-900 dark:text-white\">").append(getComponentProperty(component, "placeholder", "")).append("</option>\n");
         
         // 添加动态选项
         try {
@@ -412,7 +1657,8 @@ public class PageRenderer {
                         cn.langya.jtailwind.components.Select.SelectOption selectOption = 
                             (cn.langya.jtailwind.components.Select.SelectOption) option;
                         html.append(String.format(
-                            "            <option value=\"%s\"%s class=\"bg-white dark:bg-gray-700 text-gray-900 dark:text-white\">%s</option>\n",
+                            "%s<option value=\"%s\"%s class=\"bg-white dark:bg-gray-700 text-gray-900 dark:text-white\">%s</option>\n",
+                            indent(12),
                             selectOption.getValue() != null ? selectOption.getValue() : "",
                             selectOption.isDisabled() ? " disabled" : "",
                             selectOption.getLabel() != null ? selectOption.getLabel() : ""
@@ -424,8 +1670,8 @@ public class PageRenderer {
             // 如果获取选项失败，忽略错误
         }
         
-        html.append("        </select>\n");
-        return html.toString();
+        html.append(indent(8)).append("</select>\n");
+        return RenderBuffers.finish(html);
     }
     
     /**
@@ -436,12 +1682,18 @@ public class PageRenderer {
      */
     private String renderDataDisplay(UIComponent component) {
         String label = getComponentProperty(component, "label", "");
-        Object valueObj = getComponentProperty(component, "value", "");
-        String value = valueObj != null ? valueObj.toString() : "";
+        String value;
+        if (component instanceof DataDisplay) {
+            DataDisplay display = (DataDisplay) component;
+            value = display.isLoading() ? display.getPlaceholder() : display.getFormattedValue();
+        } else {
+            Object valueObj = getComponentProperty(component, "value", "");
+            value = valueObj != null ? valueObj.toString() : "";
+        }
         boolean showLabel = getComponentProperty(component, "showLabel", false);
         String displayStyle = getComponentProperty(component, "displayStyle", "text");
         
-        StringBuilder html = new StringBuilder();
+        StringBuilder html = RenderBuffers.acquire(0);
         
         // 根据显示样式调整布局
         if ("badge".equals(displayStyle)) {
@@ -451,18 +1703,18 @@ public class PageRenderer {
             // Badge样式，使用内联布局
             if (showLabel && label != null && !label.isEmpty()) {
                 // 有标签的badge，使用水平布局，标签和badge分开
-                html.append("        <div id=\"").append(component.getId()).append("\" class=\"flex items-center space-x-2\"");
+                html.append(indent(8)).append("<div id=\"").append(component.getId()).append("\" class=\"flex items-center space-x-2\"");
                 if (!component.isVisible()) {
                     html.append(" style=\"display: none;\"");
                 }
                 html.append(">\n");
                 
-                html.append("            <span class=\"text-sm font-medium text-gray-700 dark:text-gray-300\">").append(label).append("</span>\n");
-                html.append("            <span class=\"").append(badgeClass).append("\">").append(value).append("</span>\n");
-                html.append("        </div>\n");
+                html.append(indent(12)).append("<span class=\"text-sm font-medium text-gray-700 dark:text-gray-300\">").append(label).append("</span>\n");
+                html.append(indent(12)).append("<span class=\"").append(badgeClass).append("\" data-value>").append(value).append("</span>\n");
+                html.append(indent(8)).append("</div>\n");
             } else {
                 // 没有标签的badge，直接显示
-                html.append("        <span id=\"").append(component.getId()).append("\" class=\"").append(badgeClass).append("\"");
+                html.append(indent(8)).append("<span id=\"").append(component.getId()).append("\" class=\"").append(badgeClass).append("\"");
                 if (!component.isVisible()) {
                     html.append(" style=\"display: none;\"");
                 }
@@ -478,31 +1730,209 @@ public class PageRenderer {
             
             if (showLabel && label != null && !label.isEmpty()) {
                 // 有标签的情况，使用垂直布局
-                html.append("        <div id=\"").append(component.getId()).append("\" class=\"").append(containerClass).append("\"");
+                html.append(indent(8)).append("<div id=\"").append(component.getId()).append("\" class=\"").append(containerClass).append("\"");
                 if (!component.isVisible()) {
                     html.append(" style=\"display: none;\"");
                 }
                 html.append(">\n");
                 
-                html.append("            <label class=\"block text-sm font-medium text-gray-700 dark:text-gray-300 mb-1\">").append(label).append("</label>\n");
-                html.append("            <div class=\"mt-1\">\n");
-                html.append("                <span class=\"text-gray-900 dark:text-white\">").append(value).append("</span>\n");
-                html.append("            </div>\n");
-                html.append("        </div>\n");
+                html.append(indent(12)).append("<label class=\"block text-sm font-medium text-gray-700 dark:text-gray-300 mb-1\">").append(label).append("</label>\n");
+                html.append(indent(12)).append("<div class=\"mt-1\">\n");
+                html.append(indent(16)).append("<span class=\"text-gray-900 dark:text-white\" data-value>").append(value).append("</span>\n");
+                html.append(indent(12)).append("</div>\n");
+                html.append(indent(8)).append("</div>\n");
             } else {
                 // 没有标签的情况，使用内联布局
-                html.append("        <div id=\"").append(component.getId()).append("\" class=\"").append(containerClass).append("\"");
+                html.append(indent(8)).append("<div id=\"").append(component.getId()).append("\" class=\"").append(containerClass).append("\"");
                 if (!component.isVisible()) {
                     html.append(" style=\"display: none;\"");
                 }
                 html.append(">\n");
                 
-                html.append("            <span class=\"text-gray-900 dark:text-white\">").append(value).append("</span>\n");
-                html.append("        </div>\n");
+                html.append(indent(12)).append("<span class=\"text-gray-900 dark:text-white\" data-value>").append(value).append("</span>\n");
+                html.append(indent(8)).append("</div>\n");
             }
         }
         
-        return html.toString();
+        return RenderBuffers.finish(html);
+    }
+    
+    /**
+     * 渲染表格组件，只渲染当前页的行
+     * 
+     * @param component 表格组件
+     * @return HTML字符串
+     */
+    private String renderDataTable(UIComponent component) {
+        DataTable table = (DataTable) component;
+        TablePage page = table.currentPage();
+        List<Column> columns = table.getData().getColumns();
+        String id = component.getId();
+        
+        StringBuilder html = RenderBuffers.acquire(0);
+        html.append(indent(8)).append("<div id=\"").append(id).append("\" class=\"").append(component.getClassName() != null ? component.getClassName() : "").append("\"");
+        if (!component.isVisible()) {
+            html.append(" style=\"display: none;\"");
+        }
+        html.append(" data-sort=\"");
+        appendEscaped(html, table.getSortColumn() != null ? table.getSortColumn() : "");
+        html.append("\" data-desc=\"").append(table.isDescending()).append("\" data-page=\"").append(page.getPage()).append("\">\n");
+        html.append(indent(12)).append("<table class=\"min-w-full divide-y divide-gray-200 dark:divide-gray-700 text-sm\">\n");
+        html.append(indent(16)).append("<thead class=\"bg-gray-50 dark:bg-gray-700\">\n");
+        html.append(indent(20)).append("<tr>\n");
+        for (Column column : columns) {
+            html.append(indent(24)).append("<th class=\"px-4 py-2 text-left font-medium text-gray-700 dark:text-gray-200 cursor-pointer select-none\" onclick=\"tableSort('")
+                .append(id).append("', '");
+            appendJsStringEscaped(html, column.getName());
+            html.append("')\">");
+            appendEscaped(html, column.getLabel());
+            html.append("<span data-sort-indicator=\"");
+            appendEscaped(html, column.getName());
+            html.append("\">");
+            if (column.getName().equals(table.getSortColumn())) {
+                html.append(table.isDescending() ? " ▼" : " ▲");
+            }
+            html.append("</span></th>\n");
+        }
+        html.append(indent(20)).append("</tr>\n");
+        
+        // 过滤输入行
+        if (table.isFilterable()) {
+            html.append(indent(20)).append("<tr>\n");
+            for (Column column : columns) {
+                String filter = table.getFilters().get(column.getName());
+                html.append(indent(24)).append("<th class=\"px-4 py-1\"><input class=\"w-full px-2 py-1 text-sm font-normal border border-gray-300 dark:border-gray-600 rounded bg-white dark:bg-gray-700 text-gray-900 dark:text-white\" data-filter=\"");
+                appendEscaped(html, column.getName());
+                html.append("\" value=\"");
+                appendEscaped(html, filter != null ? filter : "");
+                html.append("\" oninput=\"tableFilter('").append(id).append("', this)\"></th>\n");
+            }
+            html.append(indent(20)).append("</tr>\n");
+        }
+        html.append(indent(16)).append("</thead>\n");
+        
+        html.append(indent(16)).append("<tbody class=\"divide-y divide-gray-200 dark:divide-gray-700\" data-table-body>\n");
+        renderTableRows(table, page, html);
+        html.append(indent(16)).append("</tbody>\n");
+        html.append(indent(12)).append("</table>\n");
+        
+        html.append(indent(12)).append("<div class=\"flex justify-between items-center px-4 py-2 text-sm text-gray-600 dark:text-gray-300\" data-table-footer>\n");
+        renderTableFooter(table, page, html);
+        html.append(indent(12)).append("</div>\n");
+        html.append(indent(8)).append("</div>\n");
+        return RenderBuffers.finish(html);
+    }
+    
+    /**
+     * 渲染表格当前页的行
+     * 
+     * @param table 表格组件
+     * @param page 当前页
+     * @param html 输出缓冲
+     */
+    private void renderTableRows(DataTable table, TablePage page, StringBuilder html) {
+        List<Column> columns = table.getData().getColumns();
+        StringBuilder cell = new StringBuilder();
+        for (int row : page.getRows()) {
+            html.append(indent(20)).append("<tr class=\"text-gray-900 dark:text-white\">");
+            for (Column column : columns) {
+                cell.setLength(0);
+                column.appendCell(cell, row);
+                html.append("<td class=\"px-4 py-2 whitespace-nowrap\">");
+                appendEscaped(html, cell);
+                html.append("</td>");
+            }
+            html.append("</tr>\n");
+        }
+    }
+    
+    /**
+     * 渲染表格页脚 (行数和翻页按钮)
+     * 
+     * @param table 表格组件
+     * @param page 当前页
+     * @param html 输出缓冲
+     */
+    private void renderTableFooter(DataTable table, TablePage page, StringBuilder html) {
+        String id = table.getId();
+        html.append(indent(16)).append("<span>共 ").append(page.getTotal()).append(" 行，第 ")
+            .append(page.getPage() + 1).append(" / ").append(page.getPageCount()).append(" 页</span>\n");
+        html.append(indent(16)).append("<div class=\"space-x-2\">\n");
+        html.append(indent(20)).append("<button class=\"px-3 py-1 rounded bg-gray-200 dark:bg-gray-700 disabled:opacity-50\" onclick=\"tablePage('")
+            .append(id).append("', ").append(page.getPage() - 1).append(")\"").append(page.getPage() == 0 ? " disabled" : "").append(">上一页</button>\n");
+        html.append(indent(20)).append("<button class=\"px-3 py-1 rounded bg-gray-200 dark:bg-gray-700 disabled:opacity-50\" onclick=\"tablePage('")
+            .append(id).append("', ").append(page.getPage() + 1).append(")\"").append(page.getPage() + 1 >= page.getPageCount() ? " disabled" : "").append(">下一页</button>\n");
+        html.append(indent(16)).append("</div>\n");
+    }
+    
+    /**
+     * 追加HTML转义后的文本
+     * 
+     * @param html 输出缓冲
+     * @param text 原始文本
+     */
+    private static void appendEscaped(StringBuilder html, CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    html.append("&lt;");
+                    break;
+                case '>':
+                    html.append("&gt;");
+                    break;
+                case '&':
+                    html.append("&amp;");
+                    break;
+                case '"':
+                    html.append("&quot;");
+                    break;
+                case '\'':
+                    html.append("&#39;");
+                    break;
+                default:
+                    html.append(c);
+            }
+        }
+    }
+    
+    /**
+     * 追加可放入HTML属性中单引号JavaScript字符串的文本，先按JavaScript字符串转义再做HTML转义
+     * 
+     * @param html 输出缓冲
+     * @param text 原始文本
+     */
+    private static void appendJsStringEscaped(StringBuilder html, CharSequence text) {
+        StringBuilder js = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                    js.append("\\\\");
+                    break;
+                case '\'':
+                    js.append("\\'");
+                    break;
+                case '"':
+                    js.append("\\\"");
+                    break;
+                case '\n':
+                    js.append("\\n");
+                    break;
+                case '\r':
+                    js.append("\\r");
+                    break;
+                case '\u2028':
+                    js.append("\\u2028");
+                    break;
+                case '\u2029':
+                    js.append("\\u2029");
+                    break;
+                default:
+                    js.append(c);
+            }
+        }
+        appendEscaped(html, js);
     }
     
     /**
@@ -554,13 +1984,50 @@ public class PageRenderer {
     /**
      * 渲染组件JSON数据
      * 
+     * @param view 会话覆盖视图
      * @return JSON字符串
      */
-    private String renderComponentsJson() {
+    private String renderComponentsJson(SessionOverlay.View view) {
+        Map<String, Object> byId = new LinkedHashMap<>();
+        for (UIComponent component : components) {
+            byId.put(component.getId(), view.isEmpty() ? component : componentJson(component, view));
+        }
         try {
-            return objectMapper.writeValueAsString(components);
+            return JsonContext.shared().writeValueAsString(byId);
         } catch (Exception e) {
-            return "[]";
+            return "{}";
+        }
+    }
+    
+    /**
+     * 异步渲染的期限计时器，首次使用时创建
+     */
+    private static final class Deadlines {
+        
+        static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jtailwind-render-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * 组件在覆盖视图中的JSON数据，子树中有被覆盖的组件时逐层替换子组件
+     * 
+     * @param component 组件
+     * @param view 会话覆盖视图
+     * @return 组件或JSON节点
+     */
+    private Object componentJson(UIComponent component, SessionOverlay.View view) {
+        UIComponent actual = view.resolve(component);
+        if (!view.containsBelow(component)) {
+            return actual;
+        }
+        ObjectNode node = JsonContext.shared().valueToTree(actual);
+        ArrayNode children = node.putArray("children");
+        for (UIComponent child : ((Container) component).getChildren()) {
+            children.add(JsonContext.shared().<JsonNode>valueToTree(componentJson(child, view)));
         }
+        return node;
     }
 }
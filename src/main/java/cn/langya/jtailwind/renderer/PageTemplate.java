@@ -0,0 +1,177 @@
+package cn.langya.jtailwind.renderer;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 预编译的页面模板
+ * <p>
+ * 模板源文本中用插槽标记分隔静态片段和动态内容，编译时切分为片段数组；
+ * 压缩模式在编译时去除缩进、空行和独占一行的注释，渲染时只需依次拼接，不再逐次处理文本。
+ * 静态片段同时预先编码为只读的直接缓冲区，供缓冲区输出路径在所有请求间共享。
+ *
+ * @author LangYa466
+ * @date 2025/3/4
+ */
+final class PageTemplate {
+
+    /**
+     * 插槽标记，不会出现在模板文本中
+     */
+    private static final char MARKER = '\u0000';
+
+    /**
+     * 静态片段，比插槽多一个
+     */
+    private final String[] segments;
+
+    /**
+     * 静态片段的UTF-8编码，只读直接缓冲区
+     */
+    private final ByteBuffer[] encoded;
+
+    /**
+     * 插槽编号，第i个插槽位于第i和第i+1个片段之间
+     */
+    private final int[] slots;
+
+    private PageTemplate(String[] segments, int[] slots) {
+        this.segments = segments;
+        this.slots = slots;
+        this.encoded = new ByteBuffer[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            byte[] bytes = segments[i].getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes);
+            // 经 Buffer 调用，避免在 Java 8 上链接到 JDK 9 新增的 ByteBuffer 重载
+            ((Buffer) buffer).flip();
+            encoded[i] = buffer.asReadOnlyBuffer();
+        }
+    }
+
+    /**
+     * 在模板源文本中写入插槽标记
+     *
+     * @param source 模板源文本
+     * @param slot 插槽编号 (0-9)
+     */
+    static void slot(StringBuilder source, int slot) {
+        source.append(MARKER).append((char) ('0' + slot)).append(MARKER);
+    }
+
+    /**
+     * 编译模板
+     *
+     * @param source 含插槽标记的模板源文本
+     * @param minify 是否压缩
+     * @return 模板
+     */
+    static PageTemplate compile(String source, boolean minify) {
+        List<String> segments = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        int start = 0;
+        int marker;
+        while ((marker = source.indexOf(MARKER, start)) >= 0) {
+            segments.add(source.substring(start, marker));
+            slots.add(source.charAt(marker + 1) - '0');
+            start = marker + 3;
+        }
+        segments.add(source.substring(start));
+        // 按片段压缩，插槽前后的缩进同样去除
+        if (minify) {
+            segments.replaceAll(PageTemplate::minify);
+        }
+
+        int[] slotArray = new int[slots.size()];
+        for (int i = 0; i < slotArray.length; i++) {
+            slotArray[i] = slots.get(i);
+        }
+        return new PageTemplate(segments.toArray(new String[0]), slotArray);
+    }
+
+    /**
+     * 插槽数量
+     *
+     * @return 插槽数量
+     */
+    int slotCount() {
+        return slots.length;
+    }
+
+    /**
+     * 第i个静态片段
+     *
+     * @param index 序号
+     * @return 片段文本
+     */
+    String segment(int index) {
+        return segments[index];
+    }
+
+    /**
+     * 第i个静态片段的编码，返回独立位置的只读视图
+     *
+     * @param index 序号
+     * @return 只读缓冲区
+     */
+    ByteBuffer segmentBuffer(int index) {
+        return encoded[index].duplicate();
+    }
+
+    /**
+     * 第i个插槽的编号
+     *
+     * @param index 序号
+     * @return 插槽编号
+     */
+    int slot(int index) {
+        return slots[index];
+    }
+
+    /**
+     * 逐行去除行首缩进、行尾空白、空行，以及独占一行的 JavaScript、CSS 和 HTML 注释；
+     * 保留换行，不影响脚本的自动分号插入
+     */
+    static String minify(String source) {
+        StringBuilder out = new StringBuilder(source.length());
+        int length = source.length();
+        int start = 0;
+        while (start < length) {
+            int end = source.indexOf('\n', start);
+            boolean newline = end >= 0;
+            if (!newline) {
+                end = length;
+            }
+            int lineStart = start;
+            int lineEnd = end;
+            while (lineStart < lineEnd && isBlank(source.charAt(lineStart))) {
+                lineStart++;
+            }
+            while (lineEnd > lineStart && isBlank(source.charAt(lineEnd - 1))) {
+                lineEnd--;
+            }
+            String line = source.substring(lineStart, lineEnd);
+            if (!line.isEmpty() && !isComment(line)) {
+                out.append(line);
+                if (newline) {
+                    out.append('\n');
+                }
+            }
+            start = end + 1;
+        }
+        return out.toString();
+    }
+
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+
+    private static boolean isComment(String line) {
+        return line.startsWith("//")
+            || (line.startsWith("/*") && line.endsWith("*/"))
+            || (line.startsWith("<!--") && line.endsWith("-->"));
+    }
+}
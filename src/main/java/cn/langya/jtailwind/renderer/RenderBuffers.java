@@ -0,0 +1,97 @@
+package cn.langya.jtailwind.renderer;
+
+/**
+ * 线程内复用的渲染缓冲
+ * <p>
+ * 每个线程保留少量按嵌套深度复用的 {@link StringBuilder}，整页渲染和各组件的渲染方法依次借用，
+ * 稳定状态下不再反复分配和扩容大数组；容量超过上限的缓冲归还时丢弃，避免一次大页面长期占用内存。
+ * 借出和归还须成对、后进先出；嵌套过深时临时分配，不参与复用。
+ *
+ * @author LangYa466
+ * @date 2025/3/6
+ */
+final class RenderBuffers {
+
+    /**
+     * 新建缓冲的初始容量 (字符)
+     */
+    static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * 归还时保留的最大容量 (字符)，超过则丢弃
+     */
+    static final int MAX_RETAINED_CAPACITY = 512 * 1024;
+
+    /**
+     * 复用的最大嵌套深度
+     */
+    private static final int MAX_DEPTH = 4;
+
+    private static final ThreadLocal<RenderBuffers> LOCAL = ThreadLocal.withInitial(RenderBuffers::new);
+
+    /**
+     * 按嵌套深度保留的缓冲
+     */
+    private final StringBuilder[] builders = new StringBuilder[MAX_DEPTH];
+
+    /**
+     * 当前借出的层数
+     */
+    private int depth;
+
+    private RenderBuffers() {
+    }
+
+    /**
+     * 借用一个已清空的缓冲
+     *
+     * @param sizeHint 预计输出长度 (字符)
+     * @return 缓冲
+     */
+    static StringBuilder acquire(int sizeHint) {
+        RenderBuffers local = LOCAL.get();
+        if (local.depth == MAX_DEPTH) {
+            return new StringBuilder(Math.max(sizeHint, 16));
+        }
+        StringBuilder builder = local.builders[local.depth];
+        if (builder == null) {
+            builder = new StringBuilder(Math.max(sizeHint, INITIAL_CAPACITY));
+            local.builders[local.depth] = builder;
+        } else {
+            builder.setLength(0);
+            builder.ensureCapacity(sizeHint);
+        }
+        local.depth++;
+        return builder;
+    }
+
+    /**
+     * 归还缓冲，同时归还在它之后借出、因异常未归还的缓冲
+     *
+     * @param builder 由 {@link #acquire(int)} 借出的缓冲
+     */
+    static void release(StringBuilder builder) {
+        RenderBuffers local = LOCAL.get();
+        for (int i = local.depth - 1; i >= 0; i--) {
+            if (local.builders[i] == builder) {
+                local.depth = i;
+                if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+                    local.builders[i] = null;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 取出内容并归还缓冲
+     *
+     * @param builder 由 {@link #acquire(int)} 借出的缓冲
+     * @return 缓冲内容
+     */
+    static String finish(StringBuilder builder) {
+        String result = builder.toString();
+        release(builder);
+        return result;
+    }
+}
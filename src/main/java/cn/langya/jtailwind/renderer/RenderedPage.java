@@ -0,0 +1,255 @@
+package cn.langya.jtailwind.renderer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 以缓冲区分段表示的渲染结果
+ * <p>
+ * 页面外壳的静态片段引用模板中共享的只读缓冲区，动态内容直接编码为UTF-8写入池化的直接缓冲区，
+ * 整页不会在堆上拼接成一个字节数组；写出时可一次性聚集写入通道。
+ * <p>
+ * 缓冲区只能写出一次，使用完毕后须调用 {@link #close()} 将池化缓冲区归还。
+ * 由 {@link PageCache} 命中返回的页面直接引用缓存的堆外内存，关闭时解除对缓存条目的占用。
+ *
+ * @author LangYa466
+ * @date 2025/3/5
+ */
+public final class RenderedPage implements AutoCloseable {
+
+    /**
+     * 缓冲区池
+     */
+    private final BufferPool pool;
+
+    /**
+     * 按输出顺序排列的分段
+     */
+    private final List<ByteBuffer> segments = new ArrayList<>();
+
+    /**
+     * 从池中借出的缓冲区
+     */
+    private final List<ByteBuffer> pooled = new ArrayList<>();
+
+    /**
+     * 当前写入的池化缓冲区
+     */
+    private ByteBuffer current;
+
+    /**
+     * 当前缓冲区中尚未形成分段的起始位置
+     */
+    private int mark;
+
+    /**
+     * 内容编码，未压缩时为null
+     */
+    private final String contentEncoding;
+
+    /**
+     * 关闭时执行的释放操作
+     */
+    private final Runnable releaseAction;
+
+    /**
+     * 是否已归还
+     */
+    private boolean closed;
+
+    RenderedPage(BufferPool pool) {
+        this.pool = pool;
+        this.contentEncoding = null;
+        this.releaseAction = null;
+    }
+
+    /**
+     * 引用外部内存的只读页面
+     *
+     * @param segments 分段
+     * @param contentEncoding 内容编码，未压缩时为null
+     * @param releaseAction 关闭时执行的释放操作
+     */
+    RenderedPage(ByteBuffer[] segments, String contentEncoding, Runnable releaseAction) {
+        this.pool = null;
+        this.contentEncoding = contentEncoding;
+        this.releaseAction = releaseAction;
+        Collections.addAll(this.segments, segments);
+    }
+
+    /**
+     * 追加共享的只读片段
+     *
+     * @param segment 片段
+     */
+    void appendShared(ByteBuffer segment) {
+        emit();
+        if (segment.hasRemaining()) {
+            segments.add(segment);
+        }
+    }
+
+    /**
+     * 追加动态内容，直接按UTF-8编码写入池化缓冲区
+     *
+     * @param text 文本
+     */
+    void append(CharSequence text) {
+        int length = text.length();
+        if (length == 0) {
+            return;
+        }
+        if (current == null) {
+            nextChunk();
+        }
+        ByteBuffer out = current;
+        int position = out.position();
+        int limit = out.limit();
+        for (int i = 0; i < length; i++) {
+            // 每个字符最多4字节，剩余空间不足时换下一块
+            if (limit - position < 4) {
+                ((Buffer) out).position(position);
+                nextChunk();
+                out = current;
+                position = 0;
+                limit = out.limit();
+            }
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                out.put(position++, (byte) c);
+            } else if (c < 0x800) {
+                out.put(position++, (byte) (0xC0 | (c >> 6)));
+                out.put(position++, (byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                out.put(position++, (byte) (0xF0 | (codePoint >> 18)));
+                out.put(position++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                out.put(position++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                out.put(position++, (byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // 不成对的代理字符与 String.getBytes 一致，替换为 '?'
+                out.put(position++, (byte) '?');
+            } else {
+                out.put(position++, (byte) (0xE0 | (c >> 12)));
+                out.put(position++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put(position++, (byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        ((Buffer) out).position(position);
+    }
+
+    /**
+     * 结束写入
+     */
+    void finish() {
+        emit();
+    }
+
+    /**
+     * 将当前缓冲区中新写入的内容形成分段
+     */
+    private void emit() {
+        if (current != null && current.position() > mark) {
+            ByteBuffer segment = current.duplicate();
+            ((Buffer) segment).limit(current.position());
+            ((Buffer) segment).position(mark);
+            segments.add(segment);
+            mark = current.position();
+        }
+    }
+
+    private void nextChunk() {
+        emit();
+        current = pool.acquire();
+        pooled.add(current);
+        mark = 0;
+    }
+
+    /**
+     * 内容编码，如 {@code gzip}
+     *
+     * @return 内容编码，未压缩时为null
+     */
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * 全部分段，可直接用于聚集写入
+     *
+     * @return 分段数组
+     */
+    public ByteBuffer[] buffers() {
+        return segments.toArray(new ByteBuffer[0]);
+    }
+
+    /**
+     * 尚未写出的字节数
+     *
+     * @return 字节数
+     */
+    public long byteLength() {
+        long length = 0;
+        for (ByteBuffer segment : segments) {
+            length += segment.remaining();
+        }
+        return length;
+    }
+
+    /**
+     * 聚集写入通道
+     *
+     * @param channel 通道
+     * @throws IOException 写入失败
+     */
+    public void writeTo(GatheringByteChannel channel) throws IOException {
+        ByteBuffer[] buffers = buffers();
+        long remaining = byteLength();
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+    }
+
+    /**
+     * 逐段写入输出流，不复制整页
+     *
+     * @param out 输出流
+     * @throws IOException 写入失败
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        WritableByteChannel channel = Channels.newChannel(out);
+        for (ByteBuffer segment : segments) {
+            while (segment.hasRemaining()) {
+                channel.write(segment);
+            }
+        }
+    }
+
+    /**
+     * 归还池化缓冲区，之后不可再写出
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        segments.clear();
+        for (ByteBuffer buffer : pooled) {
+            pool.release(buffer);
+        }
+        pooled.clear();
+        current = null;
+        if (releaseAction != null) {
+            releaseAction.run();
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package cn.langya.jtailwind.renderer;
+
+import cn.langya.jtailwind.components.Container;
+import cn.langya.jtailwind.core.JsonContext;
+import cn.langya.jtailwind.core.UIComponent;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 会话覆盖层
+ * <p>
+ * 所有会话共享同一个基础页面，每个会话只保存被覆盖的组件属性。渲染时被覆盖的组件使用按需创建的浅拷贝，
+ * 其余组件直接复用基础页面缓存的片段，每个会话占用的内存只与覆盖的数量有关，与页面大小无关。
+ * <p>
+ * 基础组件的状态变化后，对应的拷贝在下次渲染时重新创建并再次应用覆盖；
+ * 覆盖引用的组件不存在时被忽略。
+ *
+ * <pre>{@code
+ * SessionOverlay session = new SessionOverlay(basePage)
+ *     .set(userName.getId(), "value", user.getName());
+ * String html = session.render();
+ * }</pre>
+ *
+ * @author LangYa466
+ * @date 2025/3/7
+ */
+public class SessionOverlay {
+
+    /**
+     * 基础页面
+     */
+    private final PageRenderer base;
+
+    /**
+     * 组件ID到被覆盖属性的映射
+     */
+    private final Map<String, Map<String, Object>> overrides = new HashMap<>(4);
+
+    /**
+     * 组件ID到已应用覆盖的拷贝
+     */
+    private final Map<String, Shadow> shadows = new HashMap<>(4);
+
+    /**
+     * 上次生成的视图，组件树结构和覆盖都未变化时复用
+     */
+    private View view;
+
+    /**
+     * 生成视图时的组件树结构版本
+     */
+    private long viewStructureVersion = -1;
+
+    /**
+     * 覆盖的修改次数
+     */
+    private long modifications;
+
+    /**
+     * 构造函数
+     *
+     * @param base 基础页面
+     */
+    public SessionOverlay(PageRenderer base) {
+        this.base = base;
+    }
+
+    /**
+     * 覆盖组件属性
+     *
+     * @param componentId 组件ID
+     * @param property 属性名，与序列化后的JSON字段一致
+     * @param value 新值
+     * @return 当前覆盖层
+     * @throws IllegalArgumentException 覆盖组件ID或类型时抛出
+     */
+    public synchronized SessionOverlay set(String componentId, String property, Object value) {
+        if ("id".equals(property) || "type".equals(property)) {
+            throw new IllegalArgumentException("不能覆盖组件的" + property);
+        }
+        overrides.computeIfAbsent(componentId, id -> new LinkedHashMap<>(4)).put(property, value);
+        shadows.remove(componentId);
+        view = null;
+        modifications++;
+        return this;
+    }
+
+    /**
+     * 移除组件属性的覆盖
+     *
+     * @param componentId 组件ID
+     * @param property 属性名
+     * @return 当前覆盖层
+     */
+    public synchronized SessionOverlay remove(String componentId, String property) {
+        Map<String, Object> changes = overrides.get(componentId);
+        if (changes != null && changes.remove(property) != null) {
+            if (changes.isEmpty()) {
+                overrides.remove(componentId);
+            }
+            shadows.remove(componentId);
+            view = null;
+            modifications++;
+        }
+        return this;
+    }
+
+    /**
+     * 移除全部覆盖
+     *
+     * @return 当前覆盖层
+     */
+    public synchronized SessionOverlay clear() {
+        overrides.clear();
+        shadows.clear();
+        view = null;
+        modifications++;
+        return this;
+    }
+
+    /**
+     * 被覆盖的属性数量
+     *
+     * @return 属性数量
+     */
+    public synchronized int size() {
+        int size = 0;
+        for (Map<String, Object> changes : overrides.values()) {
+            size += changes.size();
+        }
+        return size;
+    }
+
+    /**
+     * 获取基础页面
+     *
+     * @return 基础页面
+     */
+    public PageRenderer getBase() {
+        return base;
+    }
+
+    /**
+     * 会话页面版本，基础页面或覆盖变化时随之变化
+     *
+     * @return 页面版本
+     * @see PageRenderer#pageVersion()
+     */
+    public long version() {
+        long mods;
+        synchronized (this) {
+            mods = modifications;
+        }
+        return base.pageVersion() * 31 + mods;
+    }
+
+    /**
+     * 渲染应用覆盖后的完整HTML页面
+     *
+     * @return HTML字符串
+     */
+    public String render() {
+        return base.render(view());
+    }
+
+    /**
+     * 渲染应用覆盖后的完整HTML页面到缓冲区
+     *
+     * @param pool 缓冲区池
+     * @return 缓冲区分段，写出后须关闭以归还缓冲区
+     */
+    public RenderedPage renderBuffers(BufferPool pool) {
+        return base.renderBuffers(pool, view());
+    }
+
+    /**
+     * 生成当前的覆盖视图，拷贝过期 (基础组件状态变化或组件被替换) 时重新创建
+     *
+     * @return 覆盖视图
+     */
+    synchronized View view() {
+        if (overrides.isEmpty()) {
+            return View.EMPTY;
+        }
+        boolean changed = view == null || viewStructureVersion != base.structureVersion();
+        for (Map.Entry<String, Map<String, Object>> entry : overrides.entrySet()) {
+            String componentId = entry.getKey();
+            UIComponent source = base.findComponent(componentId);
+            Shadow shadow = shadows.get(componentId);
+            if (source == null) {
+                if (shadow != null) {
+                    shadows.remove(componentId);
+                    changed = true;
+                }
+                continue;
+            }
+            if (shadow == null || shadow.source != source || shadow.sourceVersion != source.revision()) {
+                shadows.put(componentId, createShadow(source, entry.getValue()));
+                changed = true;
+            }
+        }
+        if (changed) {
+            long structureVersion = base.structureVersion();
+            Map<UIComponent, UIComponent> substitutes = new IdentityHashMap<>();
+            for (Shadow shadow : shadows.values()) {
+                substitutes.put(shadow.source, shadow.copy);
+            }
+            view = View.of(base.getComponents(), substitutes);
+            viewStructureVersion = structureVersion;
+        }
+        return view;
+    }
+
+    private static Shadow createShadow(UIComponent source, Map<String, Object> changes) {
+        // 先取修订号再拷贝，拷贝期间基础组件被修改时下次会重新拷贝
+        long sourceVersion = source.revision();
+        UIComponent copy = source.copy();
+        try {
+            JsonContext.shared().applyChanges(copy, changes);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("无法覆盖组件 " + source.getId() + " 的属性: " + e.getMessage(), e);
+        }
+        return new Shadow(source, sourceVersion, copy);
+    }
+
+    /**
+     * 找出包含被覆盖组件的全部容器
+     */
+    private static Set<UIComponent> ancestors(List<UIComponent> roots, Map<UIComponent, UIComponent> substitutes) {
+        Set<UIComponent> ancestors = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (UIComponent root : roots) {
+            markAncestors(root, substitutes, ancestors);
+        }
+        return ancestors;
+    }
+
+    private static boolean markAncestors(UIComponent node, Map<UIComponent, UIComponent> substitutes, Set<UIComponent> ancestors) {
+        boolean contains = substitutes.containsKey(node);
+        if (node instanceof Container) {
+            boolean childContains = false;
+            for (UIComponent child : ((Container) node).getChildren()) {
+                childContains |= markAncestors(child, substitutes, ancestors);
+            }
+            if (childContains) {
+                ancestors.add(node);
+            }
+            contains |= childContains;
+        }
+        return contains;
+    }
+
+    /**
+     * 已应用覆盖的组件拷贝
+     */
+    private static final class Shadow {
+
+        /**
+         * 基础组件
+         */
+        final UIComponent source;
+
+        /**
+         * 拷贝时基础组件的修订号
+         */
+        final long sourceVersion;
+
+        /**
+         * 应用覆盖后的拷贝
+         */
+        final UIComponent copy;
+
+        Shadow(UIComponent source, long sourceVersion, UIComponent copy) {
+            this.source = source;
+            this.sourceVersion = sourceVersion;
+            this.copy = copy;
+        }
+    }
+
+    /**
+     * 一次渲染使用的覆盖视图，创建后不再修改
+     */
+    static final class View {
+
+        /**
+         * 无覆盖
+         */
+        static final View EMPTY = new View(Collections.emptyMap(), Collections.emptySet());
+
+        /**
+         * 基础组件到替代拷贝的映射 (按引用)
+         */
+        private final Map<UIComponent, UIComponent> substitutes;
+
+        /**
+         * 子树中含有被覆盖组件的容器
+         */
+        private final Set<UIComponent> ancestors;
+
+        View(Map<UIComponent, UIComponent> substitutes, Set<UIComponent> ancestors) {
+            this.substitutes = substitutes;
+            this.ancestors = ancestors;
+        }
+
+        /**
+         * 按替代映射创建视图
+         *
+         * @param roots 顶层组件
+         * @param substitutes 基础组件到替代拷贝的映射 (按引用)
+         * @return 覆盖视图
+         */
+        static View of(List<UIComponent> roots, Map<UIComponent, UIComponent> substitutes) {
+            return substitutes.isEmpty() ? EMPTY : new View(substitutes, ancestors(roots, substitutes));
+        }
+
+        /**
+         * 是否没有任何覆盖
+         */
+        boolean isEmpty() {
+            return substitutes.isEmpty();
+        }
+
+        /**
+         * 组件在本视图中的实际状态
+         */
+        UIComponent resolve(UIComponent component) {
+            UIComponent substitute = substitutes.get(component);
+            return substitute != null ? substitute : component;
+        }
+
+        /**
+         * 组件或其子树是否被覆盖，未被覆盖的子树可直接复用基础页面的缓存
+         */
+        boolean touches(UIComponent component) {
+            return substitutes.containsKey(component) || ancestors.contains(component);
+        }
+
+        /**
+         * 子树中是否含有被覆盖的组件 (不含自身)
+         */
+        boolean containsBelow(UIComponent component) {
+            return ancestors.contains(component);
+        }
+    }
+}
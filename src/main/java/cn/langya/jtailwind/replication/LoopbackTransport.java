@@ -0,0 +1,129 @@
+package cn.langya.jtailwind.replication;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * 进程内的复制传输
+ * <p>
+ * 同一 {@link Hub} 上的传输互为节点，批次在集线器的单个投递线程上按发送顺序交给其他全部节点，
+ * 用于测试和在一个进程中运行多个页面实例。
+ *
+ * <pre>{@code
+ * LoopbackTransport.Hub hub = new LoopbackTransport.Hub();
+ * new Replicator("a", pageA, hub.join()).start();
+ * new Replicator("b", pageB, hub.join()).start();
+ * }</pre>
+ *
+ * @author LangYa466
+ * @date 2025/3/12
+ */
+@Slf4j
+public class LoopbackTransport implements ReplicationTransport {
+
+    /**
+     * 所属集线器
+     */
+    private final Hub hub;
+
+    /**
+     * 接收者，未启动时为null
+     */
+    private volatile Consumer<ReplicationBatch> receiver;
+
+    private LoopbackTransport(Hub hub) {
+        this.hub = hub;
+    }
+
+    @Override
+    public void start(Consumer<ReplicationBatch> receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void send(ReplicationBatch batch) {
+        hub.deliver(this, batch);
+    }
+
+    @Override
+    public void close() {
+        receiver = null;
+        hub.members.remove(this);
+    }
+
+    /**
+     * 进程内集线器
+     */
+    public static class Hub {
+
+        /**
+         * 已加入的传输
+         */
+        private final List<LoopbackTransport> members = new CopyOnWriteArrayList<>();
+
+        /**
+         * 投递线程
+         */
+        private final ExecutorService delivery = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jtailwind-loopback");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        /**
+         * 加入一个新节点
+         *
+         * @return 该节点的传输
+         */
+        public LoopbackTransport join() {
+            LoopbackTransport transport = new LoopbackTransport(this);
+            members.add(transport);
+            return transport;
+        }
+
+        /**
+         * 等待已发送的批次全部投递
+         *
+         * @param timeoutMillis 最长等待时间 (毫秒)
+         * @return 是否在期限内投递完成
+         * @throws InterruptedException 等待被中断
+         */
+        public boolean awaitDelivery(long timeoutMillis) throws InterruptedException {
+            try {
+                delivery.submit(() -> { }).get(timeoutMillis, TimeUnit.MILLISECONDS);
+                return true;
+            } catch (ExecutionException | TimeoutException e) {
+                return false;
+            }
+        }
+
+        private void deliver(LoopbackTransport sender, ReplicationBatch batch) {
+            try {
+                delivery.execute(() -> {
+                    for (LoopbackTransport member : members) {
+                        Consumer<ReplicationBatch> target = member.receiver;
+                        if (member == sender || target == null) {
+                            continue;
+                        }
+                        try {
+                            target.accept(batch);
+                        } catch (RuntimeException e) {
+                            log.warn("投递复制批次失败", e);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                log.debug("集线器已关闭，丢弃复制批次");
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package cn.langya.jtailwind.replication;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 带版本的组件变更
+ * <p>
+ * 版本为混合逻辑时钟: 高位是产生变更时的毫秒时间，低16位是同一毫秒内的计数，
+ * 版本相同时按来源节点ID比较，保证各节点对同一属性选出相同的最后写入者。
+ *
+ * @author LangYa466
+ * @date 2025/3/12
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class ReplicatedMutation {
+
+    /**
+     * 组件ID
+     */
+    @JsonProperty("componentId")
+    private String componentId;
+
+    /**
+     * 变更的属性
+     */
+    @JsonProperty("changes")
+    private Map<String, Object> changes = new LinkedHashMap<>();
+
+    /**
+     * 版本
+     */
+    @JsonProperty("version")
+    private long version;
+
+    /**
+     * 产生变更的节点ID
+     */
+    @JsonProperty("origin")
+    private String origin;
+}
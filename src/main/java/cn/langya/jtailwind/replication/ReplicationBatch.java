@@ -0,0 +1,41 @@
+package cn.langya.jtailwind.replication;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一个节点一次发出的一批变更
+ *
+ * @author LangYa466
+ * @date 2025/3/12
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class ReplicationBatch {
+
+    /**
+     * 发送节点ID
+     */
+    @JsonProperty("origin")
+    private String origin;
+
+    /**
+     * 发送时间 (毫秒)
+     */
+    @JsonProperty("sentAt")
+    private long sentAt;
+
+    /**
+     * 按产生顺序排列的变更
+     */
+    @JsonProperty("mutations")
+    private List<ReplicatedMutation> mutations = new ArrayList<>();
+}
@@ -0,0 +1,38 @@
+package cn.langya.jtailwind.replication;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * 节点间复制的传输层
+ * <p>
+ * 只负责把本节点的批次尽力送达其他全部节点并交付收到的批次，不保证送达，也不转发其他节点的批次；
+ * 各节点按版本合并，重复或乱序到达的批次不影响最终结果。
+ *
+ * @author LangYa466
+ * @date 2025/3/12
+ */
+public interface ReplicationTransport extends Closeable {
+
+    /**
+     * 开始接收
+     *
+     * @param receiver 收到其他节点的批次时调用，可能在传输层的线程上并发调用
+     * @throws IOException 建立监听失败
+     */
+    void start(Consumer<ReplicationBatch> receiver) throws IOException;
+
+    /**
+     * 发送到其他全部节点，不阻塞调用线程
+     *
+     * @param batch 批次
+     */
+    void send(ReplicationBatch batch);
+
+    /**
+     * 停止收发
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,493 @@
+package cn.langya.jtailwind.replication;
+
+import cn.langya.jtailwind.core.ComponentMutation;
+import cn.langya.jtailwind.core.JsonContext;
+import cn.langya.jtailwind.core.UIComponent;
+import cn.langya.jtailwind.renderer.PageRenderer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 多节点组件状态复制
+ * <p>
+ * 监听页面的组件变更，为每个变更分配混合逻辑时钟版本后攒批，经 {@link ReplicationTransport} 发给其他节点；
+ * 收到其他节点的变更时按属性比较版本，只应用比本地更新的属性 (最后写入者胜出)，
+ * 再通过 {@link PageRenderer#events()} 推送给本节点的轮询、SSE等监听器。
+ * 版本按组件的每个属性记录，两个节点同时修改同一组件的不同属性时两者都会保留；
+ * 所有节点收到同样的变更后状态一致，与到达顺序和重复无关。
+ * <p>
+ * 只复制启用后产生的变更，新加入的节点应先从 {@link cn.langya.jtailwind.persist.StateJournal} 等途径恢复状态。
+ * 复制延迟按变更版本中的时间计算，包含节点间的时钟偏差。
+ *
+ * <pre>{@code
+ * Replicator replicator = new Replicator("node-a", renderer,
+ *         new TcpTransport(7000, Arrays.asList(new InetSocketAddress("node-b", 7000)))
+ *             .setSecret(sharedSecret))
+ *     .start();
+ * }</pre>
+ *
+ * @author LangYa466
+ * @date 2025/3/12
+ */
+@Slf4j
+public class Replicator implements Closeable {
+
+    /**
+     * 版本中逻辑计数所占的位数
+     */
+    private static final int LOGICAL_BITS = 16;
+
+    /**
+     * 当前节点ID
+     */
+    private final String nodeId;
+
+    /**
+     * 页面渲染器
+     */
+    private final PageRenderer renderer;
+
+    /**
+     * 传输层
+     */
+    private final ReplicationTransport transport;
+
+    /**
+     * 组件ID到各属性最新版本的映射
+     */
+    private final Map<String, Map<String, Stamp>> stamps = new ConcurrentHashMap<>();
+
+    /**
+     * 待发送的变更
+     */
+    private List<ReplicatedMutation> pending = new ArrayList<>();
+
+    /**
+     * 节点ID到最近一批变更复制延迟 (毫秒) 的映射
+     */
+    private final Map<String, Long> peerLags = new ConcurrentHashMap<>();
+
+    /**
+     * 正在应用其他节点的变更，此时发布的变更不再复制
+     */
+    private final ThreadLocal<Boolean> applying = new ThreadLocal<>();
+
+    /**
+     * 混合逻辑时钟
+     */
+    private final AtomicLong clock = new AtomicLong();
+
+    private final AtomicLong sentBatches = new AtomicLong();
+
+    private final AtomicLong sentMutations = new AtomicLong();
+
+    private final AtomicLong receivedMutations = new AtomicLong();
+
+    private final AtomicLong staleChanges = new AtomicLong();
+
+    /**
+     * 每批最多的变更数，待发送的变更达到该数量时立即发送
+     */
+    private volatile int batchSize = 256;
+
+    /**
+     * 发送间隔 (毫秒)
+     */
+    private volatile long flushIntervalMillis = 20;
+
+    /**
+     * 发送线程
+     */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 定时发送任务
+     */
+    private ScheduledFuture<?> flushTask;
+
+    private volatile boolean running;
+
+    /**
+     * 构造函数
+     *
+     * @param nodeId 当前节点ID，各节点必须不同
+     * @param renderer 页面渲染器
+     * @param transport 传输层
+     */
+    public Replicator(String nodeId, PageRenderer renderer, ReplicationTransport transport) {
+        if (nodeId == null || nodeId.isEmpty()) {
+            throw new IllegalArgumentException("节点ID不能为空");
+        }
+        this.nodeId = nodeId;
+        this.renderer = renderer;
+        this.transport = transport;
+    }
+
+    /**
+     * 设置每批最多的变更数
+     *
+     * @param batchSize 变更数
+     * @return 当前复制器
+     */
+    public Replicator setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("批大小必须大于0: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * 设置发送间隔，须在启动前设置
+     *
+     * @param flushIntervalMillis 间隔 (毫秒)
+     * @return 当前复制器
+     */
+    public Replicator setFlushInterval(long flushIntervalMillis) {
+        if (flushIntervalMillis < 1) {
+            throw new IllegalArgumentException("发送间隔必须大于0: " + flushIntervalMillis);
+        }
+        this.flushIntervalMillis = flushIntervalMillis;
+        return this;
+    }
+
+    /**
+     * 开始复制
+     *
+     * @return 当前复制器
+     * @throws IOException 传输层启动失败
+     */
+    public synchronized Replicator start() throws IOException {
+        if (running || scheduler != null) {
+            throw new IllegalStateException("复制器已启动");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jtailwind-replication-" + nodeId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            transport.start(this::receive);
+        } catch (IOException | RuntimeException e) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            throw e;
+        }
+        running = true;
+        renderer.events().addListener(this::replicate);
+        flushTask = scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("组件状态复制已启动 节点: {}", nodeId);
+        return this;
+    }
+
+    /**
+     * 记录本节点产生的变更并加入待发送批次
+     *
+     * @param mutations 已应用到组件的变更
+     */
+    void replicate(List<ComponentMutation> mutations) {
+        if (!running || applying.get() != null) {
+            return;
+        }
+        List<ReplicatedMutation> stamped = new ArrayList<>(mutations.size());
+        for (ComponentMutation mutation : mutations) {
+            if (mutation.getChanges().isEmpty()) {
+                continue;
+            }
+            Map<String, Object> changes = new LinkedHashMap<>(mutation.getChanges());
+            UIComponent target = renderer.findComponent(mutation.getComponentId());
+            Map<String, Stamp> properties = properties(mutation.getComponentId());
+            long version;
+            synchronized (target != null ? target : properties) {
+                version = tick();
+                Stamp stamp = new Stamp(version, nodeId);
+                for (String property : changes.keySet()) {
+                    properties.put(property, stamp);
+                }
+                // 与版本一起重新应用，避免期间应用的其他节点变更或本节点的并发写入使组件值与记录的版本不一致
+                if (target != null) {
+                    try {
+                        JsonContext.shared().applyChanges(target, changes);
+                    } catch (IOException e) {
+                        log.warn("应用组件 {} 的变更失败", mutation.getComponentId(), e);
+                    }
+                }
+            }
+            stamped.add(new ReplicatedMutation(mutation.getComponentId(), changes, version, nodeId));
+        }
+        if (stamped.isEmpty()) {
+            return;
+        }
+        boolean full;
+        synchronized (this) {
+            pending.addAll(stamped);
+            full = pending.size() >= batchSize;
+        }
+        if (full) {
+            try {
+                scheduler.execute(this::flush);
+            } catch (RuntimeException e) {
+                log.debug("复制器已停止，变更将不再发送");
+            }
+        }
+    }
+
+    /**
+     * 发送全部待发送的变更
+     */
+    void flush() {
+        List<ReplicatedMutation> drained;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            drained = pending;
+            pending = new ArrayList<>();
+        }
+        int size = batchSize;
+        for (int from = 0; from < drained.size(); from += size) {
+            List<ReplicatedMutation> part = drained.subList(from, Math.min(drained.size(), from + size));
+            try {
+                transport.send(new ReplicationBatch(nodeId, System.currentTimeMillis(), new ArrayList<>(part)));
+                sentBatches.incrementAndGet();
+                sentMutations.addAndGet(part.size());
+            } catch (RuntimeException e) {
+                log.warn("发送复制批次失败", e);
+            }
+        }
+    }
+
+    /**
+     * 应用其他节点的一批变更
+     *
+     * @param batch 批次
+     */
+    void receive(ReplicationBatch batch) {
+        if (!running || nodeId.equals(batch.getOrigin()) || batch.getMutations() == null) {
+            return;
+        }
+        List<ComponentMutation> applied = new ArrayList<>();
+        long newest = 0;
+        for (ReplicatedMutation mutation : batch.getMutations()) {
+            if (mutation.getComponentId() == null || mutation.getChanges() == null || mutation.getOrigin() == null) {
+                continue;
+            }
+            receivedMutations.incrementAndGet();
+            observe(mutation.getVersion());
+            newest = Math.max(newest, mutation.getVersion());
+            ComponentMutation result = merge(mutation);
+            if (result != null) {
+                applied.add(result);
+            }
+        }
+        if (newest > 0) {
+            peerLags.put(batch.getOrigin(), Math.max(0, System.currentTimeMillis() - (newest >>> LOGICAL_BITS)));
+        }
+        if (applied.isEmpty()) {
+            return;
+        }
+        applying.set(Boolean.TRUE);
+        try {
+            renderer.events().publish(applied);
+        } finally {
+            applying.remove();
+        }
+    }
+
+    /**
+     * 按属性版本合并一个变更
+     *
+     * @return 实际应用的属性，全部过期时返回null
+     */
+    private ComponentMutation merge(ReplicatedMutation mutation) {
+        Stamp incoming = new Stamp(mutation.getVersion(), mutation.getOrigin());
+        UIComponent target = renderer.findComponent(mutation.getComponentId());
+        Map<String, Stamp> properties = properties(mutation.getComponentId());
+        synchronized (target != null ? target : properties) {
+            Map<String, Object> changes = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : mutation.getChanges().entrySet()) {
+                Stamp current = properties.get(entry.getKey());
+                if (current != null && !incoming.isNewerThan(current)) {
+                    staleChanges.incrementAndGet();
+                    continue;
+                }
+                properties.put(entry.getKey(), incoming);
+                changes.put(entry.getKey(), entry.getValue());
+            }
+            if (changes.isEmpty()) {
+                return null;
+            }
+            if (target != null) {
+                try {
+                    JsonContext.shared().applyChanges(target, changes);
+                } catch (IOException e) {
+                    log.warn("应用节点 {} 复制的组件 {} 变更失败", mutation.getOrigin(), mutation.getComponentId(), e);
+                    return null;
+                }
+            }
+            return new ComponentMutation(mutation.getComponentId(), changes);
+        }
+    }
+
+    private Map<String, Stamp> properties(String componentId) {
+        return stamps.computeIfAbsent(componentId, id -> Collections.synchronizedMap(new HashMap<>(4)));
+    }
+
+    /**
+     * 为本节点的写入生成新版本，大于本节点见过的全部版本
+     */
+    private long tick() {
+        long physical = System.currentTimeMillis() << LOGICAL_BITS;
+        return clock.updateAndGet(last -> Math.max(physical, last + 1));
+    }
+
+    /**
+     * 推进时钟，使之后的本地写入晚于收到的版本
+     */
+    private void observe(long version) {
+        clock.accumulateAndGet(version, Math::max);
+    }
+
+    /**
+     * 当前节点ID
+     *
+     * @return 节点ID
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 复制延迟: 各节点最近一批变更从写入到在本节点应用的最大耗时
+     *
+     * @return 延迟 (毫秒)，未收到任何变更时为0
+     */
+    public long getLagMillis() {
+        long lag = 0;
+        for (Long value : peerLags.values()) {
+            lag = Math.max(lag, value);
+        }
+        return lag;
+    }
+
+    /**
+     * 各节点最近一批变更的复制延迟
+     *
+     * @return 节点ID到延迟 (毫秒) 的映射
+     */
+    public Map<String, Long> getPeerLagMillis() {
+        return new HashMap<>(peerLags);
+    }
+
+    /**
+     * 尚未发送的变更数
+     *
+     * @return 变更数
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 累计发送的批次数
+     *
+     * @return 批次数
+     */
+    public long getSentBatchCount() {
+        return sentBatches.get();
+    }
+
+    /**
+     * 累计发送的变更数
+     *
+     * @return 变更数
+     */
+    public long getSentMutationCount() {
+        return sentMutations.get();
+    }
+
+    /**
+     * 累计收到的其他节点变更数
+     *
+     * @return 变更数
+     */
+    public long getReceivedMutationCount() {
+        return receivedMutations.get();
+    }
+
+    /**
+     * 累计因版本不比本地新而被忽略的属性数
+     *
+     * @return 属性数
+     */
+    public long getStaleChangeCount() {
+        return staleChanges.get();
+    }
+
+    /**
+     * 停止复制，发送剩余的变更后关闭传输层
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flushTask.cancel(false);
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        transport.close();
+        log.info("组件状态复制已停止 {}", this);
+    }
+
+    @Override
+    public String toString() {
+        return "Replicator{node=" + nodeId + ", lag=" + getLagMillis() + "ms, pending=" + getPendingCount()
+            + ", sent=" + getSentMutationCount() + ", received=" + getReceivedMutationCount()
+            + ", stale=" + getStaleChangeCount() + "}";
+    }
+
+    /**
+     * 属性版本
+     */
+    private static final class Stamp {
+
+        final long version;
+
+        final String origin;
+
+        Stamp(long version, String origin) {
+            this.version = version;
+            this.origin = origin;
+        }
+
+        /**
+         * 版本更大者胜出，相同时按节点ID比较，保证各节点的选择一致
+         */
+        boolean isNewerThan(Stamp other) {
+            if (version != other.version) {
+                return version > other.version;
+            }
+            return origin.compareTo(other.origin) > 0;
+        }
+    }
+}
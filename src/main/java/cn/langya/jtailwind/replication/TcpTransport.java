@@ -0,0 +1,536 @@
+package cn.langya.jtailwind.replication;
+
+import cn.langya.jtailwind.core.JsonContext;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 基于TCP的复制传输
+ * <p>
+ * 每个节点监听一个端口，并与配置的全部其他节点各建立一条出站连接 (全互联，不转发)。
+ * 每个批次序列化为JSON，以4字节长度开头作为一帧写出。每个对端有独立的发送队列和线程，
+ * 对端不可达时按退避间隔重连并重发未写完的批次 (按版本合并，重复到达无影响)，队列满时丢弃最旧的批次；
+ * 丢失的变更会被同一属性之后的变更覆盖，需要完整补齐时应结合状态快照恢复。
+ * <p>
+ * 默认只监听回环地址，跨主机部署时用 {@link #setBindAddress} 指定内网地址。各节点须配置相同的共享密钥，
+ * 连接建立后双方用 HMAC-SHA256 对随机数的质询应答互相认证，认证通过前不读取任何复制帧；
+ * 帧内容不加密，应只在可信网络中使用。
+ *
+ * @author LangYa466
+ * @date 2025/3/12
+ */
+@Slf4j
+public class TcpTransport implements ReplicationTransport {
+
+    /**
+     * 单帧最大字节数
+     */
+    public static final int MAX_FRAME_BYTES = 16 * 1024 * 1024;
+
+    /**
+     * 最长重连间隔 (毫秒)
+     */
+    private static final long MAX_BACKOFF_MILLIS = 5000;
+
+    /**
+     * 认证握手的超时时间 (毫秒)
+     */
+    private static final int HANDSHAKE_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * 共享密钥最短字节数
+     */
+    private static final int MIN_SECRET_BYTES = 16;
+
+    /**
+     * 握手随机数和认证码的字节数
+     */
+    private static final int NONCE_BYTES = 32;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * 监听端口，0表示自动分配
+     */
+    private final int port;
+
+    /**
+     * 监听地址，默认为回环地址
+     */
+    private volatile InetAddress bindAddress = InetAddress.getLoopbackAddress();
+
+    /**
+     * 共享密钥
+     */
+    private volatile SecretKeySpec secret;
+
+    /**
+     * 对端
+     */
+    private final List<Peer> peers = new ArrayList<>();
+
+    /**
+     * 接收和发送线程池
+     */
+    private final ExecutorService workers;
+
+    /**
+     * 被丢弃的批次数
+     */
+    private final AtomicLong droppedBatches = new AtomicLong();
+
+    /**
+     * 每个对端的发送队列容量 (批次数)
+     */
+    private volatile int queueCapacity = 1024;
+
+    /**
+     * 监听通道
+     */
+    private ServerSocketChannel serverChannel;
+
+    /**
+     * 接收者
+     */
+    private Consumer<ReplicationBatch> receiver;
+
+    private volatile boolean running;
+
+    /**
+     * 构造函数
+     *
+     * @param port 监听端口，0表示自动分配
+     * @param peers 其他节点的复制地址
+     */
+    public TcpTransport(int port, List<InetSocketAddress> peers) {
+        this.port = port;
+        for (InetSocketAddress address : peers) {
+            this.peers.add(new Peer(address));
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "jtailwind-replication-tcp-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 设置每个对端的发送队列容量，须在启动前设置
+     *
+     * @param queueCapacity 批次数
+     * @return 当前传输
+     */
+    public TcpTransport setQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("队列容量必须大于0: " + queueCapacity);
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * 设置监听地址，须在启动前设置
+     *
+     * @param bindAddress 监听地址，跨主机部署时应为内网地址
+     * @return 当前传输
+     */
+    public TcpTransport setBindAddress(InetAddress bindAddress) {
+        if (bindAddress == null) {
+            throw new IllegalArgumentException("监听地址不能为空");
+        }
+        this.bindAddress = bindAddress;
+        return this;
+    }
+
+    /**
+     * 设置共享密钥，各节点必须相同，须在启动前设置
+     *
+     * @param secret 共享密钥，至少16字节
+     * @return 当前传输
+     */
+    public TcpTransport setSecret(byte[] secret) {
+        if (secret == null || secret.length < MIN_SECRET_BYTES) {
+            throw new IllegalArgumentException("共享密钥至少需要 " + MIN_SECRET_BYTES + " 字节");
+        }
+        this.secret = new SecretKeySpec(secret.clone(), "HmacSHA256");
+        return this;
+    }
+
+    /**
+     * 设置共享密钥，按UTF-8编码
+     *
+     * @param secret 共享密钥，编码后至少16字节
+     * @return 当前传输
+     */
+    public TcpTransport setSecret(String secret) {
+        return setSecret(secret != null ? secret.getBytes(StandardCharsets.UTF_8) : null);
+    }
+
+    /**
+     * 启动传输
+     *
+     * @param receiver 接收者
+     * @throws IOException 监听失败时抛出
+     * @throws IllegalStateException 已启动或未设置共享密钥时抛出
+     */
+    @Override
+    public synchronized void start(Consumer<ReplicationBatch> receiver) throws IOException {
+        if (running) {
+            throw new IllegalStateException("传输已启动");
+        }
+        if (secret == null) {
+            throw new IllegalStateException("未设置共享密钥，复制连接无法认证");
+        }
+        this.receiver = receiver;
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(bindAddress, port));
+        running = true;
+        workers.execute(this::acceptLoop);
+        for (Peer peer : peers) {
+            peer.queue = new ArrayBlockingQueue<>(queueCapacity);
+            workers.execute(peer::sendLoop);
+        }
+        log.info("复制传输已启动 地址: {}:{} 对端: {}", bindAddress.getHostAddress(), getPort(), peers.size());
+    }
+
+    @Override
+    public void send(ReplicationBatch batch) {
+        if (!running || peers.isEmpty()) {
+            return;
+        }
+        byte[] frame;
+        try {
+            frame = JsonContext.shared().writerFor(ReplicationBatch.class).writeValueAsBytes(batch);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("无法序列化复制批次", e);
+        }
+        for (Peer peer : peers) {
+            while (!peer.queue.offer(frame)) {
+                if (peer.queue.poll() != null) {
+                    droppedBatches.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * 实际监听的端口
+     *
+     * @return 端口，未启动时返回-1
+     */
+    public int getPort() {
+        ServerSocketChannel channel = serverChannel;
+        return channel != null ? channel.socket().getLocalPort() : -1;
+    }
+
+    /**
+     * 因发送队列已满被丢弃的批次数 (按对端累计)
+     *
+     * @return 批次数
+     */
+    public long getDroppedBatches() {
+        return droppedBatches.get();
+    }
+
+    /**
+     * 已连接的对端数
+     *
+     * @return 对端数
+     */
+    public int getConnectedPeers() {
+        int connected = 0;
+        for (Peer peer : peers) {
+            if (peer.channel != null) {
+                connected++;
+            }
+        }
+        return connected;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            log.warn("关闭监听通道失败", e);
+        }
+        for (Peer peer : peers) {
+            peer.disconnect();
+        }
+        workers.shutdownNow();
+        try {
+            workers.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("复制传输已停止");
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                workers.execute(() -> read(channel));
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("接收复制连接失败", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 认证入站连接后读取其上的全部帧
+     *
+     * @param channel 套接字通道
+     */
+    private void read(SocketChannel channel) {
+        try {
+            Socket socket = channel.socket();
+            socket.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+            if (!acceptHandshake(in, socket.getOutputStream())) {
+                log.warn("复制连接认证失败，断开连接 {}", socket.getRemoteSocketAddress());
+                return;
+            }
+            socket.setSoTimeout(0);
+            while (running) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                if (length <= 0 || length > MAX_FRAME_BYTES) {
+                    log.warn("复制帧长度无效: {}，断开连接 {}", length, channel.getRemoteAddress());
+                    return;
+                }
+                byte[] frame = new byte[length];
+                in.readFully(frame);
+                ReplicationBatch batch = JsonContext.shared().readerFor(ReplicationBatch.class).readValue(frame);
+                try {
+                    receiver.accept(batch);
+                } catch (RuntimeException e) {
+                    log.warn("处理复制批次失败", e);
+                }
+            }
+        } catch (IOException e) {
+            log.debug("复制连接异常断开: {}", e.getMessage());
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("关闭复制连接失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 服务端握手: 发送随机数，校验对端的认证码，再对对端的随机数应答
+     *
+     * @param in 输入流
+     * @param out 输出流
+     * @return 对端是否持有相同的共享密钥
+     * @throws IOException 读写失败或超时时抛出
+     */
+    private boolean acceptHandshake(DataInputStream in, OutputStream out) throws IOException {
+        byte[] nonce = randomNonce();
+        out.write(nonce);
+        out.flush();
+        byte[] proof = new byte[NONCE_BYTES];
+        in.readFully(proof);
+        byte[] peerNonce = new byte[NONCE_BYTES];
+        in.readFully(peerNonce);
+        if (!MessageDigest.isEqual(proof, sign('C', nonce))) {
+            return false;
+        }
+        out.write(sign('S', peerNonce));
+        out.flush();
+        return true;
+    }
+
+    /**
+     * 客户端握手: 对服务端的随机数应答，并校验服务端对自己随机数的认证码，避免把变更发给冒充的节点
+     *
+     * @param socket 已连接的套接字
+     * @throws IOException 读写失败、超时或服务端认证失败时抛出
+     */
+    private void connectHandshake(Socket socket) throws IOException {
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        OutputStream out = socket.getOutputStream();
+        byte[] nonce = new byte[NONCE_BYTES];
+        in.readFully(nonce);
+        byte[] ownNonce = randomNonce();
+        out.write(sign('C', nonce));
+        out.write(ownNonce);
+        out.flush();
+        byte[] proof = new byte[NONCE_BYTES];
+        in.readFully(proof);
+        if (!MessageDigest.isEqual(proof, sign('S', ownNonce))) {
+            throw new IOException("复制对端认证失败");
+        }
+    }
+
+    private static byte[] randomNonce() {
+        byte[] nonce = new byte[NONCE_BYTES];
+        RANDOM.nextBytes(nonce);
+        return nonce;
+    }
+
+    /**
+     * 计算认证码，方向标记防止把对端的认证码原样反射回去
+     *
+     * @param direction 'C' 表示客户端应答，'S' 表示服务端应答
+     * @param nonce 随机数
+     * @return 认证码
+     */
+    private byte[] sign(char direction, byte[] nonce) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(secret);
+            mac.update((byte) direction);
+            mac.update(nonce);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 不可用", e);
+        }
+    }
+
+    /**
+     * 对端
+     */
+    private final class Peer {
+
+        final InetSocketAddress address;
+
+        volatile BlockingQueue<byte[]> queue;
+
+        volatile SocketChannel channel;
+
+        Peer(InetSocketAddress address) {
+            this.address = address;
+        }
+
+        /**
+         * 发送队列中的帧，连接断开时保留未确认写出的帧并在重连后重发
+         */
+        void sendLoop() {
+            long backoff = 100;
+            List<byte[]> outgoing = new ArrayList<>();
+            while (running) {
+                try {
+                    if (outgoing.isEmpty()) {
+                        outgoing.add(queue.take());
+                    }
+                    if (outgoing.size() < 64) {
+                        queue.drainTo(outgoing, 64 - outgoing.size());
+                    }
+                    if (channel == null) {
+                        connect();
+                        backoff = 100;
+                    }
+                    write(outgoing);
+                    outgoing.clear();
+                } catch (InterruptedException e) {
+                    return;
+                } catch (IOException e) {
+                    if (!running) {
+                        return;
+                    }
+                    log.debug("复制对端 {} 不可达: {}", address, e.getMessage());
+                    disconnect();
+                    try {
+                        Thread.sleep(backoff);
+                    } catch (InterruptedException interrupted) {
+                        return;
+                    }
+                    backoff = Math.min(MAX_BACKOFF_MILLIS, backoff * 2);
+                }
+            }
+        }
+
+        private void connect() throws IOException {
+            SocketChannel opened = SocketChannel.open();
+            try {
+                opened.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                opened.socket().connect(address, (int) MAX_BACKOFF_MILLIS);
+                opened.socket().setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+                connectHandshake(opened.socket());
+                opened.socket().setSoTimeout(0);
+            } catch (IOException e) {
+                opened.close();
+                throw e;
+            }
+            channel = opened;
+            log.info("已连接复制对端 {}", address);
+        }
+
+        private void write(List<byte[]> frames) throws IOException {
+            ByteBuffer[] buffers = new ByteBuffer[frames.size() * 2];
+            for (int i = 0; i < frames.size(); i++) {
+                byte[] frame = frames.get(i);
+                ByteBuffer header = ByteBuffer.allocate(4).putInt(frame.length);
+                ((Buffer) header).flip();
+                buffers[i * 2] = header;
+                buffers[i * 2 + 1] = ByteBuffer.wrap(frame);
+            }
+            SocketChannel target = channel;
+            long remaining = 0;
+            for (ByteBuffer buffer : buffers) {
+                remaining += buffer.remaining();
+            }
+            while (remaining > 0) {
+                remaining -= target.write(buffers);
+            }
+        }
+
+        void disconnect() {
+            SocketChannel current = channel;
+            channel = null;
+            if (current != null) {
+                try {
+                    current.close();
+                } catch (IOException e) {
+                    log.debug("关闭复制连接失败: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,529 @@
+package cn.langya.jtailwind.router;
+
+import cn.langya.jtailwind.renderer.PageRenderer;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * 页面路由
+ * <p>
+ * 按路径段构建前缀树，静态段优先于参数段 (如 {@code /users/{id}})，匹配过程不使用正则。
+ * 静态路由的页面可在启动时预渲染为UTF-8字节；参数路由按具体路径缓存最近渲染的页面。
+ * 缓存的页面在 {@link PageRenderer#pageVersion()} 变化时重新渲染，同一页面的同一版本同一时间只渲染一次。
+ *
+ * @author LangYa466
+ * @date 2025/2/27
+ */
+public class Router {
+
+    /**
+     * 参数路由默认缓存的页面数
+     */
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    /**
+     * 前缀树根节点
+     */
+    private final Node root = new Node();
+
+    /**
+     * 全部静态路由
+     */
+    private final List<StaticRoute> staticRoutes = new ArrayList<>();
+
+    /**
+     * 页面变化后重新渲染期间，其他请求是否直接返回旧页面而不等待
+     */
+    private volatile boolean serveStale;
+
+    /**
+     * 添加静态路由
+     *
+     * @param pattern 路径，如 /about
+     * @param renderer 页面渲染器
+     * @return 当前路由
+     * @throws IllegalArgumentException 路径包含参数或已注册时抛出
+     */
+    public synchronized Router addRoute(String pattern, PageRenderer renderer) {
+        if (pattern != null && pattern.indexOf('{') >= 0) {
+            throw new IllegalArgumentException("静态路由不能包含参数: " + pattern);
+        }
+        StaticRoute route = new StaticRoute(pattern, renderer);
+        insert(pattern, route);
+        staticRoutes.add(route);
+        return this;
+    }
+
+    /**
+     * 添加参数路由，使用默认缓存大小
+     *
+     * @param pattern 路径，如 /users/{id}
+     * @param factory 按路径参数创建页面，返回null表示页面不存在
+     * @return 当前路由
+     */
+    public Router addRoute(String pattern, Function<Map<String, String>, PageRenderer> factory) {
+        return addRoute(pattern, factory, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * 添加参数路由
+     *
+     * @param pattern 路径，如 /users/{id}
+     * @param factory 按路径参数创建页面，返回null表示页面不存在
+     * @param cacheSize 缓存的页面数，0表示不缓存
+     * @return 当前路由
+     * @throws IllegalArgumentException 路径格式错误或已注册时抛出
+     */
+    public synchronized Router addRoute(String pattern, Function<Map<String, String>, PageRenderer> factory, int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("缓存大小不能为负数: " + cacheSize);
+        }
+        insert(pattern, new DynamicRoute(pattern, factory, cacheSize));
+        return this;
+    }
+
+    /**
+     * 设置页面重新渲染期间是否返回旧页面
+     * <p>
+     * 同一页面的同一版本同一时间只渲染一次，同时到达的请求默认等待并共享渲染结果；
+     * 开启后，已有旧页面的请求直接返回旧页面，不等待渲染完成。
+     *
+     * @param serveStale 是否返回旧页面
+     * @return 当前路由
+     */
+    public Router setServeStale(boolean serveStale) {
+        this.serveStale = serveStale;
+        return this;
+    }
+
+    /**
+     * 预渲染全部静态路由，建议在启动时调用
+     *
+     * @return 当前路由
+     */
+    public Router prerender() {
+        List<StaticRoute> routes;
+        synchronized (this) {
+            routes = new ArrayList<>(staticRoutes);
+        }
+        for (StaticRoute route : routes) {
+            route.render(Collections.emptyMap(), null, false);
+        }
+        return this;
+    }
+
+    /**
+     * 渲染路径对应的页面
+     *
+     * @param path 请求路径 (不含查询参数)
+     * @return UTF-8编码的HTML，路径未注册或页面不存在时返回null
+     */
+    public byte[] render(String path) {
+        Match match = match(path);
+        return match != null ? match.route.render(match.params, match.key, serveStale) : null;
+    }
+
+    /**
+     * 查找路径对应的页面渲染器
+     *
+     * @param path 请求路径 (不含查询参数)
+     * @return 页面渲染器，路径未注册或页面不存在时返回null
+     */
+    public PageRenderer resolve(String path) {
+        Match match = match(path);
+        return match != null ? match.route.resolve(match.params, match.key) : null;
+    }
+
+    /**
+     * 丢弃全部缓存的页面，下次请求时重新渲染
+     */
+    public synchronized void invalidate() {
+        List<Node> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.remove(stack.size() - 1);
+            if (node.route != null) {
+                node.route.invalidate();
+            }
+            stack.addAll(node.children.values());
+            if (node.paramChild != null) {
+                stack.add(node.paramChild);
+            }
+        }
+    }
+
+    /**
+     * 在前缀树中插入路由
+     */
+    private void insert(String pattern, Route route) {
+        if (pattern == null || !pattern.startsWith("/")) {
+            throw new IllegalArgumentException("路由路径必须以 / 开头: " + pattern);
+        }
+        Node node = root;
+        List<String> paramNames = new ArrayList<>();
+        for (String segment : segments(pattern)) {
+            if (segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}') {
+                String name = segment.substring(1, segment.length() - 1);
+                if (paramNames.contains(name)) {
+                    throw new IllegalArgumentException("路由参数重复: " + pattern);
+                }
+                paramNames.add(name);
+                if (node.paramChild == null) {
+                    node.paramChild = new Node();
+                }
+                node = node.paramChild;
+            } else if (segment.indexOf('{') >= 0 || segment.indexOf('}') >= 0) {
+                throw new IllegalArgumentException("路由参数必须占据整个路径段: " + pattern);
+            } else {
+                node = node.children.computeIfAbsent(segment, key -> new Node());
+            }
+        }
+        if (node.route != null) {
+            throw new IllegalArgumentException("路由已存在: " + pattern + " 与 " + node.route.pattern + " 冲突");
+        }
+        node.route = route;
+        node.paramNames = paramNames;
+    }
+
+    /**
+     * 匹配请求路径，静态段优先，失败时回溯尝试参数段
+     */
+    private Match match(String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return null;
+        }
+        List<String> segments = segments(path);
+        String[] values = new String[segments.size()];
+        Node node = matchFrom(root, segments, 0, values, 0);
+        if (node == null) {
+            return null;
+        }
+
+        if (node.paramNames.isEmpty()) {
+            return new Match(node.route, Collections.emptyMap(), path);
+        }
+        Map<String, String> params = new HashMap<>();
+        for (int i = 0; i < node.paramNames.size(); i++) {
+            params.put(node.paramNames.get(i), decode(values[i]));
+        }
+        return new Match(node.route, Collections.unmodifiableMap(params), '/' + String.join("/", segments));
+    }
+
+    private Node matchFrom(Node node, List<String> segments, int index, String[] values, int valueCount) {
+        if (index == segments.size()) {
+            return node.route != null ? node : null;
+        }
+        String segment = segments.get(index);
+        Node child = node.children.get(segment);
+        if (child != null) {
+            Node found = matchFrom(child, segments, index + 1, values, valueCount);
+            if (found != null) {
+                return found;
+            }
+        }
+        if (node.paramChild != null) {
+            values[valueCount] = segment;
+            return matchFrom(node.paramChild, segments, index + 1, values, valueCount + 1);
+        }
+        return null;
+    }
+
+    /**
+     * 按 / 切分路径，忽略空段
+     */
+    private static List<String> segments(String path) {
+        List<String> segments = new ArrayList<>();
+        int start = 1;
+        int length = path.length();
+        while (start <= length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                segments.add(path.substring(start, end));
+            }
+            start = end + 1;
+        }
+        return segments;
+    }
+
+    /**
+     * 解码路径参数，路径中的 + 不表示空格
+     */
+    private static String decode(String value) {
+        if (value.indexOf('%') < 0) {
+            return value;
+        }
+        try {
+            return URLDecoder.decode(value.replace("+", "%2B"), "UTF-8");
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            return value;
+        }
+    }
+
+    /**
+     * 前缀树节点
+     */
+    private static final class Node {
+
+        final Map<String, Node> children = new HashMap<>();
+
+        Node paramChild;
+
+        Route route;
+
+        List<String> paramNames = Collections.emptyList();
+    }
+
+    /**
+     * 匹配结果
+     */
+    private static final class Match {
+
+        final Route route;
+
+        final Map<String, String> params;
+
+        /**
+         * 规范化后的路径，作为参数路由的缓存键
+         */
+        final String key;
+
+        Match(Route route, Map<String, String> params, String key) {
+            this.route = route;
+            this.params = params;
+            this.key = key;
+        }
+    }
+
+    /**
+     * 已渲染的页面
+     */
+    private static final class RenderedPage {
+
+        final long version;
+
+        /**
+         * UTF-8编码的HTML
+         */
+        final byte[] bytes;
+
+        RenderedPage(long version, byte[] bytes) {
+            this.version = version;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * 单个页面的缓存
+     * <p>
+     * 同一版本只渲染一次: 第一个请求负责渲染，同时到达的请求等待并共享其结果；
+     * 允许返回旧页面时，已有旧版本的请求不等待，直接返回旧页面。
+     */
+    private static final class PageSlot {
+
+        final PageRenderer renderer;
+
+        volatile RenderedPage page;
+
+        /**
+         * 正在进行的渲染
+         */
+        CompletableFuture<RenderedPage> inflight;
+
+        /**
+         * 正在渲染的版本
+         */
+        long inflightVersion;
+
+        PageSlot(PageRenderer renderer) {
+            this.renderer = renderer;
+        }
+
+        byte[] render(boolean serveStale) {
+            long version = renderer.pageVersion();
+            RenderedPage current = page;
+            if (current != null && current.version == version) {
+                return current.bytes;
+            }
+
+            CompletableFuture<RenderedPage> flight;
+            boolean leader = false;
+            synchronized (this) {
+                flight = inflight;
+                if (flight == null || inflightVersion != version) {
+                    flight = new CompletableFuture<>();
+                    inflight = flight;
+                    inflightVersion = version;
+                    leader = true;
+                }
+            }
+
+            if (!leader) {
+                if (serveStale && current != null) {
+                    return current.bytes;
+                }
+                try {
+                    return flight.join().bytes;
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw e;
+                }
+            }
+
+            try {
+                RenderedPage rendered = new RenderedPage(version, renderer.render().getBytes(StandardCharsets.UTF_8));
+                synchronized (this) {
+                    page = rendered;
+                    if (inflight == flight) {
+                        inflight = null;
+                    }
+                }
+                flight.complete(rendered);
+                return rendered.bytes;
+            } catch (RuntimeException | Error e) {
+                synchronized (this) {
+                    if (inflight == flight) {
+                        inflight = null;
+                    }
+                }
+                flight.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        void invalidate() {
+            page = null;
+        }
+    }
+
+    /**
+     * 路由
+     */
+    private abstract static class Route {
+
+        final String pattern;
+
+        Route(String pattern) {
+            this.pattern = pattern;
+        }
+
+        abstract byte[] render(Map<String, String> params, String key, boolean serveStale);
+
+        abstract PageRenderer resolve(Map<String, String> params, String key);
+
+        abstract void invalidate();
+    }
+
+    /**
+     * 静态路由，缓存单个页面
+     */
+    private static final class StaticRoute extends Route {
+
+        final PageSlot slot;
+
+        StaticRoute(String pattern, PageRenderer renderer) {
+            super(pattern);
+            this.slot = new PageSlot(renderer);
+        }
+
+        @Override
+        byte[] render(Map<String, String> params, String key, boolean serveStale) {
+            return slot.render(serveStale);
+        }
+
+        @Override
+        PageRenderer resolve(Map<String, String> params, String key) {
+            return slot.renderer;
+        }
+
+        @Override
+        void invalidate() {
+            slot.invalidate();
+        }
+    }
+
+    /**
+     * 参数路由，按路径缓存最近使用的页面
+     */
+    private static final class DynamicRoute extends Route {
+
+        final Function<Map<String, String>, PageRenderer> factory;
+
+        final int cacheSize;
+
+        final LinkedHashMap<String, PageSlot> pages;
+
+        DynamicRoute(String pattern, Function<Map<String, String>, PageRenderer> factory, int cacheSize) {
+            super(pattern);
+            this.factory = factory;
+            this.cacheSize = cacheSize;
+            this.pages = new LinkedHashMap<String, PageSlot>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PageSlot> eldest) {
+                    return size() > DynamicRoute.this.cacheSize;
+                }
+            };
+        }
+
+        @Override
+        byte[] render(Map<String, String> params, String key, boolean serveStale) {
+            PageSlot slot = slot(params, key);
+            return slot != null ? slot.render(serveStale) : null;
+        }
+
+        @Override
+        PageRenderer resolve(Map<String, String> params, String key) {
+            PageSlot slot = slot(params, key);
+            return slot != null ? slot.renderer : null;
+        }
+
+        /**
+         * 获取路径对应的页面缓存，不存在时创建页面；
+         * 缓存创建的页面，使之后的渲染与对该页面的修改作用于同一对象
+         */
+        private PageSlot slot(Map<String, String> params, String key) {
+            synchronized (pages) {
+                PageSlot cached = pages.get(key);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            PageRenderer renderer = factory.apply(params);
+            if (renderer == null) {
+                return null;
+            }
+            PageSlot slot = new PageSlot(renderer);
+            if (cacheSize > 0) {
+                synchronized (pages) {
+                    PageSlot existing = pages.putIfAbsent(key, slot);
+                    if (existing != null) {
+                        return existing;
+                    }
+                }
+            }
+            return slot;
+        }
+
+        @Override
+        void invalidate() {
+            synchronized (pages) {
+                pages.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package cn.langya.jtailwind.server;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 更新请求的准入控制
+ * <p>
+ * 两道关卡: 每个客户端一个令牌桶，超出速率返回 429；全局并发上限按 AIMD 自适应调整，
+ * 处理延迟低于阈值且上限被用满时缓慢增加，延迟超过阈值或下游过载时按比例收缩，超出上限返回 503。
+ * 被拒绝的请求立即返回，并附带建议的 {@code Retry-After} 秒数，不占用处理线程。
+ *
+ * <pre>{@code
+ * AdmissionController.Admission admission = controller.admit(clientAddress);
+ * if (!admission.isAdmitted()) {
+ *     // 返回 admission.getStatus()，Retry-After: admission.getRetryAfterSeconds()
+ *     return;
+ * }
+ * try {
+ *     handle(request);
+ * } finally {
+ *     admission.release();
+ * }
+ * }</pre>
+ *
+ * @author LangYa466
+ * @date 2025/3/8
+ */
+public class AdmissionController {
+
+    /**
+     * 超出客户端速率时的状态码
+     */
+    public static final int TOO_MANY_REQUESTS = 429;
+
+    /**
+     * 超出并发上限时的状态码
+     */
+    public static final int SERVICE_UNAVAILABLE = 503;
+
+    /**
+     * 空闲多久的客户端令牌桶可被清理
+     */
+    private static final long BUCKET_IDLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * 最小并发上限
+     */
+    private volatile int minLimit = 1;
+
+    /**
+     * 最大并发上限
+     */
+    private volatile int maxLimit = 256;
+
+    /**
+     * 延迟阈值 (纳秒)，超过时收缩并发上限
+     */
+    private volatile long latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(200);
+
+    /**
+     * 收缩比例
+     */
+    private volatile double backoffRatio = 0.9;
+
+    /**
+     * 每个客户端每秒补充的令牌数，0表示不限制客户端速率
+     */
+    private volatile double tokensPerSecond = 20;
+
+    /**
+     * 每个客户端的令牌桶容量 (允许的突发请求数)
+     */
+    private volatile int burst = 40;
+
+    /**
+     * 最多跟踪的客户端数，超过时清理空闲的令牌桶
+     */
+    private volatile int maxClients = 10000;
+
+    /**
+     * 当前并发上限
+     */
+    private double limit;
+
+    /**
+     * 正在处理的请求数
+     */
+    private int inFlight;
+
+    /**
+     * 上次收缩的时间
+     */
+    private long lastDecreaseNanos;
+
+    /**
+     * 客户端令牌桶
+     */
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * 上次清理令牌桶的时间
+     */
+    private final AtomicLong lastCleanupNanos = new AtomicLong(System.nanoTime());
+
+    private final AtomicLong admitted = new AtomicLong();
+
+    private final AtomicLong throttled = new AtomicLong();
+
+    private final AtomicLong shed = new AtomicLong();
+
+    /**
+     * 构造函数，初始并发上限为16
+     */
+    public AdmissionController() {
+        this(16);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param initialLimit 初始并发上限
+     */
+    public AdmissionController(int initialLimit) {
+        if (initialLimit < 1) {
+            throw new IllegalArgumentException("并发上限必须大于0: " + initialLimit);
+        }
+        this.limit = initialLimit;
+    }
+
+    /**
+     * 设置并发上限的调整范围
+     *
+     * @param minLimit 最小上限
+     * @param maxLimit 最大上限
+     * @return 当前控制器
+     */
+    public synchronized AdmissionController setLimitRange(int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("并发上限范围无效: " + minLimit + ".." + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, limit));
+        return this;
+    }
+
+    /**
+     * 设置延迟阈值，处理延迟超过该值时收缩并发上限
+     *
+     * @param latencyThresholdMillis 延迟阈值 (毫秒)
+     * @return 当前控制器
+     */
+    public AdmissionController setLatencyThreshold(long latencyThresholdMillis) {
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        return this;
+    }
+
+    /**
+     * 设置收缩比例
+     *
+     * @param backoffRatio 收缩后上限与原上限之比 (0-1)
+     * @return 当前控制器
+     */
+    public AdmissionController setBackoffRatio(double backoffRatio) {
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("收缩比例必须在0和1之间: " + backoffRatio);
+        }
+        this.backoffRatio = backoffRatio;
+        return this;
+    }
+
+    /**
+     * 设置每个客户端的速率
+     *
+     * @param tokensPerSecond 每秒请求数，0表示不限制
+     * @param burst 允许的突发请求数
+     * @return 当前控制器
+     */
+    public AdmissionController setClientRate(double tokensPerSecond, int burst) {
+        if (tokensPerSecond < 0 || (tokensPerSecond > 0 && burst < 1)) {
+            throw new IllegalArgumentException("客户端速率无效: " + tokensPerSecond + "/s, 突发 " + burst);
+        }
+        this.tokensPerSecond = tokensPerSecond;
+        this.burst = burst;
+        buckets.clear();
+        return this;
+    }
+
+    /**
+     * 设置最多跟踪的客户端数
+     *
+     * @param maxClients 客户端数
+     * @return 当前控制器
+     */
+    public AdmissionController setMaxClients(int maxClients) {
+        this.maxClients = maxClients;
+        return this;
+    }
+
+    /**
+     * 申请处理一个请求
+     *
+     * @param clientId 客户端标识，如远端地址
+     * @return 准入结果，通过时须在处理完成后调用 {@link Admission#release()}
+     */
+    public Admission admit(String clientId) {
+        long now = System.nanoTime();
+        double rate = tokensPerSecond;
+        if (rate > 0) {
+            TokenBucket bucket = buckets.computeIfAbsent(clientId, id -> new TokenBucket(burst, now));
+            long waitNanos = bucket.take(now, rate, burst);
+            if (waitNanos > 0) {
+                throttled.incrementAndGet();
+                cleanupBuckets(now);
+                return new Admission(TOO_MANY_REQUESTS, toRetryAfterSeconds(waitNanos), 0);
+            }
+            cleanupBuckets(now);
+        }
+
+        synchronized (this) {
+            if (inFlight >= (int) limit) {
+                shed.incrementAndGet();
+                return new Admission(SERVICE_UNAVAILABLE, toRetryAfterSeconds(latencyThresholdNanos), 0);
+            }
+            inFlight++;
+        }
+        admitted.incrementAndGet();
+        return new Admission(0, 0, now);
+    }
+
+    /**
+     * 请求处理完成，按延迟和是否过载调整并发上限
+     */
+    private synchronized void complete(long latencyNanos, boolean overloaded) {
+        int used = inFlight;
+        inFlight--;
+        long now = System.nanoTime();
+        if (overloaded || latencyNanos > latencyThresholdNanos) {
+            // 一个阈值周期内只收缩一次，避免同一批慢请求把上限压到底
+            if (now - lastDecreaseNanos >= latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = now;
+            }
+        } else if (used * 2 >= (int) limit) {
+            // 上限被用到一半以上时才增加，每处理约 limit 个请求增加 1
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    private void cleanupBuckets(long now) {
+        if (buckets.size() <= maxClients) {
+            return;
+        }
+        long last = lastCleanupNanos.get();
+        if (now - last < TimeUnit.SECONDS.toNanos(1) || !lastCleanupNanos.compareAndSet(last, now)) {
+            return;
+        }
+        Iterator<TokenBucket> iterator = buckets.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().lastAccessNanos > BUCKET_IDLE_NANOS) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static long toRetryAfterSeconds(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * 当前并发上限
+     *
+     * @return 并发上限
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * 正在处理的请求数
+     *
+     * @return 请求数
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * 累计通过的请求数
+     *
+     * @return 请求数
+     */
+    public long getAdmittedCount() {
+        return admitted.get();
+    }
+
+    /**
+     * 累计因客户端速率被拒绝 (429) 的请求数
+     *
+     * @return 请求数
+     */
+    public long getThrottledCount() {
+        return throttled.get();
+    }
+
+    /**
+     * 累计因并发上限被拒绝 (503) 的请求数
+     *
+     * @return 请求数
+     */
+    public long getShedCount() {
+        return shed.get();
+    }
+
+    @Override
+    public String toString() {
+        return "AdmissionController{limit=" + getLimit() + ", inFlight=" + getInFlight() + ", admitted=" + getAdmittedCount()
+            + ", throttled=" + getThrottledCount() + ", shed=" + getShedCount() + "}";
+    }
+
+    /**
+     * 准入结果
+     */
+    public final class Admission {
+
+        private final int status;
+
+        private final long retryAfterSeconds;
+
+        private final long startNanos;
+
+        private boolean released;
+
+        private Admission(int status, long retryAfterSeconds, long startNanos) {
+            this.status = status;
+            this.retryAfterSeconds = retryAfterSeconds;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 是否通过
+         *
+         * @return 是否通过
+         */
+        public boolean isAdmitted() {
+            return status == 0;
+        }
+
+        /**
+         * 拒绝时应返回的状态码 (429 或 503)
+         *
+         * @return 状态码，通过时为0
+         */
+        public int getStatus() {
+            return status;
+        }
+
+        /**
+         * 拒绝时建议客户端等待的秒数
+         *
+         * @return 秒数，通过时为0
+         */
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        /**
+         * 请求处理完成
+         */
+        public void release() {
+            release(false);
+        }
+
+        /**
+         * 请求处理完成，可重复调用，只有第一次生效
+         *
+         * @param overloaded 下游是否过载 (如事件队列已满)，过载时收缩并发上限
+         */
+        public void release(boolean overloaded) {
+            synchronized (this) {
+                if (!isAdmitted() || released) {
+                    return;
+                }
+                released = true;
+            }
+            complete(System.nanoTime() - startNanos, overloaded);
+        }
+    }
+
+    /**
+     * 客户端令牌桶
+     */
+    private static final class TokenBucket {
+
+        private double tokens;
+
+        private long refillNanos;
+
+        volatile long lastAccessNanos;
+
+        TokenBucket(int burst, long now) {
+            this.tokens = burst;
+            this.refillNanos = now;
+            this.lastAccessNanos = now;
+        }
+
+        /**
+         * 取一个令牌
+         *
+         * @return 0表示取到，否则为需要等待的纳秒数
+         */
+        synchronized long take(long now, double rate, int burst) {
+            lastAccessNanos = now;
+            tokens = Math.min(burst, tokens + (now - refillNanos) * rate / TimeUnit.SECONDS.toNanos(1));
+            refillNanos = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) ((1 - tokens) / rate * TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+}
@@ -0,0 +1,452 @@
+package cn.langya.jtailwind.server;
+
+import cn.langya.jtailwind.renderer.BufferPool;
+import cn.langya.jtailwind.renderer.PageCache;
+import cn.langya.jtailwind.renderer.PageRenderer;
+import cn.langya.jtailwind.renderer.RenderedPage;
+import cn.langya.jtailwind.router.Router;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基于NIO通道的页面服务器
+ * <p>
+ * 只处理 GET 和 HEAD 请求，按路由渲染页面到池化缓冲区，响应头和页面分段通过一次聚集写入
+ * ({@code write(ByteBuffer[])}) 发送到套接字，整页不在堆上复制；支持 HTTP/1.1 长连接。
+ * 设置 {@link PageCache} 后，版本未变的页面直接从堆外缓存写出，页面失效时同一路径的并发请求只渲染一次。
+ * 每个连接占用一个工作线程，线程数有上限，已满时新连接直接收到 503；
+ * 读取请求头有超时，空闲或发送过慢的连接会被关闭，不会长期占用线程。
+ * 更新、轮询等接口仍由应用自身的HTTP服务器提供。
+ *
+ * @author LangYa466
+ * @date 2025/3/5
+ */
+@Slf4j
+public class NioPageServer implements Closeable {
+
+    /**
+     * 请求头最大字节数
+     */
+    public static final int MAX_HEADER_BYTES = 8 * 1024;
+
+    /**
+     * 默认最大并发连接数
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS = 256;
+
+    /**
+     * 默认读取超时 (毫秒)
+     */
+    public static final int DEFAULT_READ_TIMEOUT_MILLIS = 15_000;
+
+    /**
+     * 页面路由
+     */
+    private final Router router;
+
+    /**
+     * 缓冲区池
+     */
+    private final BufferPool bufferPool;
+
+    /**
+     * 堆外页面缓存，为null时每次渲染
+     */
+    private volatile PageCache pageCache;
+
+    /**
+     * 最大并发连接数
+     */
+    private volatile int maxConnections = DEFAULT_MAX_CONNECTIONS;
+
+    /**
+     * 读取超时 (毫秒)，包括长连接上等待下一个请求的空闲时间
+     */
+    private volatile int readTimeoutMillis = DEFAULT_READ_TIMEOUT_MILLIS;
+
+    /**
+     * 连接处理线程池，启动时按最大并发连接数创建
+     */
+    private ThreadPoolExecutor workers;
+
+    /**
+     * 监听通道
+     */
+    private ServerSocketChannel serverChannel;
+
+    /**
+     * 接收连接的线程
+     */
+    private Thread acceptor;
+
+    private volatile boolean running;
+
+    /**
+     * 构造函数，使用共享的缓冲区池
+     *
+     * @param router 页面路由
+     */
+    public NioPageServer(Router router) {
+        this(router, BufferPool.shared());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param router 页面路由
+     * @param bufferPool 缓冲区池
+     */
+    public NioPageServer(Router router, BufferPool bufferPool) {
+        this.router = router;
+        this.bufferPool = bufferPool;
+    }
+
+    /**
+     * 设置最大并发连接数，须在启动前设置
+     *
+     * @param maxConnections 连接数，即工作线程数上限
+     * @return 当前服务器
+     */
+    public NioPageServer setMaxConnections(int maxConnections) {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("最大连接数必须大于0: " + maxConnections);
+        }
+        this.maxConnections = maxConnections;
+        return this;
+    }
+
+    /**
+     * 设置读取超时
+     * <p>
+     * 一个请求头须在该时间内读完，长连接上两个请求之间的空闲时间也不能超过该值。
+     *
+     * @param readTimeoutMillis 超时 (毫秒)
+     * @return 当前服务器
+     */
+    public NioPageServer setReadTimeout(int readTimeoutMillis) {
+        if (readTimeoutMillis < 1) {
+            throw new IllegalArgumentException("读取超时必须大于0: " + readTimeoutMillis);
+        }
+        this.readTimeoutMillis = readTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * 启动服务器
+     *
+     * @param port 端口，0表示自动分配
+     * @return 当前服务器
+     * @throws IOException 绑定端口失败
+     */
+    public synchronized NioPageServer start(int port) throws IOException {
+        if (running) {
+            throw new IllegalStateException("服务器已启动");
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        workers = new ThreadPoolExecutor(0, maxConnections, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "jtailwind-nio-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        running = true;
+        acceptor = new Thread(this::acceptLoop, "jtailwind-nio-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("NIO页面服务器已启动 端口: {}", getPort());
+        return this;
+    }
+
+    /**
+     * 实际监听的端口
+     *
+     * @return 端口，未启动时返回-1
+     */
+    public int getPort() {
+        ServerSocketChannel channel = serverChannel;
+        return channel != null ? channel.socket().getLocalPort() : -1;
+    }
+
+    /**
+     * 缓冲区池，可读取占用和未命中等指标
+     *
+     * @return 缓冲区池
+     */
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    /**
+     * 设置堆外页面缓存，命中的页面直接从缓存写出
+     *
+     * @param pageCache 页面缓存，按请求路径缓存；为null时不缓存
+     * @return 当前服务器
+     */
+    public NioPageServer setPageCache(PageCache pageCache) {
+        this.pageCache = pageCache;
+        return this;
+    }
+
+    /**
+     * 堆外页面缓存
+     *
+     * @return 页面缓存，未设置时为null
+     */
+    public PageCache getPageCache() {
+        return pageCache;
+    }
+
+    /**
+     * 停止服务器
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            log.warn("关闭监听通道失败", e);
+        }
+        workers.shutdownNow();
+        try {
+            workers.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("NIO页面服务器已停止");
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                try {
+                    workers.execute(() -> serve(channel));
+                } catch (RejectedExecutionException e) {
+                    reject(channel);
+                }
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("接收连接失败", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 连接数已满时返回 503 并关闭连接
+     *
+     * @param channel 套接字通道
+     */
+    private void reject(SocketChannel channel) {
+        try {
+            ByteBuffer response = ByteBuffer.wrap(("HTTP/1.1 503 Service Unavailable\r\n"
+                + "Retry-After: 1\r\n"
+                + "Content-Length: 0\r\n"
+                + "Connection: close\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+            writeFully(channel, new ByteBuffer[] {response});
+        } catch (IOException e) {
+            log.debug("拒绝连接时写入失败: {}", e.getMessage());
+        } finally {
+            closeQuietly(channel);
+        }
+    }
+
+    /**
+     * 处理一个连接上的全部请求
+     *
+     * @param channel 套接字通道
+     */
+    private void serve(SocketChannel channel) {
+        ByteBuffer input = ByteBuffer.allocate(MAX_HEADER_BYTES);
+        try {
+            Socket socket = channel.socket();
+            InputStream in = socket.getInputStream();
+            while (running) {
+                int headerEnd = readHeader(socket, in, input);
+                if (headerEnd < 0) {
+                    if (input.position() > 0 && !input.hasRemaining()) {
+                        writeStatus(channel, 431, "Request Header Fields Too Large");
+                    }
+                    return;
+                }
+                String header = new String(input.array(), 0, headerEnd, StandardCharsets.ISO_8859_1);
+                // 保留同一连接上已读入的后续请求
+                ((Buffer) input).flip();
+                ((Buffer) input).position(headerEnd + 4);
+                input.compact();
+                if (!handle(channel, header)) {
+                    return;
+                }
+            }
+        } catch (SocketTimeoutException e) {
+            log.debug("连接读取超时: {}", e.getMessage());
+        } catch (IOException e) {
+            log.debug("连接异常断开: {}", e.getMessage());
+        } finally {
+            closeQuietly(channel);
+        }
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("关闭连接失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 读取直到出现完整的请求头
+     * <p>
+     * 通过套接字的输入流读取，使读取超时生效；整个请求头须在一个超时时间内读完，逐字节慢速发送也会超时。
+     *
+     * @return 请求头结束位置 (不含空行)，连接关闭或请求头过长时返回-1
+     * @throws SocketTimeoutException 超时未读完请求头时抛出
+     */
+    private int readHeader(Socket socket, InputStream in, ByteBuffer input) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(readTimeoutMillis);
+        int scanned = 0;
+        while (true) {
+            byte[] data = input.array();
+            for (int i = Math.max(scanned - 3, 0); i + 3 < input.position(); i++) {
+                if (data[i] == '\r' && data[i + 1] == '\n' && data[i + 2] == '\r' && data[i + 3] == '\n') {
+                    return i;
+                }
+            }
+            scanned = input.position();
+            if (!input.hasRemaining()) {
+                return -1;
+            }
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                throw new SocketTimeoutException("请求头读取超时");
+            }
+            socket.setSoTimeout((int) remainingMillis);
+            int read = in.read(input.array(), input.arrayOffset() + input.position(), input.remaining());
+            if (read < 0) {
+                return -1;
+            }
+            ((Buffer) input).position(input.position() + read);
+        }
+    }
+
+    /**
+     * 处理单个请求
+     *
+     * @return 连接是否保持
+     */
+    private boolean handle(SocketChannel channel, String header) throws IOException {
+        String[] lines = header.split("\r\n");
+        String[] requestLine = lines[0].split(" ");
+        if (requestLine.length != 3) {
+            writeStatus(channel, 400, "Bad Request");
+            return false;
+        }
+        String method = requestLine[0];
+        boolean keepAlive = "HTTP/1.1".equals(requestLine[2]);
+        boolean acceptGzip = false;
+        for (int i = 1; i < lines.length; i++) {
+            String line = lines[i].toLowerCase(Locale.ROOT);
+            if (line.startsWith("connection:")) {
+                String value = line.substring("connection:".length()).trim();
+                keepAlive = "keep-alive".equals(value) || (keepAlive && !"close".equals(value));
+            } else if (line.startsWith("accept-encoding:")) {
+                acceptGzip = line.contains("gzip");
+            } else if (line.startsWith("content-length:") || line.startsWith("transfer-encoding:")) {
+                // 不读取请求体
+                keepAlive = false;
+            }
+        }
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            writeStatus(channel, 405, "Method Not Allowed");
+            return false;
+        }
+
+        String target = requestLine[1];
+        int query = target.indexOf('?');
+        String path = query >= 0 ? target.substring(0, query) : target;
+        PageRenderer renderer;
+        try {
+            renderer = router.resolve(path);
+        } catch (RuntimeException e) {
+            log.error("解析路由失败: {}", path, e);
+            writeStatus(channel, 500, "Internal Server Error");
+            return false;
+        }
+        if (renderer == null) {
+            writeStatus(channel, 404, "Not Found");
+            return keepAlive;
+        }
+
+        PageCache cache = pageCache;
+        RenderedPage rendered;
+        try {
+            rendered = cache != null ? cache.render(path, renderer, bufferPool, acceptGzip) : renderer.renderBuffers(bufferPool);
+        } catch (RuntimeException e) {
+            log.error("渲染页面失败: {}", path, e);
+            writeStatus(channel, 500, "Internal Server Error");
+            return false;
+        }
+        try (RenderedPage page = rendered) {
+            ByteBuffer[] body = page.buffers();
+            long length = page.byteLength();
+            String encoding = page.getContentEncoding();
+            ByteBuffer head = ByteBuffer.wrap(("HTTP/1.1 200 OK\r\n"
+                + "Content-Type: text/html; charset=UTF-8\r\n"
+                + (encoding != null ? "Content-Encoding: " + encoding + "\r\n" : "")
+                + (cache != null && cache.isCompress() ? "Vary: Accept-Encoding\r\n" : "")
+                + "Content-Length: " + length + "\r\n"
+                + "Connection: " + (keepAlive ? "keep-alive" : "close") + "\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+            if ("HEAD".equals(method)) {
+                writeFully(channel, new ByteBuffer[] {head});
+            } else {
+                ByteBuffer[] response = new ByteBuffer[body.length + 1];
+                response[0] = head;
+                System.arraycopy(body, 0, response, 1, body.length);
+                writeFully(channel, response);
+            }
+        }
+        return keepAlive;
+    }
+
+    private static void writeStatus(SocketChannel channel, int status, String reason) throws IOException {
+        ByteBuffer response = ByteBuffer.wrap(("HTTP/1.1 " + status + " " + reason + "\r\n"
+            + "Content-Length: 0\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        writeFully(channel, new ByteBuffer[] {response});
+    }
+
+    private static void writeFully(SocketChannel channel, ByteBuffer[] buffers) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+    }
+}
@@ -1,20 +1,47 @@
 package cn.langya.jtailwind;
 
 import cn.langya.jtailwind.components.*;
+import cn.langya.jtailwind.core.ComponentMutation;
+import cn.langya.jtailwind.core.JsonContext;
+import cn.langya.jtailwind.core.UpdateCommand;
+import cn.langya.jtailwind.core.UpdateCommandReader;
+import cn.langya.jtailwind.data.ColumnarData;
+import cn.langya.jtailwind.live.LiveScheduler;
+import cn.langya.jtailwind.live.UpdateFeed;
+import cn.langya.jtailwind.persist.StateJournal;
+import cn.langya.jtailwind.renderer.CallbackBundle;
+import cn.langya.jtailwind.renderer.ComponentFragment;
+import cn.langya.jtailwind.renderer.PageCache;
 import cn.langya.jtailwind.renderer.PageRenderer;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import cn.langya.jtailwind.replication.Replicator;
+import cn.langya.jtailwind.replication.TcpTransport;
+import cn.langya.jtailwind.router.Router;
+import cn.langya.jtailwind.server.AdmissionController;
+import cn.langya.jtailwind.server.NioPageServer;
 import com.sun.net.httpserver.HttpServer;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpExchange;
+import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * @author LangYa466
@@ -28,28 +55,73 @@ public class TestServer {
      */
     private HttpServer server;
     
-    /**
-     * JSON对象映射器
-     */
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    
     /**
      * 当前页面渲染器
      */
     @Setter
     private PageRenderer pageRenderer;
     
+    /**
+     * 页面路由，首页之外的页面在此注册
+     */
+    @Getter
+    private final Router router = new Router();
+    
+    /**
+     * 组件变更队列
+     */
+    private final UpdateFeed updateFeed = new UpdateFeed(1024);
+    
+    /**
+     * 更新请求解析器
+     */
+    private final UpdateCommandReader updateCommandReader = new UpdateCommandReader();
+    
+    /**
+     * 更新请求的准入控制
+     */
+    @Getter
+    private final AdmissionController admissionController = new AdmissionController();
+    
+    /**
+     * 浏览器推送的属性中允许写入状态日志的部分，其余属性 (如 onClick、classes) 不能由客户端持久修改
+     */
+    private static final Set<String> JOURNALED_PROPERTIES = Collections.singleton("value");
+    
     /**
      * 组件状态管理
      */
     private final Map<String, Object> componentStates = new HashMap<>();
+    
+    /**
+     * 组件状态日志，浏览器推送的值也写入其中，重启后恢复
+     */
+    @Setter
+    private StateJournal journal;
 
     public void start(int port) throws IOException {
         server = HttpServer.create(new InetSocketAddress(port), 0);
         
+        // 注册首页并预渲染全部静态页面
+        if (pageRenderer != null) {
+            router.addRoute("/", pageRenderer);
+        }
+        router.prerender();
+        
         // 设置路由
         server.createContext("/", new HomeHandler());
         server.createContext("/update", new UpdateHandler());
+        server.createContext("/suggest", new SuggestHandler());
+        server.createContext("/table", new TableHandler());
+        server.createContext("/poll", new PollHandler());
+        server.createContext("/fragment/", new FragmentHandler());
+        server.createContext("/assets/", new AssetHandler());
+        
+        // 实时数据变更进入队列，由浏览器轮询获取
+        LiveScheduler.shared().addListener(updateFeed::publish);
+        if (pageRenderer != null) {
+            pageRenderer.events().addListener(updateFeed::publish);
+        }
         
         // 设置线程池
         server.setExecutor(null);
@@ -77,13 +149,21 @@ public class TestServer {
         @Override
         public void handle(HttpExchange exchange) throws IOException {
             if ("GET".equals(exchange.getRequestMethod())) {
-                String response = pageRenderer != null ? pageRenderer.render() : getDefaultPage();
+                String path = exchange.getRequestURI().getRawPath();
+                byte[] response = router.render(path);
+                if (response == null && pageRenderer == null && "/".equals(path)) {
+                    response = getDefaultPage().getBytes(StandardCharsets.UTF_8);
+                }
+                if (response == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                    return;
+                }
                 
                 exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
-                exchange.sendResponseHeaders(200, response.getBytes(StandardCharsets.UTF_8).length);
+                exchange.sendResponseHeaders(200, response.length);
                 
                 try (OutputStream os = exchange.getResponseBody()) {
-                    os.write(response.getBytes(StandardCharsets.UTF_8));
+                    os.write(response);
                 }
             } else {
                 exchange.sendResponseHeaders(405, -1);
@@ -98,37 +178,121 @@ public class TestServer {
         @Override
         public void handle(HttpExchange exchange) throws IOException {
             if ("POST".equals(exchange.getRequestMethod())) {
-                // 读取请求体
-                String requestBody = readInputStream(exchange.getRequestBody());
-                
+                // 超出客户端速率或并发上限时立即拒绝，不解析请求体
+                AdmissionController.Admission admission = admissionController.admit(exchange.getRemoteAddress().getAddress().getHostAddress());
+                if (!admission.isAdmitted()) {
+                    exchange.getResponseHeaders().add("Retry-After", String.valueOf(admission.getRetryAfterSeconds()));
+                    exchange.sendResponseHeaders(admission.getStatus(), -1);
+                    exchange.close();
+                    return;
+                }
+                try {
+                    handleUpdate(exchange, admission);
+                } catch (IOException | RuntimeException e) {
+                    admission.release();
+                    throw e;
+                }
+            } else {
+                exchange.sendResponseHeaders(405, -1);
+            }
+        }
+        
+        private void handleUpdate(HttpExchange exchange, AdmissionController.Admission admission) throws IOException {
+            // 直接从请求体流式解析
+            UpdateCommand command;
+            try {
+                command = updateCommandReader.read(exchange.getRequestBody());
+            } catch (UpdateCommandReader.BodyTooLargeException e) {
+                log.warn("更新请求体过大: {}", e.getMessage());
+                admission.release();
+                exchange.sendResponseHeaders(413, -1);
+                return;
+            } catch (IOException e) {
+                log.warn("更新请求格式错误: {}", e.getMessage());
+                admission.release();
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            
+            // 更新组件状态
+            componentStates.put(command.getComponentId(), command.getData());
+            journalUpdate(command);
+            
+            // 处理更新逻辑
+            handleComponentUpdate(command);
+            
+            if (pageRenderer == null) {
+                admission.release();
+                sendUpdateResponse(exchange, Collections.emptyList(), null);
+                return;
+            }
+            
+            // 服务器端事件处理器在事件线程上执行，完成后再返回响应，不占用HTTP线程
+            pageRenderer.events().dispatch(command).whenComplete((mutations, error) -> {
+                // 事件队列已满视为过载，收缩并发上限
+                admission.release(error != null && (error instanceof RejectedExecutionException
+                    || error.getCause() instanceof RejectedExecutionException));
                 try {
-                    // 解析请求数据
-                    Map<String, Object> requestData = objectMapper.readValue(requestBody, Map.class);
-                    String componentId = (String) requestData.get("componentId");
-                    Map<String, Object> data = (Map<String, Object>) requestData.get("data");
-                    
-                    // 更新组件状态
-                    componentStates.put(componentId, data);
-                    
-                    // 处理更新逻辑
-                    handleComponentUpdate(componentId, data);
-                    
-                    // 返回响应
-                    Map<String, Object> response = new HashMap<>();
-                    response.put("success", true);
-                    response.put("message", "组件更新成功");
-                    
-                    String responseJson = objectMapper.writeValueAsString(response);
-                    exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
-                    exchange.sendResponseHeaders(200, responseJson.getBytes(StandardCharsets.UTF_8).length);
-                    
-                    try (OutputStream os = exchange.getResponseBody()) {
-                        os.write(responseJson.getBytes(StandardCharsets.UTF_8));
+                    sendUpdateResponse(exchange, mutations, error);
+                } catch (IOException e) {
+                    log.warn("发送更新响应失败", e);
+                }
+            });
+        }
+    }
+    
+    /**
+     * 把浏览器推送的值写入状态日志，只记录页面中存在的组件和 {@link #JOURNALED_PROPERTIES} 中的属性，
+     * 避免任意ID撑大日志，也避免客户端借重启后的恢复改写组件的其他属性
+     * 
+     * @param command 更新命令
+     */
+    private void journalUpdate(UpdateCommand command) {
+        if (journal == null || pageRenderer == null || pageRenderer.findComponent(command.getComponentId()) == null) {
+            return;
+        }
+        ComponentMutation mutation = new ComponentMutation(command.getComponentId());
+        command.getData().forEach((key, value) -> {
+            if (JOURNALED_PROPERTIES.contains(key)) {
+                mutation.put(key, value);
+            }
+        });
+        if (mutation.getChanges().isEmpty()) {
+            return;
+        }
+        try {
+            journal.append(mutation);
+        } catch (RuntimeException e) {
+            log.warn("写入组件 {} 的状态日志失败", command.getComponentId(), e);
+        }
+    }
+    
+    /**
+     * 输入建议处理器
+     */
+    private class SuggestHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            if ("GET".equals(exchange.getRequestMethod())) {
+                Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+                List<String> suggestions = Collections.emptyList();
+                if (pageRenderer != null) {
+                    int limit = 8;
+                    try {
+                        limit = Integer.parseInt(params.getOrDefault("limit", "8"));
+                    } catch (NumberFormatException e) {
+                        // 使用默认条数
                     }
-                    
-                } catch (Exception e) {
-                    log.error("处理更新请求时发生错误", e);
-                    exchange.sendResponseHeaders(500, -1);
+                    suggestions = pageRenderer.suggest(params.get("id"), params.getOrDefault("q", ""), limit);
+                }
+                
+                byte[] responseBytes = JsonContext.shared().writeValueAsBytes(suggestions);
+                exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+                exchange.getResponseHeaders().add("Cache-Control", "no-store");
+                exchange.sendResponseHeaders(200, responseBytes.length);
+                
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(responseBytes);
                 }
             } else {
                 exchange.sendResponseHeaders(405, -1);
@@ -137,33 +301,228 @@ public class TestServer {
     }
     
     /**
-     * 处理组件更新
+     * 表格查询处理器
+     */
+    private class TableHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            if (pageRenderer == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            
+            Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            byte[] responseBytes;
+            try {
+                responseBytes = JsonContext.shared().writeValueAsBytes(pageRenderer.queryTable(params.remove("id"), params));
+            } catch (IllegalArgumentException e) {
+                log.warn("表格查询参数错误: {}", e.getMessage());
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+            exchange.getResponseHeaders().add("Cache-Control", "no-store");
+            exchange.sendResponseHeaders(200, responseBytes.length);
+            
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(responseBytes);
+            }
+        }
+    }
+    
+    /**
+     * 单组件片段处理器，路径为 /fragment/{id}
+     */
+    private class FragmentHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            
+            String rawId = exchange.getRequestURI().getRawPath().substring("/fragment/".length());
+            ComponentFragment fragment = pageRenderer != null
+                ? pageRenderer.renderFragment(URLDecoder.decode(rawId, "UTF-8"))
+                : null;
+            if (fragment == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            
+            exchange.getResponseHeaders().add("ETag", fragment.getEtag());
+            exchange.getResponseHeaders().add("Cache-Control", "no-cache");
+            if (fragment.getEtag().equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            
+            byte[] responseBytes = fragment.getHtml().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+            exchange.sendResponseHeaders(200, responseBytes.length);
+            
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(responseBytes);
+            }
+        }
+    }
+    
+    /**
+     * 共享资源处理器，提供回调函数脚本包
+     */
+    private class AssetHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            
+            CallbackBundle bundle = CallbackBundle.findByPath(exchange.getRequestURI().getPath());
+            if (bundle == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            
+            // 路径包含内容哈希，内容不会变化
+            exchange.getResponseHeaders().add("Content-Type", "application/javascript; charset=UTF-8");
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=31536000, immutable");
+            exchange.sendResponseHeaders(200, bundle.byteLength());
+            
+            try (OutputStream os = exchange.getResponseBody()) {
+                bundle.writeTo(os);
+            }
+        }
+    }
+    
+    /**
+     * 变更轮询处理器
+     */
+    private class PollHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            
+            Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            long since = 0;
+            try {
+                since = Long.parseLong(params.getOrDefault("since", "0"));
+            } catch (NumberFormatException e) {
+                // 从头获取
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("sequence", updateFeed.getSequence());
+            response.put("mutations", updateFeed.since(since));
+            
+            byte[] responseBytes = JsonContext.shared().writeValueAsBytes(response);
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+            exchange.getResponseHeaders().add("Cache-Control", "no-store");
+            exchange.sendResponseHeaders(200, responseBytes.length);
+            
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(responseBytes);
+            }
+        }
+    }
+    
+    /**
+     * 解析URL查询参数
      * 
-     * @param componentId 组件ID
-     * @param data 更新数据
+     * @param rawQuery 原始查询字符串
+     * @return 参数映射
      */
-    private void handleComponentUpdate(String componentId, Map<String, Object> data) {
-        log.info("组件 {} 更新: {}", componentId, data);
-        
-        // 这里可以实现具体的更新逻辑
-        // 例如：更新数据库、重新计算数据等
+    private static Map<String, String> parseQuery(String rawQuery) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = separator >= 0 ? pair.substring(0, separator) : pair;
+            String value = separator >= 0 ? pair.substring(separator + 1) : "";
+            params.put(URLDecoder.decode(key, "UTF-8"), URLDecoder.decode(value, "UTF-8"));
+        }
+        return params;
     }
     
     /**
-     * 读取输入流内容
+     * 发送更新响应
      * 
-     * @param inputStream 输入流
-     * @return 字符串内容
-     * @throws IOException IO异常
+     * @param exchange HTTP交换
+     * @param mutations 事件处理器返回的变更
+     * @param error 事件处理失败的原因，成功时为null
+     * @throws IOException 写入失败时抛出
      */
-    private String readInputStream(java.io.InputStream inputStream) throws IOException {
-        StringBuilder sb = new StringBuilder();
-        byte[] buffer = new byte[1024];
-        int bytesRead;
-        while ((bytesRead = inputStream.read(buffer)) != -1) {
-            sb.append(new String(buffer, 0, bytesRead, StandardCharsets.UTF_8));
+    private void sendUpdateResponse(HttpExchange exchange, List<ComponentMutation> mutations, Throwable error) throws IOException {
+        if (error instanceof CompletionException) {
+            error = error.getCause();
+        }
+        if (error instanceof RejectedExecutionException) {
+            exchange.getResponseHeaders().add("Retry-After", "1");
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+            return;
+        }
+        if (error != null) {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+            return;
+        }
+        
+        // 返回响应
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "组件更新成功");
+        if (!mutations.isEmpty()) {
+            response.put("mutations", mutations);
+        }
+        
+        // 只返回页面修订号之后变化的组件子树，顶层结构变化时通知浏览器刷新
+        if (pageRenderer != null) {
+            String since = parseQuery(exchange.getRequestURI().getRawQuery()).get("since");
+            long revision = pageRenderer.revision();
+            response.put("revision", revision);
+            Map<String, String> fragments;
+            try {
+                fragments = since != null ? pageRenderer.renderChanges(Long.parseLong(since)) : Collections.emptyMap();
+            } catch (NumberFormatException e) {
+                fragments = null;
+            }
+            if (fragments == null) {
+                response.put("reload", true);
+            } else if (!fragments.isEmpty()) {
+                response.put("fragments", fragments);
+            }
+        }
+        
+        byte[] responseBytes = JsonContext.shared().writeValueAsBytes(response);
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(200, responseBytes.length);
+        
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(responseBytes);
         }
-        return sb.toString();
+    }
+    
+    /**
+     * 处理组件更新
+     * 
+     * @param command 更新命令
+     */
+    private void handleComponentUpdate(UpdateCommand command) {
+        log.info("组件 {} 更新: {}", command.getComponentId(), command.getData());
+        
+        // 这里可以实现具体的更新逻辑
+        // 例如：更新数据库、重新计算数据等
     }
     
     /**
@@ -198,26 +557,122 @@ public class TestServer {
      */
     public static void main(String[] args) {
         try {
+            // 启动预热，避免首个请求承担序列化器解析的开销
+            PageRenderer.warmUp();
+            
             TestServer testServer = new TestServer();
             
             // 创建示例页面
             PageRenderer renderer = createExamplePage();
             testServer.setPageRenderer(renderer);
             
-            // 启动服务器
-            testServer.start(8080);
+            // 组件状态持久化: 指定 -Djtailwind.state=目录 时启用，重启后恢复固定ID组件的状态
+            String stateDirectory = System.getProperty("jtailwind.state");
+            StateJournal journal = null;
+            if (stateDirectory != null) {
+                journal = StateJournal.open(Paths.get(stateDirectory));
+                log.info("已恢复 {} 个组件的状态", journal.restoreTo(renderer));
+                for (String componentId : journal.componentIds()) {
+                    testServer.componentStates.put(componentId, JsonContext.shared().readerFor(Map.class).readValue(journal.get(componentId)));
+                }
+                // 事件处理器产生的变更和 /update 收到的浏览器推送值都写入日志
+                renderer.events().addListener(journal::append);
+                testServer.setJournal(journal);
+            }
+            
+            // 多节点复制: 指定 -Djtailwind.node=节点ID -Djtailwind.replicationPort=端口 -Djtailwind.peers=主机:端口,...
+            // -Djtailwind.replicationSecret=共享密钥 时启用，负载均衡后的各节点互相同步组件变更；
+            // 默认只监听回环地址，跨主机时用 -Djtailwind.replicationBind=内网地址 指定
+            String nodeId = System.getProperty("jtailwind.node");
+            String replicationSecret = System.getProperty("jtailwind.replicationSecret");
+            Replicator replicator = null;
+            if (nodeId != null && replicationSecret == null) {
+                log.warn("未设置 jtailwind.replicationSecret，不启用多节点复制");
+            } else if (nodeId != null) {
+                List<InetSocketAddress> peers = new ArrayList<>();
+                for (String peer : System.getProperty("jtailwind.peers", "").split(",")) {
+                    int colon = peer.lastIndexOf(':');
+                    if (colon > 0) {
+                        peers.add(new InetSocketAddress(peer.substring(0, colon).trim(), Integer.parseInt(peer.substring(colon + 1).trim())));
+                    }
+                }
+                TcpTransport transport = new TcpTransport(Integer.getInteger("jtailwind.replicationPort", 7000), peers)
+                    .setSecret(replicationSecret);
+                String bindAddress = System.getProperty("jtailwind.replicationBind");
+                if (bindAddress != null) {
+                    transport.setBindAddress(InetAddress.getByName(bindAddress));
+                }
+                replicator = new Replicator(nodeId, renderer, transport).start();
+            }
+            
+            // 参数路由示例: /users/{id}，非数字ID返回404
+            testServer.getRouter().addRoute("/users/{id}", params -> {
+                int userId;
+                try {
+                    userId = Integer.parseInt(params.get("id"));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+                return new PageRenderer()
+                    .setTitle("用户 " + userId)
+                    .addComponent(new DataDisplay("用户ID", userId).setDataType("int"));
+            });
+            
+            // 启动服务器，同一主机运行多个节点时用 -Djtailwind.port 指定端口，NIO页面服务器使用下一个端口
+            int port = Integer.getInteger("jtailwind.port", 8080);
+            testServer.start(port);
+            
+            // 页面的NIO输出路径: 池化缓冲区聚集写入套接字，渲染结果压缩后缓存在堆外内存
+            NioPageServer nioServer = new NioPageServer(testServer.getRouter())
+                .setPageCache(new PageCache(64L * 1024 * 1024, PageCache.DEFAULT_SLAB_SIZE, true))
+                .start(port + 1);
             
             // 保持服务器运行
             System.out.println("按任意键停止服务器...");
             System.in.read();
             
+            log.info("缓冲区池: {}", nioServer.getBufferPool());
+            log.info("页面缓存: {}", nioServer.getPageCache());
+            nioServer.close();
             testServer.stop();
+            if (replicator != null) {
+                replicator.close();
+            }
+            if (journal != null) {
+                journal.close();
+            }
             
         } catch (Exception e) {
             log.error("启动测试服务器时发生错误", e);
         }
     }
     
+    /**
+     * 创建示例表格数据
+     * 
+     * @param rows 行数
+     * @return 列式数据源
+     */
+    private static ColumnarData createExampleData(int rows) {
+        String[] cities = {"北京", "上海", "广州", "深圳", "杭州", "成都"};
+        int[] ids = new int[rows];
+        int[] cityCodes = new int[rows];
+        long[] visits = new long[rows];
+        double[] scores = new double[rows];
+        Random random = new Random(42);
+        for (int i = 0; i < rows; i++) {
+            ids[i] = i + 1;
+            cityCodes[i] = random.nextInt(cities.length);
+            visits[i] = random.nextInt(1000000);
+            scores[i] = Math.round(random.nextDouble() * 10000) / 100.0;
+        }
+        return new ColumnarData(rows)
+            .addIntColumn("id", "编号", ids)
+            .addDictionaryColumn("city", "城市", cities, cityCodes)
+            .addLongColumn("visits", "访问量", visits)
+            .addDoubleColumn("score", "评分", scores);
+    }
+    
     /**
      * 创建示例页面
      * 
@@ -226,6 +681,8 @@ public class TestServer {
     private static PageRenderer createExamplePage() {
         PageRenderer renderer = new PageRenderer()
             .setTitle("JTailwind组件演示")
+            .setPollInterval(1000)
+            .setExternalCallbacks(true)
             .addCallback("handleButtonClick", 
                 "function handleButtonClick() {\n" +
                 "    console.log('按钮被点击了！');\n" +
@@ -248,15 +705,35 @@ public class TestServer {
                 .setButtonType("primary")
                 .setSize("lg")
                 .setOnClick("handleButtonClick")
+                .setThrottle(1000)
+                .setLatestOnly(true)
                 .addClass("mb-4")
+                .setId("button_1")
         );
         
+        // 服务器端处理点击事件，返回的变更推送给浏览器
+        // 计数从组件当前的值继续，启用状态持久化时重启后不归零
+        DataDisplay clickCount = new DataDisplay("点击次数", 0).setDisplayStyle("badge");
+        renderer.addComponent(clickCount.addClass("mb-4").setId("click_count"));
+        renderer.events().onClick("button_1", event -> Collections.singletonList(
+            new ComponentMutation("click_count").put("value", ((Number) clickCount.getValue()).intValue() + 1)
+        ));
+        
         // 添加输入框组件
         renderer.addComponent(
             new Input("请输入文本")
                 .setInputType("text")
                 .setSize("md")
                 .setOnInput("handleInputChange")
+                .setDebounce(300)
+                .addClass("mb-4")
+                .setId("input_1")
+        );
+        
+        // 添加带输入建议的输入框组件
+        renderer.addComponent(
+            new Input("请输入城市")
+                .setSuggestions(Arrays.asList("北京", "上海", "广州", "深圳", "杭州", "成都", "Beijing", "Shanghai", "Guangzhou", "Shenzhen"))
                 .addClass("mb-4")
         );
         
@@ -265,6 +742,7 @@ public class TestServer {
         select.setSize("md");
         select.setOnChange("handleSelectChange");
         select.addClass("mb-4");
+        select.setId("select_1");
         
         select.addOption("option1", "选项1");
         select.addOption("option2", "选项2");
@@ -298,6 +776,38 @@ public class TestServer {
                 .addClass("mb-4")
         );
         
+        // 添加实时数据组件
+        Runtime runtime = Runtime.getRuntime();
+        renderer.addComponent(
+            new DataDisplay("已用内存", 0L)
+                .setDisplayStyle("card")
+                .setFormat("bytes:1")
+                .setSignificantDigits(3)
+                .bind(() -> runtime.totalMemory() - runtime.freeMemory(), 500)
+                .addClass("mb-4")
+        );
+        
+        // 添加容器组件
+        renderer.addComponent(
+            Container.grid(3)
+                .addChildren(
+                    Container.card("订单")
+                        .addChild(new DataDisplay("今日订单", 128).setDisplayStyle("badge")),
+                    Container.card("收入")
+                        .addChild(new DataDisplay("今日收入", 9527.5).setFormat("%,.2f")),
+                    Container.card("用户")
+                        .addChild(new DataDisplay("在线用户", 42).setDisplayStyle("badge"))
+                )
+                .addClass("mb-4")
+        );
+        
+        // 添加表格组件
+        renderer.addComponent(
+            new DataTable(createExampleData(100000))
+                .setPageSize(10)
+                .addClass("mb-4")
+        );
+        
         return renderer;
     }
 }